@@ -1,8 +1,8 @@
 package org.poo.bank;
 
 import org.poo.commerciants.*;
+import org.poo.graph.Currency;
 import org.poo.graph.CurrencyGraph;
-import org.poo.graph.Node;
 import org.poo.plan.ServicePlan;
 import org.poo.plan.SilverPlan;
 import org.poo.plan.StandardPlan;
@@ -11,11 +11,16 @@ import java.util.ArrayList;
 import java.util.HashMap;
 
 public abstract class Account implements DaoObject {
+    /**
+     * Slot of an account that is not registered.
+     */
+    static final int NO_SLOT = -1;
+
     private String iban;
     private ArrayList<Card> cards;
     private double balance;
     private double minimumBalance;
-    private String currency;
+    private Currency currency;
     private String type;
     private ArrayList<Transaction> userTransactions;
     private ArrayList<Transaction> transactionHistory;
@@ -29,6 +34,36 @@ public abstract class Account implements DaoObject {
     private TechCashback techCashback;
     private ClothesCashback clothesCashback;
     private ServicePlan plan;
+    private User owner;
+    private BankRegistry registry;
+    private int slot = NO_SLOT;
+
+    /**
+     * Retrieves the user that owns this account.
+     *
+     * @return the owner of the account
+     */
+    public User getOwner() {
+        return owner;
+    }
+
+    /**
+     * Sets the user that owns this account.
+     *
+     * @param owner the owner of the account
+     */
+    public void setOwner(final User owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * Sets the bank-wide registry that indexes the cards of this account.
+     *
+     * @param registry the registry of the bank
+     */
+    public void setRegistry(final BankRegistry registry) {
+        this.registry = registry;
+    }
 
     /**
      * Retrieves the current service plan.
@@ -226,10 +261,10 @@ public abstract class Account implements DaoObject {
     /**
      * Retrieves the account currency.
      *
-     * @return a String representing the currency type.
+     * @return the interned currency of the account.
      */
 
-    public String getCurrency() {
+    public Currency getCurrency() {
         return currency;
     }
 
@@ -253,6 +288,39 @@ public abstract class Account implements DaoObject {
         return type;
     }
 
+    /**
+     * Marks the account as changed, so that the next listing of its owner
+     * is encoded again and the registry sees its new balance.
+     * Called after every change to the balance, the cards
+     * or the identity of the account.
+     */
+    void changed() {
+        if (owner != null) {
+            owner.changed();
+        }
+        if (registry != null) {
+            registry.update(this);
+        }
+    }
+
+    /**
+     * Retrieves the slot of the account in the flat arrays of the registry.
+     *
+     * @return the slot, or {@link #NO_SLOT} if the account is not registered
+     */
+    int getSlot() {
+        return slot;
+    }
+
+    /**
+     * Moves the account to a slot of the flat arrays of the registry.
+     *
+     * @param slot the slot, or {@link #NO_SLOT}
+     */
+    void setSlot(final int slot) {
+        this.slot = slot;
+    }
+
     /**
      * Updates the account balance.
      *
@@ -261,6 +329,7 @@ public abstract class Account implements DaoObject {
 
     public void setBalance(final double balance) {
         this.balance = balance;
+        changed();
     }
 
     /**
@@ -271,16 +340,18 @@ public abstract class Account implements DaoObject {
 
     public void setCards(final ArrayList<Card> cards) {
         this.cards = cards;
+        changed();
     }
 
     /**
      * Sets the currency of the account.
      *
-     * @param currency a String representing the currency.
+     * @param currency the interned currency of the account.
      */
 
-    public void setCurrency(final String currency) {
+    public void setCurrency(final Currency currency) {
         this.currency = currency;
+        changed();
     }
 
     /**
@@ -291,6 +362,7 @@ public abstract class Account implements DaoObject {
 
     public void setIban(final String iban) {
         this.iban = iban;
+        changed();
     }
 
     /**
@@ -301,6 +373,7 @@ public abstract class Account implements DaoObject {
 
     public void setType(final String type) {
         this.type = type;
+        changed();
     }
 
     /**
@@ -331,6 +404,7 @@ public abstract class Account implements DaoObject {
 
     public void addFunds(final double amount) {
         balance += amount;
+        changed();
     }
 
     /**
@@ -338,8 +412,7 @@ public abstract class Account implements DaoObject {
      */
 
     public void createCard() {
-        Card card = new Card();
-        cards.add(card);
+        addCard(new Card(registry.getIdGenerator().generateCardNumber()));
     }
 
     /**
@@ -357,7 +430,34 @@ public abstract class Account implements DaoObject {
      */
 
     public void createOneTimeCard() {
-        cards.add(new OneTimeCard());
+        addCard(new OneTimeCard(registry.getIdGenerator().generateCardNumber()));
+    }
+
+    /**
+     * Attaches a newly issued card to the account and registers it bank-wide.
+     *
+     * @param card the new card
+     */
+    private void addCard(final Card card) {
+        cards.add(card);
+        card.setAccount(this);
+        registry.addCard(card);
+        changed();
+    }
+
+    /**
+     * Removes a card from the account and from the bank-wide registry.
+     *
+     * @param cardNumber a String representing the card number.
+     */
+    public void deleteCard(final String cardNumber) {
+        Card card = getCard(cardNumber);
+        if (card == null) {
+            return;
+        }
+        cards.remove(card);
+        registry.removeCard(cardNumber);
+        changed();
     }
 
     /**
@@ -388,12 +488,11 @@ public abstract class Account implements DaoObject {
      */
 
     public Card getCard(final String cardNumber) {
-        for (Card card: cards) {
-            if (card.getCardNumber().equals(cardNumber)) {
-                return card;
-            }
+        Card card = registry.getCard(cardNumber);
+        if (card == null || card.getAccount() != this) {
+            return null;
         }
-        return null;
+        return card;
     }
 
     /**
@@ -408,11 +507,12 @@ public abstract class Account implements DaoObject {
         balance -= amount;
         Card card = getCard(cardNumber);
         if (card.isOneTimeCard()) {
-            cards.remove(card);
+            deleteCard(cardNumber);
             createOneTimeCard();
         }
         getCashback(commerciant.getType(), amount);
         createCashback(commerciant, amount, ronAmount);
+        changed();
     }
 
     /**
@@ -541,6 +641,7 @@ public abstract class Account implements DaoObject {
 
     public void splitPay(final double amount) {
         balance -= amount;
+        changed();
     }
 
     /**
@@ -551,6 +652,7 @@ public abstract class Account implements DaoObject {
 
     public void receiveMoney(final double amount) {
         balance += amount;
+        changed();
     }
 
     /**
@@ -586,16 +688,14 @@ public abstract class Account implements DaoObject {
                 break;
             case "silver":
                 double ronAmount = exchangeGraph
-                        .exchange(new Node(this.getCurrency(), 1),
-                                new Node("RON", 1),
-                                amount);
+                        .exchange(currency, Currency.RON, amount);
                 balance -= ((SilverPlan) plan).calculateCommission(amount, ronAmount);
                 break;
             default:
                 break;
         }
 
-        if (this.currency.equals(receiver.getCurrency())) {
+        if (this.currency == receiver.getCurrency()) {
             receiver.receiveMoney(amount);
             formattedAmount = String.valueOf(amount)
                     + " " + receiver.getCurrency();
@@ -611,9 +711,8 @@ public abstract class Account implements DaoObject {
             receiver.getTransactionHistory()
                     .add(receiveTransaction);
         } else {
-            amount = exchangeGraph.exchange(
-                    new Node(this.currency, 1),
-                    new Node(receiver.getCurrency(), 1),
+            amount = exchangeGraph.exchange(currency,
+                    receiver.getCurrency(),
                     amount);
             formattedAmount = String.valueOf(amount)
                     + " " + receiver.getCurrency();
@@ -630,6 +729,7 @@ public abstract class Account implements DaoObject {
                     .add(receiveTransaction);
             receiver.receiveMoney(amount);
         }
+        changed();
     }
     /**
      * Pays the upgrade fee by deducting the specified amount from the balance.
@@ -642,6 +742,7 @@ public abstract class Account implements DaoObject {
      */
     public void payUpgradeFee(final double feeConverted) {
         balance -= feeConverted;
+        changed();
     }
     /**
      * Withdraws cash from the account, applying the appropriate commission based on the plan.
@@ -662,7 +763,7 @@ public abstract class Account implements DaoObject {
     public void withdrawCash(double amount,
                              final double ronAmount,
                              final Card card) {
-        if (currency.equals("RON")) {
+        if (currency == Currency.RON) {
             balance -= ronAmount;
             amount = ronAmount;
         } else {
@@ -678,6 +779,7 @@ public abstract class Account implements DaoObject {
             default:
                 break;
         }
+        changed();
     }
 }
 
@@ -1,9 +1,25 @@
-package org.poo.bank;
-
-public class AccountCreation extends Transaction {
-    public AccountCreation(final int timestamp) {
-        this.setTimestamp(timestamp);
-        this.setDescription("New account created");
-        this.setType("AccountCreation");
-    }
-}
+package org.poo.bank;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+public class AccountCreation extends Transaction {
+    public AccountCreation(final int timestamp) {
+        this.setTimestamp(timestamp);
+        this.setDescription("New account created");
+        this.setType("AccountCreation");
+    }
+
+    /**
+     * Writes the transaction as it appears in an account report,
+     * which lists the same fields as the transaction history.
+     *
+     * @param generator the generator the object is written to
+     * @throws IOException if the object cannot be written
+     */
+    @Override
+    public void writeReport(final JsonGenerator generator) throws IOException {
+        write(generator);
+    }
+}
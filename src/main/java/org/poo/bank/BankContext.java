@@ -0,0 +1,116 @@
+package org.poo.bank;
+
+import org.poo.commerciants.MerchantRegistry;
+import org.poo.fileio.ExchangeInput;
+import org.poo.fileio.ObjectInput;
+import org.poo.fileio.UserInput;
+import org.poo.graph.Currency;
+import org.poo.graph.ExchangeRates;
+import org.poo.graph.RoutingPolicy;
+import org.poo.utils.IdGenerator;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+
+/**
+ * The state of the bank during one run: its users, accounts and cards,
+ * exchange rates, merchants and aliases, and the generator of its identifiers.
+ * The exchange paths follow the {@link RoutingPolicy} selected with the
+ * {@value RoutingPolicy#PROPERTY} system property.
+ * <p>
+ * Nothing in a context is shared with another one, so the runs of
+ * different input files can execute at the same time, each producing
+ * the same results as if it ran alone.
+ * </p>
+ */
+public final class BankContext {
+    private final IdGenerator idGenerator;
+    private final Dao userDao;
+    private final BankRegistry registry;
+    private final ExchangeRates exchangeRates;
+    private final MerchantRegistry merchants;
+    private final HashMap<String, Account> aliasMap;
+
+    /**
+     * Builds the bank described by the users, exchange rates
+     * and merchants of an input.
+     *
+     * @param inputData the input; its commands are not used
+     */
+    public BankContext(final ObjectInput inputData) {
+        idGenerator = new IdGenerator();
+        userDao = new DaoImpl();
+        registry = new BankRegistry(idGenerator);
+        exchangeRates = new ExchangeRates();
+        exchangeRates.setRoutingPolicy(RoutingPolicy.fromProperty());
+        for (UserInput userInput: inputData.getUsers()) {
+            userDao.update(new User(userInput, registry));
+        }
+        ExchangeInput[] rates = inputData.getExchangeRates().clone();
+        Arrays.sort(rates, Comparator.comparingInt(ExchangeInput::getTimestamp));
+        for (ExchangeInput exchange: rates) {
+            exchangeRates.addRate(Currency.of(exchange.getFrom()),
+                    Currency.of(exchange.getTo()),
+                    exchange.getRate(),
+                    exchange.getTimestamp());
+        }
+        exchangeRates.buildRateTables();
+        merchants = new MerchantRegistry(inputData.getCommerciants());
+        aliasMap = new HashMap<>();
+    }
+
+    /**
+     * Retrieves the generator of the IBANs and card numbers of this run.
+     *
+     * @return the identifier generator
+     */
+    public IdGenerator getIdGenerator() {
+        return idGenerator;
+    }
+
+    /**
+     * Retrieves the DAO of the users of the bank.
+     *
+     * @return the user DAO
+     */
+    public Dao getUserDao() {
+        return userDao;
+    }
+
+    /**
+     * Retrieves the bank-wide index of accounts and cards.
+     *
+     * @return the bank registry
+     */
+    public BankRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Retrieves the history of exchange rates.
+     *
+     * @return the versioned exchange rates
+     */
+    public ExchangeRates getExchangeRates() {
+        return exchangeRates;
+    }
+
+    /**
+     * Retrieves the index of merchants.
+     *
+     * @return the merchant registry
+     */
+    public MerchantRegistry getMerchants() {
+        return merchants;
+    }
+
+    /**
+     * Retrieves the map of account aliases.
+     *
+     * @return the alias map
+     */
+    public HashMap<String, Account> getAliasMap() {
+        return aliasMap;
+    }
+}
@@ -0,0 +1,187 @@
+package org.poo.bank;
+
+import org.poo.utils.IdGenerator;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Bank-wide index of every open account, keyed by IBAN, and of every
+ * active card, keyed by card number.
+ * It is kept up to date by {@link User} whenever an account is created or deleted
+ * and by {@link Account} whenever a card is issued or destroyed,
+ * so commands can resolve an IBAN or a card (and its owner) without scanning every user.
+ * <p>
+ * The balance and currency id of every open account are also kept in flat arrays,
+ * one slot per account, so the {@link CurrencyExposure} can be summed in parallel
+ * without gathering them first. An account writes its slot whenever it changes
+ * (see {@link Account#changed()}); accounts that run at the same time own different
+ * slots, and slots are only added or removed by commands that run alone.
+ * A deleted account's slot is filled with the last one, so the slots stay dense.
+ * </p>
+ */
+public class BankRegistry {
+    private static final int INITIAL_SLOTS = 64;
+
+    private final HashMap<String, Account> accounts;
+    private final HashMap<String, Card> cards;
+    private final IdGenerator idGenerator;
+    private Account[] slots = new Account[INITIAL_SLOTS];
+    private double[] balances = new double[INITIAL_SLOTS];
+    private int[] currencies = new int[INITIAL_SLOTS];
+    private int slotCount;
+
+    /**
+     * Creates an empty registry, issuing identifiers with the given generator.
+     *
+     * @param idGenerator the generator of the IBANs and card numbers of the run
+     */
+    public BankRegistry(final IdGenerator idGenerator) {
+        accounts = new HashMap<>();
+        cards = new HashMap<>();
+        this.idGenerator = idGenerator;
+    }
+
+    /**
+     * Retrieves the generator of the IBANs and card numbers
+     * of the accounts and cards registered here.
+     *
+     * @return the identifier generator of the run
+     */
+    public IdGenerator getIdGenerator() {
+        return idGenerator;
+    }
+
+    /**
+     * Registers an account under its IBAN.
+     *
+     * @param account the account to register
+     */
+    public void addAccount(final Account account) {
+        accounts.put(account.getIban(), account);
+        if (slotCount == slots.length) {
+            slots = Arrays.copyOf(slots, slotCount * 2);
+            balances = Arrays.copyOf(balances, slotCount * 2);
+            currencies = Arrays.copyOf(currencies, slotCount * 2);
+        }
+        account.setSlot(slotCount);
+        slots[slotCount++] = account;
+        update(account);
+    }
+
+    /**
+     * Writes the balance and currency of an account into its slot.
+     *
+     * @param account a registered account
+     */
+    void update(final Account account) {
+        int slot = account.getSlot();
+        if (slot < 0 || slots[slot] != account) {
+            return;
+        }
+        balances[slot] = account.getBalance();
+        currencies[slot] = account.getCurrency().getId();
+    }
+
+    /**
+     * Removes the account with the given IBAN, together with its cards, from the index.
+     *
+     * @param iban the IBAN of the removed account
+     */
+    public void removeAccount(final String iban) {
+        Account account = accounts.remove(iban);
+        if (account == null) {
+            return;
+        }
+        int slot = account.getSlot();
+        int last = --slotCount;
+        slots[slot] = slots[last];
+        balances[slot] = balances[last];
+        currencies[slot] = currencies[last];
+        slots[slot].setSlot(slot);
+        slots[last] = null;
+        account.setSlot(Account.NO_SLOT);
+        for (Card card : account.getCards()) {
+            cards.remove(card.getCardNumber());
+        }
+    }
+
+    /**
+     * Retrieves an account by its IBAN.
+     *
+     * @param iban the IBAN of the account
+     * @return the account, or {@code null} if no open account has this IBAN
+     */
+    public Account getAccount(final String iban) {
+        return accounts.get(iban);
+    }
+
+    /**
+     * Retrieves the owner of the account with the given IBAN.
+     *
+     * @param iban the IBAN of the account
+     * @return the owner, or {@code null} if no open account has this IBAN
+     */
+    public User getOwner(final String iban) {
+        Account account = accounts.get(iban);
+        if (account == null) {
+            return null;
+        }
+        return account.getOwner();
+    }
+
+    /**
+     * Registers a card under its card number.
+     *
+     * @param card the card to register
+     */
+    public void addCard(final Card card) {
+        cards.put(card.getCardNumber(), card);
+    }
+
+    /**
+     * Removes the card with the given number from the index.
+     *
+     * @param cardNumber the number of the removed card
+     */
+    public void removeCard(final String cardNumber) {
+        cards.remove(cardNumber);
+    }
+
+    /**
+     * Retrieves a card by its number. The account holding the card
+     * is available through {@link Card#getAccount()}.
+     *
+     * @param cardNumber the card number
+     * @return the card, or {@code null} if no active card has this number
+     */
+    public Card getCard(final String cardNumber) {
+        return cards.get(cardNumber);
+    }
+
+    /**
+     * Finds the account of the given user that holds the given card.
+     *
+     * @param cardNumber the card number
+     * @param owner the user that should own the card
+     * @return the account holding the card, or {@code null}
+     * if the card doesn't exist or belongs to another user
+     */
+    public Account getCardAccount(final String cardNumber,
+                                  final User owner) {
+        Card card = cards.get(cardNumber);
+        if (card == null || card.getAccount().getOwner() != owner) {
+            return null;
+        }
+        return card.getAccount();
+    }
+
+    /**
+     * Computes the total balance held in each currency over every open account.
+     *
+     * @return the exposure of the bank to each currency
+     */
+    public CurrencyExposure getCurrencyExposure() {
+        return CurrencyExposure.of(balances, currencies, slotCount);
+    }
+}
@@ -1,13 +1,13 @@
 package org.poo.bank;
-import org.poo.utils.Utils;
 
 public class Card {
     private final String cardNumber;
     private String status;
     protected boolean oneTime;
+    private Account account;
 
-    public Card() {
-        cardNumber = Utils.generateCardNumber();
+    public Card(final String cardNumber) {
+        this.cardNumber = cardNumber;
         status = "active";
         oneTime = false;
     }
@@ -37,9 +37,30 @@ public class Card {
      */
     public void setStatus(final String status) {
         this.status = status;
+        if (account != null) {
+            account.changed();
+        }
     }
 
 
+    /**
+     * Gets the account this card is attached to.
+     *
+     * @return the account of the card.
+     */
+    public Account getAccount() {
+        return account;
+    }
+
+    /**
+     * Attaches the card to an account.
+     *
+     * @param account the account of the card.
+     */
+    void setAccount(final Account account) {
+        this.account = account;
+    }
+
     /**
      * Checks if the card is a one-time use card.
      *
@@ -62,8 +83,8 @@ public class Card {
 
 class OneTimeCard extends Card {
 
-    OneTimeCard() {
-        super();
+    OneTimeCard(final String cardNumber) {
+        super(cardNumber);
         oneTime = true;
     }
 }
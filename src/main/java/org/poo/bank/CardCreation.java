@@ -1,73 +1,106 @@
-package org.poo.bank;
-
-public class CardCreation extends Transaction {
-    private String card;
-    private String cardHolder;
-    private String account;
-
-    public CardCreation(final int timestamp,
-                        final String card,
-                        final String cardHolder,
-                        final String account) {
-        this.setTimestamp(timestamp);
-        this.setDescription("New card created");
-        this.card = card;
-        this.cardHolder = cardHolder;
-        this.account = account;
-        this.setType("CardCreation");
-    }
-
-    /**
-     * Gets the card number.
-     *
-     * @return the card number
-     */
-    public String getCard() {
-        return card;
-    }
-
-    /**
-     * Gets the cardholder's email.
-     *
-     * @return the cardholder's email
-     */
-    public String getCardHolder() {
-        return cardHolder;
-    }
-
-    /**
-     * Gets the associated account number.
-     *
-     * @return the associated account number
-     */
-    public String getAccount() {
-        return account;
-    }
-
-    /**
-     * Sets the card number.
-     *
-     * @param card the card number to set
-     */
-    public void setCard(final String card) {
-        this.card = card;
-    }
-
-    /**
-     * Sets the associated account number.
-     *
-     * @param account the account number to set
-     */
-    public void setAccount(final String account) {
-        this.account = account;
-    }
-
-    /**
-     * Sets the cardholder's email.
-     *
-     * @param cardHolder the cardholder's email to set
-     */
-    public void setCardHolder(final String cardHolder) {
-        this.cardHolder = cardHolder;
-    }
-}
+package org.poo.bank;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+public class CardCreation extends Transaction {
+    private String card;
+    private String cardHolder;
+    private String account;
+
+    public CardCreation(final int timestamp,
+                        final String card,
+                        final String cardHolder,
+                        final String account) {
+        this.setTimestamp(timestamp);
+        this.setDescription("New card created");
+        this.card = card;
+        this.cardHolder = cardHolder;
+        this.account = account;
+        this.setType("CardCreation");
+    }
+
+    /**
+     * Gets the card number.
+     *
+     * @return the card number
+     */
+    public String getCard() {
+        return card;
+    }
+
+    /**
+     * Gets the cardholder's email.
+     *
+     * @return the cardholder's email
+     */
+    public String getCardHolder() {
+        return cardHolder;
+    }
+
+    /**
+     * Gets the associated account number.
+     *
+     * @return the associated account number
+     */
+    public String getAccount() {
+        return account;
+    }
+
+    /**
+     * Sets the card number.
+     *
+     * @param card the card number to set
+     */
+    public void setCard(final String card) {
+        this.card = card;
+        changed();
+    }
+
+    /**
+     * Sets the associated account number.
+     *
+     * @param account the account number to set
+     */
+    public void setAccount(final String account) {
+        this.account = account;
+        changed();
+    }
+
+    /**
+     * Sets the cardholder's email.
+     *
+     * @param cardHolder the cardholder's email to set
+     */
+    public void setCardHolder(final String cardHolder) {
+        this.cardHolder = cardHolder;
+        changed();
+    }
+
+    /**
+     * Writes the fields of the transaction, after the common ones.
+     *
+     * @param generator the generator the fields are written to
+     * @throws IOException if a field cannot be written
+     */
+    @Override
+    protected void writeFields(final JsonGenerator generator) throws IOException {
+        super.writeFields(generator);
+        generator.writeStringField("card", card);
+        generator.writeStringField("cardHolder", cardHolder);
+        generator.writeStringField("account", account);
+    }
+
+    /**
+     * Writes the transaction as it appears in an account report,
+     * which lists the same fields as the transaction history.
+     *
+     * @param generator the generator the object is written to
+     * @throws IOException if the object cannot be written
+     */
+    @Override
+    public void writeReport(final JsonGenerator generator) throws IOException {
+        write(generator);
+    }
+}
@@ -1,5 +1,9 @@
 package org.poo.bank;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
 public class CardDestruction extends Transaction {
     private String card;
     private String cardHolder;
@@ -55,6 +59,7 @@ public class CardDestruction extends Transaction {
 
     public void setCard(final String card) {
         this.card = card;
+        changed();
     }
 
     /**
@@ -65,6 +70,7 @@ public class CardDestruction extends Transaction {
 
     public void setCardHolder(final String cardHolder) {
         this.cardHolder = cardHolder;
+        changed();
     }
 
     /**
@@ -75,5 +81,32 @@ public class CardDestruction extends Transaction {
 
     public void setAccount(final String account) {
         this.account = account;
+        changed();
+    }
+
+    /**
+     * Writes the fields of the transaction, after the common ones.
+     *
+     * @param generator the generator the fields are written to
+     * @throws IOException if a field cannot be written
+     */
+    @Override
+    protected void writeFields(final JsonGenerator generator) throws IOException {
+        super.writeFields(generator);
+        generator.writeStringField("card", card);
+        generator.writeStringField("cardHolder", cardHolder);
+        generator.writeStringField("account", account);
+    }
+
+    /**
+     * Writes the transaction as it appears in an account report,
+     * which lists the same fields as the transaction history.
+     *
+     * @param generator the generator the object is written to
+     * @throws IOException if the object cannot be written
+     */
+    @Override
+    public void writeReport(final JsonGenerator generator) throws IOException {
+        write(generator);
     }
 }
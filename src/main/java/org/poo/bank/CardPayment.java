@@ -1,57 +1,88 @@
-package org.poo.bank;
-
-public class CardPayment extends Transaction {
-    private String commerciant;
-    private double amount;
-
-    public CardPayment(final int timestamp,
-                       final String commerciant,
-                       final double amount) {
-        this.setTimestamp(timestamp);
-        this.setDescription("Card payment");
-        this.setType("CardPayment");
-        this.commerciant = commerciant;
-        this.amount = amount;
-
-    }
-
-    /**
-     * Sets the transaction amount.
-     *
-     * @param amount a double representing the transaction amount.
-     */
-
-    public void setAmount(final double amount) {
-        this.amount = amount;
-    }
-
-    /**
-     * Sets the name of the merchant involved in the transaction.
-     *
-     * @param commerciant a String representing the merchant's name.
-     */
-
-    public void setCommerciant(final String commerciant) {
-        this.commerciant = commerciant;
-    }
-
-    /**
-     * Retrieves the transaction amount.
-     *
-     * @return a double representing the transaction amount.
-     */
-
-    public double getAmount() {
-        return amount;
-    }
-
-    /**
-     * Retrieves the name of the merchant involved in the transaction.
-     *
-     * @return a String representing the merchant's name.
-     */
-
-    public String getCommerciant() {
-        return commerciant;
-    }
-}
+package org.poo.bank;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+public class CardPayment extends Transaction {
+    private String commerciant;
+    private double amount;
+
+    public CardPayment(final int timestamp,
+                       final String commerciant,
+                       final double amount) {
+        this.setTimestamp(timestamp);
+        this.setDescription("Card payment");
+        this.setType("CardPayment");
+        this.commerciant = commerciant;
+        this.amount = amount;
+
+    }
+
+    /**
+     * Sets the transaction amount.
+     *
+     * @param amount a double representing the transaction amount.
+     */
+
+    public void setAmount(final double amount) {
+        this.amount = amount;
+        changed();
+    }
+
+    /**
+     * Sets the name of the merchant involved in the transaction.
+     *
+     * @param commerciant a String representing the merchant's name.
+     */
+
+    public void setCommerciant(final String commerciant) {
+        this.commerciant = commerciant;
+        changed();
+    }
+
+    /**
+     * Retrieves the transaction amount.
+     *
+     * @return a double representing the transaction amount.
+     */
+
+    public double getAmount() {
+        return amount;
+    }
+
+    /**
+     * Retrieves the name of the merchant involved in the transaction.
+     *
+     * @return a String representing the merchant's name.
+     */
+
+    public String getCommerciant() {
+        return commerciant;
+    }
+
+    /**
+     * Writes the fields of the transaction, after the common ones.
+     *
+     * @param generator the generator the fields are written to
+     * @throws IOException if a field cannot be written
+     */
+    @Override
+    protected void writeFields(final JsonGenerator generator) throws IOException {
+        super.writeFields(generator);
+        generator.writeNumberField("amount", amount);
+        generator.writeStringField("commerciant", commerciant);
+    }
+
+    /**
+     * Writes the transaction as it appears in an account report,
+     * which lists the same fields as the transaction history.
+     *
+     * @param generator the generator the object is written to
+     * @throws IOException if the object cannot be written
+     */
+    @Override
+    public void writeReport(final JsonGenerator generator) throws IOException {
+        write(generator);
+    }
+}
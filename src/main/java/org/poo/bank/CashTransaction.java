@@ -1,5 +1,9 @@
 package org.poo.bank;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
 public class CashTransaction extends Transaction {
     private final double ronAmount;
 
@@ -47,4 +51,16 @@ public class CashTransaction extends Transaction {
     public double getRonAmount() {
         return ronAmount;
     }
+
+    /**
+     * Writes the fields of the transaction, after the common ones.
+     *
+     * @param generator the generator the fields are written to
+     * @throws IOException if a field cannot be written
+     */
+    @Override
+    protected void writeFields(final JsonGenerator generator) throws IOException {
+        super.writeFields(generator);
+        generator.writeNumberField("amount", ronAmount);
+    }
 }
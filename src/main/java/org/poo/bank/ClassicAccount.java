@@ -1,7 +1,7 @@
 package org.poo.bank;
 
+import org.poo.graph.Currency;
 import org.poo.plan.ServicePlan;
-import org.poo.utils.Utils;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -9,12 +9,13 @@ import java.util.HashMap;
 public class ClassicAccount extends Account {
     private ArrayList<CardPayment> spendingsReport;
 
-    public ClassicAccount(final String currency,
+    public ClassicAccount(final Currency currency,
                           final ArrayList<Transaction> transactions,
-                          final ServicePlan plan) {
+                          final ServicePlan plan,
+                          final String iban) {
         this.setBalance(0);
         this.setCards(new ArrayList<>());
-        this.setIban(Utils.generateIBAN());
+        this.setIban(iban);
         this.setType("classic");
         this.setCurrency(currency);
         this.setUserTransactions(transactions);
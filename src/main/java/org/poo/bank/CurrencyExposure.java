@@ -0,0 +1,147 @@
+package org.poo.bank;
+
+import org.poo.graph.Currency;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Total balance held by the bank in each currency.
+ * <p>
+ * The balances are summed over the flat arrays of amounts and currency ids
+ * that {@link BankRegistry} keeps up to date as accounts change, split into
+ * chunks that are reduced in parallel on the common fork/join pool.
+ * The split only depends on the number of accounts, so the totals are the same
+ * on every run, whatever the number of cores.
+ * </p>
+ */
+public final class CurrencyExposure {
+    /**
+     * Number of accounts below which a chunk is summed sequentially.
+     */
+    static final int THRESHOLD = 8192;
+
+    private final double[] totals;
+    private final int[] counts;
+
+    private CurrencyExposure(final double[] totals,
+                             final int[] counts) {
+        this.totals = totals;
+        this.counts = counts;
+    }
+
+    /**
+     * Sums the balances per currency. The arrays are only read,
+     * so they must not change until the sum is done.
+     *
+     * @param balances   the balance of every account
+     * @param currencies the currency id of every account, in the same order
+     * @param size       the number of accounts, at the start of the arrays
+     * @return the exposure of the bank to each currency
+     */
+    public static CurrencyExposure of(final double[] balances,
+                                      final int[] currencies,
+                                      final int size) {
+        SumTask task = new SumTask(balances, currencies, Currency.count(), 0, size);
+        if (size <= THRESHOLD) {
+            return task.compute();
+        }
+        return ForkJoinPool.commonPool().invoke(task);
+    }
+
+    /**
+     * Sums the balances of a range of accounts, splitting it in halves
+     * while it is larger than {@link #THRESHOLD}.
+     */
+    private static final class SumTask extends RecursiveTask<CurrencyExposure> {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] balances;
+        private final int[] currencies;
+        private final int currencyCount;
+        private final int from;
+        private final int to;
+
+        SumTask(final double[] balances,
+                final int[] currencies,
+                final int currencyCount,
+                final int from,
+                final int to) {
+            this.balances = balances;
+            this.currencies = currencies;
+            this.currencyCount = currencyCount;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected CurrencyExposure compute() {
+            if (to - from <= THRESHOLD) {
+                double[] totals = new double[currencyCount];
+                int[] counts = new int[currencyCount];
+                for (int i = from; i < to; i++) {
+                    totals[currencies[i]] += balances[i];
+                    counts[currencies[i]]++;
+                }
+                return new CurrencyExposure(totals, counts);
+            }
+            int middle = (from + to) >>> 1;
+            SumTask left = new SumTask(balances, currencies, currencyCount, from, middle);
+            SumTask right = new SumTask(balances, currencies, currencyCount, middle, to);
+            left.fork();
+            CurrencyExposure second = right.compute();
+            CurrencyExposure first = left.join();
+            for (int i = 0; i < currencyCount; i++) {
+                first.totals[i] += second.totals[i];
+                first.counts[i] += second.counts[i];
+            }
+            return first;
+        }
+    }
+
+    /**
+     * Retrieves the currencies in which the bank holds at least one account,
+     * ordered by their codes, so the order doesn't depend on
+     * the other runs that interned currencies.
+     *
+     * @return the currencies with accounts
+     */
+    public ArrayList<Currency> getCurrencies() {
+        ArrayList<Currency> result = new ArrayList<>();
+        for (int id = 0; id < counts.length; id++) {
+            if (counts[id] > 0) {
+                result.add(Currency.fromId(id));
+            }
+        }
+        result.sort(Comparator.comparing(Currency::getCode));
+        return result;
+    }
+
+    /**
+     * Retrieves the total balance held in the given currency.
+     *
+     * @param currency the currency
+     * @return the sum of the balances of the accounts in this currency
+     */
+    public double getTotal(final Currency currency) {
+        if (currency.getId() >= totals.length) {
+            return 0;
+        }
+        return totals[currency.getId()];
+    }
+
+    /**
+     * Retrieves the number of accounts held in the given currency.
+     *
+     * @param currency the currency
+     * @return the number of open accounts in this currency
+     */
+    public int getAccountCount(final Currency currency) {
+        if (currency.getId() >= counts.length) {
+            return 0;
+        }
+        return counts[currency.getId()];
+    }
+}
@@ -1,16 +1,16 @@
 package org.poo.bank;
 
-import java.util.List;
+import java.util.Collection;
 
 public interface Dao {
 
     /**
-     * Retrieves all objects managed by the DAO.
+     * Retrieves all objects managed by the DAO, in insertion order.
      *
-     * @return a List of DaoObject instances representing all stored objects.
+     * @return a Collection of DaoObject instances representing all stored objects.
      */
 
-    List<DaoObject> getAll();
+    Collection<DaoObject> getAll();
 
     /**
      * Retrieves an object by its unique identifier.
@@ -34,7 +34,7 @@ public interface Dao {
      * Deletes an object by its unique identifier.
      *
      * @param identifier a String representing the unique identifier of the object to be deleted.
-     * @throws IllegalArgumentException if the identifier is not found.
+     * @return true if the object was deleted, false if the identifier is not found.
      */
-    void delete(String identifier);
+    boolean delete(String identifier);
 }
@@ -1,42 +1,43 @@
 package org.poo.bank;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 
 public class DaoImpl implements Dao {
-    private List<DaoObject> data;
+    private final LinkedHashMap<String, DaoObject> data;
+    private final Collection<DaoObject> view;
 
     public DaoImpl() {
-        data = new ArrayList<>();
+        data = new LinkedHashMap<>();
+        view = Collections.unmodifiableCollection(data.values());
     }
 
     /**
-     * Retrieves all data objects stored in the list.
+     * Retrieves all data objects stored in the map, in insertion order.
+     * The returned collection is a read-only live view, so no copy is made.
      *
-     * @return a list of all data objects
+     * @return a collection of all data objects
      */
-    public List<DaoObject> getAll() {
-        return data;
+    public Collection<DaoObject> getAll() {
+        return view;
     }
 
     /**
      * Retrieves a data object based on its unique identifier.
+     * The lookup is a single hash access on the identifier index.
      *
      * @param identifier the unique identifier of the data object
      * @return the matching data object, or {@code null} if not found
      */
     public DaoObject get(final String identifier) {
-        for (DaoObject d: data) {
-            if (d.getIdentifier().equals(identifier)) {
-                return d;
-            }
-        }
-        return null;
+        return data.get(identifier);
     }
 
     /**
-     * Adds a new data object to the list. If the provided object is null,
-     * an {@link IllegalArgumentException} is thrown.
+     * Adds a new data object to the map. If an object with the same identifier
+     * is already stored, it is replaced in place and keeps its original position.
+     * If the provided object is null, an {@link IllegalArgumentException} is thrown.
      *
      * @param object the data object to add
      * @throws IllegalArgumentException if the object is null
@@ -45,21 +46,16 @@ public class DaoImpl implements Dao {
         if (object == null) {
             throw new IllegalArgumentException("The user/account doesn't exist");
         }
-        data.add(object);
+        data.put(object.getIdentifier(), object);
     }
 
     /**
-     * Deletes a data object identified by its unique identifier. If no matching object
-     * is found, an {@link IllegalArgumentException} is thrown.
+     * Deletes a data object identified by its unique identifier.
      *
      * @param identifier the unique identifier of the object to delete
-     * @throws IllegalArgumentException if the object is not found
+     * @return true if the object was deleted, false if no matching object is found
      */
-    public void delete(final String identifier) throws IllegalArgumentException {
-        DaoObject object = get(identifier);
-        if (object == null) {
-            throw new IllegalArgumentException("No user/account found");
-        }
-        data.remove(object);
+    public boolean delete(final String identifier) {
+        return data.remove(identifier) != null;
     }
 }
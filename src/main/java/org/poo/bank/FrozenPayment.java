@@ -1,5 +1,9 @@
 package org.poo.bank;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
 public class FrozenPayment extends Transaction {
 
     public FrozenPayment(final int timestamp, final String description) {
@@ -7,4 +11,16 @@ public class FrozenPayment extends Transaction {
         this.setDescription(description);
         this.setType("FrozenNotification");
     }
+
+    /**
+     * Writes the transaction as it appears in an account report,
+     * which lists the same fields as the transaction history.
+     *
+     * @param generator the generator the object is written to
+     * @throws IOException if the object cannot be written
+     */
+    @Override
+    public void writeReport(final JsonGenerator generator) throws IOException {
+        write(generator);
+    }
 }
@@ -1,5 +1,9 @@
 package org.poo.bank;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
 public class InsufficientFunds extends Transaction {
 
     public InsufficientFunds(final int timestamp) {
@@ -8,4 +12,15 @@ public class InsufficientFunds extends Transaction {
         this.setDescription("Insufficient funds");
     }
 
+    /**
+     * Writes the transaction as it appears in an account report,
+     * which lists the same fields as the transaction history.
+     *
+     * @param generator the generator the object is written to
+     * @throws IOException if the object cannot be written
+     */
+    @Override
+    public void writeReport(final JsonGenerator generator) throws IOException {
+        write(generator);
+    }
 }
@@ -1,5 +1,9 @@
 package org.poo.bank;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
 public class InterestChanged extends Transaction {
 
     public InterestChanged(final int timestamp,
@@ -12,4 +16,29 @@ public class InterestChanged extends Transaction {
         this.setDescription(description);
         this.setType("InterestChanged");
     }
+
+    /**
+     * Writes the description before the timestamp.
+     *
+     * @param generator the generator the fields are written to
+     * @throws IOException if a field cannot be written
+     */
+    @Override
+    protected void writeFields(final JsonGenerator generator) throws IOException {
+        generator.writeStringField("description", getDescription());
+        generator.writeNumberField("timestamp", getTimestamp());
+    }
+
+    /**
+     * Writes the transaction as it appears in an account report,
+     * which lists the same fields as the transaction history
+     * (the report of a savings account only holds these transactions).
+     *
+     * @param generator the generator the object is written to
+     * @throws IOException if the object cannot be written
+     */
+    @Override
+    public void writeReport(final JsonGenerator generator) throws IOException {
+        write(generator);
+    }
 }
@@ -1,42 +1,60 @@
-package org.poo.bank;
-
-public class InterestRateIncome extends Transaction {
-    private double amount;
-    private String currency;
-
-    public InterestRateIncome(final double amount,
-                              final String currency,
-                              final int timestamp) {
-        this.amount = amount;
-        this.currency = currency;
-        this.setTimestamp(timestamp);
-        this.setType("InterestRateIncome");
-        this.setDescription("Interest rate income");
-    }
-
-    /**
-     * Retrieves the amount.
-     * <p>
-     * This method returns the {@code amount}
-     * value associated with the current instance.
-     * </p>
-     *
-     * @return the amount
-     */
-    public double getAmount() {
-        return amount;
-    }
-
-    /**
-     * Retrieves the currency.
-     * <p>
-     * This method returns the {@code currency}
-     * value associated with the current instance.
-     * </p>
-     *
-     * @return the currency
-     */
-    public String getCurrency() {
-        return currency;
-    }
-}
+package org.poo.bank;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+public class InterestRateIncome extends Transaction {
+    private double amount;
+    private String currency;
+
+    public InterestRateIncome(final double amount,
+                              final String currency,
+                              final int timestamp) {
+        this.amount = amount;
+        this.currency = currency;
+        this.setTimestamp(timestamp);
+        this.setType("InterestRateIncome");
+        this.setDescription("Interest rate income");
+    }
+
+    /**
+     * Retrieves the amount.
+     * <p>
+     * This method returns the {@code amount}
+     * value associated with the current instance.
+     * </p>
+     *
+     * @return the amount
+     */
+    public double getAmount() {
+        return amount;
+    }
+
+    /**
+     * Retrieves the currency.
+     * <p>
+     * This method returns the {@code currency}
+     * value associated with the current instance.
+     * </p>
+     *
+     * @return the currency
+     */
+    public String getCurrency() {
+        return currency;
+    }
+
+    /**
+     * Writes the fields of the income, with the amount first.
+     *
+     * @param generator the generator the fields are written to
+     * @throws IOException if a field cannot be written
+     */
+    @Override
+    protected void writeFields(final JsonGenerator generator) throws IOException {
+        generator.writeNumberField("amount", amount);
+        generator.writeStringField("currency", currency);
+        generator.writeStringField("description", getDescription());
+        generator.writeNumberField("timestamp", getTimestamp());
+    }
+}
@@ -1,7 +1,7 @@
 package org.poo.bank;
 
+import org.poo.graph.Currency;
 import org.poo.plan.ServicePlan;
-import org.poo.utils.Utils;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -10,13 +10,14 @@ public class SavingsAccount extends Account {
     private double interestRate;
     private ArrayList<Transaction> report;
 
-    public SavingsAccount(final String currency,
+    public SavingsAccount(final Currency currency,
                           final ArrayList<Transaction> transactions,
                           final double interestRate,
-                          final ServicePlan plan) {
+                          final ServicePlan plan,
+                          final String iban) {
         this.setBalance(0);
         this.setCards(new ArrayList<>());
-        this.setIban(Utils.generateIBAN());
+        this.setIban(iban);
         this.setType("savings");
         this.setCurrency(currency);
         this.setUserTransactions(transactions);
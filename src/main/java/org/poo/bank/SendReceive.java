@@ -1,103 +1,138 @@
-package org.poo.bank;
-
-public class SendReceive extends Transaction {
-    private String senderIBAN;
-    private String receiverIBAN;
-    private String amount;
-    private String transferType;
-
-    public SendReceive(final int timestamp,
-                       final String description,
-                       final String senderIBAN,
-                       final String receiverIBAN,
-                       final String amount,
-                       final String transferType) {
-        this.setTimestamp(timestamp);
-        this.setDescription(description);
-        this.setType("Transfer");
-        this.senderIBAN = senderIBAN;
-        this.receiverIBAN = receiverIBAN;
-        this.amount = amount;
-        this.transferType = transferType;
-    }
-
-    /**
-     * Retrieves the IBAN of the receiver in the transfer.
-     *
-     * @return a String representing the receiver's IBAN.
-     */
-
-    public String getReceiverIban() {
-        return receiverIBAN;
-    }
-
-    /**
-     * Retrieves the transfer amount.
-     *
-     * @return a String representing the amount of the transfer.
-     */
-
-    public String getAmount() {
-        return amount;
-    }
-
-    /**
-     * Retrieves the IBAN of the sender in the transfer.
-     *
-     * @return a String representing the sender's IBAN.
-     */
-
-    public String getSenderIban() {
-        return senderIBAN;
-    }
-
-    /**
-     * Retrieves the type of the transfer.
-     *
-     * @return a String representing the transfer type.
-     */
-
-    public String getTransferType() {
-        return transferType;
-    }
-
-    /**
-     * Sets the IBAN of the receiver in the transfer.
-     *
-     * @param receiverIBAN a String representing the receiver's IBAN.
-     */
-
-    public void setReceiverIBAN(final String receiverIBAN) {
-        this.receiverIBAN = receiverIBAN;
-    }
-
-    /**
-     * Sets the transfer amount.
-     *
-     * @param amount a String representing the amount of the transfer.
-     */
-
-    public void setAmount(final String amount) {
-        this.amount = amount;
-    }
-
-    /**
-     * Sets the IBAN of the sender in the transfer.
-     *
-     * @param senderIBAN a String representing the sender's IBAN.
-     */
-
-    public void setSenderIBAN(final String senderIBAN) {
-        this.senderIBAN = senderIBAN;
-    }
-
-    /**
-     * Sets the type of the transfer.
-     *
-     * @param transferType a String representing the transfer type.
-     */
-
-    public void setTransferType(final String transferType) {
-        this.transferType = transferType;
-    }
-}
+package org.poo.bank;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+public class SendReceive extends Transaction {
+    private String senderIBAN;
+    private String receiverIBAN;
+    private String amount;
+    private String transferType;
+
+    public SendReceive(final int timestamp,
+                       final String description,
+                       final String senderIBAN,
+                       final String receiverIBAN,
+                       final String amount,
+                       final String transferType) {
+        this.setTimestamp(timestamp);
+        this.setDescription(description);
+        this.setType("Transfer");
+        this.senderIBAN = senderIBAN;
+        this.receiverIBAN = receiverIBAN;
+        this.amount = amount;
+        this.transferType = transferType;
+    }
+
+    /**
+     * Retrieves the IBAN of the receiver in the transfer.
+     *
+     * @return a String representing the receiver's IBAN.
+     */
+
+    public String getReceiverIban() {
+        return receiverIBAN;
+    }
+
+    /**
+     * Retrieves the transfer amount.
+     *
+     * @return a String representing the amount of the transfer.
+     */
+
+    public String getAmount() {
+        return amount;
+    }
+
+    /**
+     * Retrieves the IBAN of the sender in the transfer.
+     *
+     * @return a String representing the sender's IBAN.
+     */
+
+    public String getSenderIban() {
+        return senderIBAN;
+    }
+
+    /**
+     * Retrieves the type of the transfer.
+     *
+     * @return a String representing the transfer type.
+     */
+
+    public String getTransferType() {
+        return transferType;
+    }
+
+    /**
+     * Sets the IBAN of the receiver in the transfer.
+     *
+     * @param receiverIBAN a String representing the receiver's IBAN.
+     */
+
+    public void setReceiverIBAN(final String receiverIBAN) {
+        this.receiverIBAN = receiverIBAN;
+        changed();
+    }
+
+    /**
+     * Sets the transfer amount.
+     *
+     * @param amount a String representing the amount of the transfer.
+     */
+
+    public void setAmount(final String amount) {
+        this.amount = amount;
+        changed();
+    }
+
+    /**
+     * Sets the IBAN of the sender in the transfer.
+     *
+     * @param senderIBAN a String representing the sender's IBAN.
+     */
+
+    public void setSenderIBAN(final String senderIBAN) {
+        this.senderIBAN = senderIBAN;
+        changed();
+    }
+
+    /**
+     * Sets the type of the transfer.
+     *
+     * @param transferType a String representing the transfer type.
+     */
+
+    public void setTransferType(final String transferType) {
+        this.transferType = transferType;
+        changed();
+    }
+
+    /**
+     * Writes the fields of the transaction, after the common ones.
+     *
+     * @param generator the generator the fields are written to
+     * @throws IOException if a field cannot be written
+     */
+    @Override
+    protected void writeFields(final JsonGenerator generator) throws IOException {
+        super.writeFields(generator);
+        generator.writeStringField("senderIBAN", senderIBAN);
+        generator.writeStringField("receiverIBAN", receiverIBAN);
+        generator.writeStringField("amount", amount);
+        generator.writeStringField("transferType", transferType);
+    }
+
+    /**
+     * Writes the transaction as it appears in an account report,
+     * which lists the same fields as the transaction history.
+     *
+     * @param generator the generator the object is written to
+     * @throws IOException if the object cannot be written
+     */
+    @Override
+    public void writeReport(final JsonGenerator generator) throws IOException {
+        write(generator);
+    }
+}
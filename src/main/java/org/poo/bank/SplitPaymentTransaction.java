@@ -1,5 +1,9 @@
 package org.poo.bank;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.poo.output.JsonFragment;
+
+import java.io.IOException;
 import java.util.ArrayList;
 
 public class SplitPaymentTransaction extends Transaction {
@@ -7,6 +11,7 @@ public class SplitPaymentTransaction extends Transaction {
     private final double amount;
     private ArrayList<String> involvedAccounts;
     private final String error;
+    private volatile JsonFragment reportJson;
 
     public SplitPaymentTransaction(final int timestamp,
                                    final String description,
@@ -58,4 +63,83 @@ public class SplitPaymentTransaction extends Transaction {
     public String getError() {
         return error;
     }
+
+    /**
+     * Writes the split payment as it appears in the transaction history,
+     * with the involved accounts from the last to the first.
+     *
+     * @param generator the generator the fields are written to
+     * @throws IOException if a field cannot be written
+     */
+    @Override
+    protected void writeFields(final JsonGenerator generator) throws IOException {
+        writeFields(generator, true);
+    }
+
+    /**
+     * Writes the split payment as it appears in an account report,
+     * with the involved accounts in their original order.
+     * Like the history entry, the object is encoded once and then copied.
+     *
+     * @param generator the generator the object is written to
+     * @throws IOException if the object cannot be written
+     */
+    @Override
+    public void writeReport(final JsonGenerator generator) throws IOException {
+        JsonFragment fragment = reportJson;
+        if (fragment == null) {
+            fragment = new JsonFragment(this::writeReportObject);
+            reportJson = fragment;
+        }
+        fragment.writeTo(generator);
+    }
+
+    /**
+     * Streams the report entry of the split payment, field by field.
+     *
+     * @param generator the generator the object is written to
+     * @throws IOException if the object cannot be written
+     */
+    private void writeReportObject(final JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        writeFields(generator, false);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Drops the encoded JSON of both the history and the report entry.
+     */
+    @Override
+    protected void changed() {
+        super.changed();
+        reportJson = null;
+    }
+
+    /**
+     * Writes the fields of the split payment.
+     *
+     * @param generator the generator the fields are written to
+     * @param reversed whether the involved accounts are listed from the last to the first
+     * @throws IOException if a field cannot be written
+     */
+    private void writeFields(final JsonGenerator generator,
+                             final boolean reversed) throws IOException {
+        super.writeFields(generator);
+        generator.writeStringField("currency", currency);
+        generator.writeNumberField("amount", amount);
+        if (error != null) {
+            generator.writeStringField("error", error);
+        }
+        generator.writeArrayFieldStart("involvedAccounts");
+        if (reversed) {
+            for (int i = involvedAccounts.size() - 1; i >= 0; i--) {
+                generator.writeString(involvedAccounts.get(i));
+            }
+        } else {
+            for (String involvedAccount : involvedAccounts) {
+                generator.writeString(involvedAccount);
+            }
+        }
+        generator.writeEndArray();
+    }
 }
@@ -1,84 +1,154 @@
-package org.poo.bank;
-
-public abstract class Transaction implements Comparable<Transaction> {
-    private String description;
-    private int timestamp;
-    private String type;
-
-    /**
-     * Retrieves the timestamp of the transaction.
-     *
-     * @return an integer representing the timestamp.
-     */
-
-    public int getTimestamp() {
-        return timestamp;
-    }
-
-    /**
-     * Retrieves the description of the transaction.
-     *
-     * @return a String representing the transaction description.
-     */
-
-    public String getDescription() {
-        return description;
-    }
-
-    /**
-     * Sets the description of the transaction.
-     *
-     * @param description a String representing the transaction description.
-     */
-
-    public void setDescription(final String description) {
-        this.description = description;
-    }
-
-    /**
-     * Sets the timestamp of the transaction.
-     *
-     * @param timestamp an integer representing the transaction timestamp.
-     */
-
-    public void setTimestamp(final int timestamp) {
-        this.timestamp = timestamp;
-    }
-
-    /**
-     * Retrieves the type of the transaction.
-     *
-     * @return a String representing the transaction type.
-     */
-
-    public String getType() {
-        return type;
-    }
-
-    /**
-     * Sets the type of the transaction.
-     *
-     * @param type a String representing the transaction type.
-     */
-
-    public void setType(final String type) {
-        this.type = type;
-    }
-
-    /**
-     * Compares this transaction with another transaction based on their timestamps.
-     * <p>
-     * This method compares the {@code timestamp} of the current transaction with the
-     * {@code timestamp} of the specified transaction using {@code Integer.compare}.
-     * </p>
-     *
-     * @param another the {@code Transaction} to be compared
-     * @return a negative integer, zero, or a positive integer if this transaction's timestamp
-     *         is less than, equal to, or greater than the specified transaction's timestamp
-     */
-    @Override
-    public int compareTo(final Transaction another) {
-        return Integer.compare(this.timestamp, another.getTimestamp());
-    }
-}
-
+package org.poo.bank;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.poo.output.JsonFragment;
+
+import java.io.IOException;
+
+public abstract class Transaction implements Comparable<Transaction> {
+    private String description;
+    private int timestamp;
+    private String type;
+    private volatile JsonFragment json;
+
+    /**
+     * Retrieves the timestamp of the transaction.
+     *
+     * @return an integer representing the timestamp.
+     */
+
+    public int getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Retrieves the description of the transaction.
+     *
+     * @return a String representing the transaction description.
+     */
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Sets the description of the transaction.
+     *
+     * @param description a String representing the transaction description.
+     */
+
+    public void setDescription(final String description) {
+        this.description = description;
+        changed();
+    }
+
+    /**
+     * Sets the timestamp of the transaction.
+     *
+     * @param timestamp an integer representing the transaction timestamp.
+     */
+
+    public void setTimestamp(final int timestamp) {
+        this.timestamp = timestamp;
+        changed();
+    }
+
+    /**
+     * Retrieves the type of the transaction.
+     *
+     * @return a String representing the transaction type.
+     */
+
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Sets the type of the transaction.
+     *
+     * @param type a String representing the transaction type.
+     */
+
+    public void setType(final String type) {
+        this.type = type;
+    }
+
+    /**
+     * Compares this transaction with another transaction based on their timestamps.
+     * <p>
+     * This method compares the {@code timestamp} of the current transaction with the
+     * {@code timestamp} of the specified transaction using {@code Integer.compare}.
+     * </p>
+     *
+     * @param another the {@code Transaction} to be compared
+     * @return a negative integer, zero, or a positive integer if this transaction's timestamp
+     *         is less than, equal to, or greater than the specified transaction's timestamp
+     */
+    @Override
+    public int compareTo(final Transaction another) {
+        return Integer.compare(this.timestamp, another.getTimestamp());
+    }
+
+    /**
+     * Writes the transaction as a JSON object, as listed
+     * in the transaction history of its user.
+     * The object is encoded once and its bytes are copied
+     * into the output every time the transaction is listed again.
+     *
+     * @param generator the generator the object is written to
+     * @throws IOException if the object cannot be written
+     */
+    public final void write(final JsonGenerator generator) throws IOException {
+        JsonFragment fragment = json;
+        if (fragment == null) {
+            fragment = new JsonFragment(this::writeObject);
+            json = fragment;
+        }
+        fragment.writeTo(generator);
+    }
+
+    /**
+     * Streams the transaction as a JSON object, field by field.
+     *
+     * @param generator the generator the object is written to
+     * @throws IOException if the object cannot be written
+     */
+    private void writeObject(final JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        writeFields(generator);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Drops the encoded JSON of the transaction.
+     * Every setter calls this, so the output always reflects the current fields.
+     */
+    protected void changed() {
+        json = null;
+    }
+
+    /**
+     * Writes the fields of the transaction. By default, these are the timestamp
+     * and the description; subclasses add their own fields after them.
+     *
+     * @param generator the generator the fields are written to
+     * @throws IOException if a field cannot be written
+     */
+    protected void writeFields(final JsonGenerator generator) throws IOException {
+        generator.writeNumberField("timestamp", timestamp);
+        generator.writeStringField("description", description);
+    }
+
+    /**
+     * Writes the transaction as a JSON object, as listed in an account report.
+     * Only some transactions are detailed in reports; the others
+     * are written as empty objects.
+     *
+     * @param generator the generator the object is written to
+     * @throws IOException if the object cannot be written
+     */
+    public void writeReport(final JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeEndObject();
+    }
+}
@@ -1,10 +1,17 @@
 package org.poo.bank;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import org.poo.fileio.UserInput;
+import org.poo.graph.Currency;
 import org.poo.plan.StandardPlan;
 import org.poo.plan.StudentPlan;
 import org.poo.utils.Utils;
 import org.poo.plan.ServicePlan;
+import org.poo.output.JsonFragment;
+
+import java.io.IOException;
 import java.util.ArrayList;
 
 
@@ -17,10 +24,15 @@ public class User implements DaoObject {
     private String occupation;
     private ServicePlan plan;
     private ArrayList<Transaction> transactions;
+    private final BankRegistry registry;
+    private volatile JsonFragment json;
+    private volatile JsonFragment snapshot;
 
 
 
-    public User(final UserInput userInput) {
+    public User(final UserInput userInput,
+                final BankRegistry registry) {
+        this.registry = registry;
         this.email = userInput.getEmail();
         this.firstName = userInput.getFirstName();
         this.lastName = userInput.getLastName();
@@ -173,6 +185,7 @@ public class User implements DaoObject {
 
     public void setAccountDao(final Dao accountDao) {
         this.accountDao = accountDao;
+        changed();
     }
 
     /**
@@ -183,6 +196,7 @@ public class User implements DaoObject {
 
     public void setEmail(final String email) {
         this.email = email;
+        changed();
     }
 
     /**
@@ -193,6 +207,7 @@ public class User implements DaoObject {
 
     public void setFirstName(final String firstName) {
         this.firstName = firstName;
+        changed();
     }
 
     /**
@@ -203,45 +218,55 @@ public class User implements DaoObject {
 
     public void setLastName(final String lastName) {
         this.lastName = lastName;
+        changed();
     }
 
     /**
      * Creates a classic account with the
      * specified currency and records its creation timestamp.
      *
-     * @param currency a String representing the account currency.
+     * @param currency the interned currency of the account.
      * @param timestamp an integer representing the account creation timestamp.
      */
 
-    public void createClassicAccount(final String currency,
+    public void createClassicAccount(final Currency currency,
                                      final int timestamp) {
-        try {
-            ClassicAccount account = new ClassicAccount(currency, transactions, plan);
-            accountDao.update(account);
-            AccountCreation transaction = new AccountCreation(timestamp);
-            transactions.add(transaction);
-            account.getTransactionHistory().add(transaction);
-        } catch (IllegalArgumentException e) {
-            return;
-        }
+        ClassicAccount account = new ClassicAccount(currency, transactions, plan,
+                registry.getIdGenerator().generateIBAN());
+        register(account);
+        AccountCreation transaction = new AccountCreation(timestamp);
+        transactions.add(transaction);
+        account.getTransactionHistory().add(transaction);
     }
 
     /**
      * Creates a savings account with the specified currency and records its creation timestamp.
      *
-     * @param currency a String representing the account currency.
+     * @param currency the interned currency of the account.
      * @param timestamp an integer representing the account creation timestamp.
      */
 
-    public void createSavingsAccount(final String currency,
+    public void createSavingsAccount(final Currency currency,
                                      final int timestamp,
                                      final double interestRate) {
-        try {
-            accountDao.update(new SavingsAccount(currency, transactions, interestRate, plan));
-            transactions.add(new AccountCreation(timestamp));
-        } catch (IllegalArgumentException e) {
-            return;
-        }
+        SavingsAccount account = new SavingsAccount(currency, transactions,
+                interestRate, plan, registry.getIdGenerator().generateIBAN());
+        register(account);
+        transactions.add(new AccountCreation(timestamp));
+    }
+
+    /**
+     * Stores a newly created account in the user's DAO
+     * and registers it in the bank-wide registry.
+     *
+     * @param account the new account
+     */
+    private void register(final Account account) {
+        accountDao.update(account);
+        account.setOwner(this);
+        account.setRegistry(registry);
+        registry.addAccount(account);
+        changed();
     }
 
     /**
@@ -255,17 +280,20 @@ public class User implements DaoObject {
     }
 
     /**
-     * Deletes an account identified by its iban.
+     * Deletes an account identified by its iban
+     * and removes it from the bank-wide registry.
      *
      * @param iban a String representing the iban of the account to be deleted.
+     * @return true if the account was deleted, false if the user has no such account.
      */
 
-    public void deleteAccount(final String iban) {
-        try {
-            accountDao.delete(iban);
-        } catch (IllegalArgumentException e) {
-            return;
+    public boolean deleteAccount(final String iban) {
+        if (!accountDao.delete(iban)) {
+            return false;
         }
+        registry.removeAccount(iban);
+        changed();
+        return true;
     }
     /**
      * Upgrades the service plan for all accounts.
@@ -301,4 +329,82 @@ public class User implements DaoObject {
         return transactions;
     }
 
+    /**
+     * Writes the user as listed by printUsers: the name, the email
+     * and every account with its cards.
+     * The listing is encoded once and its bytes are reused
+     * until the user, one of its accounts or one of their cards changes.
+     *
+     * @param generator the generator the object is written to
+     * @throws IOException if the object cannot be written
+     */
+    public void write(final JsonGenerator generator) throws IOException {
+        JsonFragment fragment = json;
+        if (fragment == null) {
+            fragment = new JsonFragment(this::writeObject);
+            json = fragment;
+        }
+        fragment.writeTo(generator);
+    }
+
+    /**
+     * Captures the listing of the user as it is now, for a result written later
+     * on another thread. The capture is taken once and reused
+     * until the user, one of its accounts or one of their cards changes.
+     *
+     * @param objectMapper the mapper used to capture the listing
+     * @return the listing, which doesn't change when the user does
+     * @throws IOException if the listing cannot be captured
+     */
+    public JsonFragment snapshot(final ObjectMapper objectMapper) throws IOException {
+        JsonFragment fragment = snapshot;
+        if (fragment == null) {
+            TokenBuffer tokens = new TokenBuffer(objectMapper, false);
+            writeObject(tokens);
+            fragment = new JsonFragment(tokens::serialize);
+            snapshot = fragment;
+        }
+        return fragment;
+    }
+
+    /**
+     * Streams the listing of the user, field by field.
+     *
+     * @param generator the generator the object is written to
+     * @throws IOException if the object cannot be written
+     */
+    private void writeObject(final JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("firstName", firstName);
+        generator.writeStringField("lastName", lastName);
+        generator.writeStringField("email", email);
+        generator.writeArrayFieldStart("accounts");
+        for (DaoObject accountData : accountDao.getAll()) {
+            Account account = (Account) accountData;
+            generator.writeStartObject();
+            generator.writeStringField("IBAN", account.getIban());
+            generator.writeNumberField("balance", account.getBalance());
+            generator.writeStringField("currency", account.getCurrency().getCode());
+            generator.writeStringField("type", account.getType());
+            generator.writeArrayFieldStart("cards");
+            for (Card card : account.getCards()) {
+                generator.writeStartObject();
+                generator.writeStringField("cardNumber", card.getCardNumber());
+                generator.writeStringField("status", card.getStatus());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    /**
+     * Marks the user as changed, so that the next listing is encoded again.
+     */
+    void changed() {
+        json = null;
+        snapshot = null;
+    }
 }
@@ -1,52 +1,37 @@
 package org.poo.command;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.poo.bank.User;
+import org.poo.fileio.commands.AddAccountCmd;
+import org.poo.graph.Currency;
 
-class AddAccount implements Command {
+class AddAccount implements Command<AddAccountCmd> {
 
-    private final User user;
-    private final String accountType;
-    private final String currency;
-    private final double interestRate;
-    private final int timestamp;
-    private String error;
-    private final ObjectMapper objectMapper;
-    private final ArrayNode output;
-
-    AddAccount(final User user,
-               final String accountType,
-               final String currency,
-               final double interestRate,
-               final int timestamp,
-               final ObjectMapper objectMapper,
-               final ArrayNode arrayNode) {
-        this.user = user;
-        this.accountType = accountType;
-        this.currency = currency;
-        this.timestamp = timestamp;
-        this.objectMapper = objectMapper;
-        this.output = arrayNode;
-        this.interestRate = interestRate;
-        this.error = null;
-    }
-
-    public void execute() {
+    /**
+     * Executes the command to add a new account for the user.
+     * This method creates either a classic
+     * or savings account based on the provided account type.
+     * If the user does not exist, an error message is added to the output.
+     */
+    public CommandResult execute(final AddAccountCmd commandInput,
+                                 final CommandContext context) {
+        User user = (User) context.getUserDao().get(commandInput.email());
+        int timestamp = commandInput.timestamp();
         if (user == null) {
-            error = "The user doesn't exist";
-            ObjectNode errorNode = objectMapper.createObjectNode();
+            ObjectNode errorNode = context.getObjectMapper().createObjectNode();
             errorNode.put("command", "addAccount");
-            errorNode.put("error", error);
+            errorNode.put("error", "The user doesn't exist");
             errorNode.put("timestamp", timestamp);
-            output.add(errorNode);
-            return;
+            context.getOutput().add(errorNode);
+            return CommandResult.NOT_FOUND;
         }
-        if (accountType.equals("classic")) {
+        Currency currency = Currency.of(commandInput.currency());
+        if (commandInput.accountType().equals("classic")) {
             user.createClassicAccount(currency, timestamp);
         } else {
-            user.createSavingsAccount(currency, timestamp, interestRate);
+            user.createSavingsAccount(currency, timestamp,
+                    commandInput.interestRate());
         }
+        return CommandResult.EXECUTED;
     }
 }
@@ -1,16 +1,12 @@
 package org.poo.command;
 
 import org.poo.bank.Account;
+import org.poo.bank.User;
+import org.poo.fileio.commands.AddFundsCmd;
 
-class AddFunds implements Command {
-    private final Account account;
-    private final double amount;
+import java.util.List;
 
-    AddFunds(final Account account,
-             final double amount) {
-        this.account = account;
-        this.amount = amount;
-    }
+class AddFunds implements Command<AddFundsCmd> {
 
     /**
      * Executes the command to add funds to the specified account.
@@ -19,10 +15,23 @@ class AddFunds implements Command {
      * the specified amount will be added
      * to the account's balance using the addFunds(double) method.
      */
-    public void execute() {
+    public CommandResult execute(final AddFundsCmd commandInput,
+                                 final CommandContext context) {
+        Account account = context.getRegistry().getAccount(commandInput.account());
         if (account == null) {
-            return;
+            return CommandResult.NOT_FOUND;
         }
-        account.addFunds(amount);
+        account.addFunds(commandInput.amount());
+        return CommandResult.EXECUTED;
+    }
+
+    /**
+     * The command only touches the owner of the account the funds are added to.
+     *
+     * @return the owner of the account, or {@code null} if there is no such account
+     */
+    public List<User> footprint(final AddFundsCmd commandInput,
+                                final CommandContext context) {
+        return Footprint.ofAccount(context, commandInput.account());
     }
 }
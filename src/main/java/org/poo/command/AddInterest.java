@@ -1,27 +1,16 @@
 package org.poo.command;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.poo.bank.Account;
 import org.poo.bank.InterestRateIncome;
 import org.poo.bank.SavingsAccount;
+import org.poo.bank.User;
+import org.poo.fileio.commands.AddInterestCmd;
 
-class AddInterest implements Command {
-    private final Account account;
-    private final int timestamp;
-    private final ObjectMapper objectMapper;
-    private final ArrayNode output;
+import java.util.List;
 
-    AddInterest(final Account account,
-                final int timestamp,
-                final ObjectMapper objectMapper,
-                final ArrayNode output) {
-        this.account = account;
-        this.timestamp = timestamp;
-        this.objectMapper = objectMapper;
-        this.output = output;
-    }
+class AddInterest implements Command<AddInterestCmd> {
 
     /**
      * Executes the command to add interest to a savings account.
@@ -37,11 +26,15 @@ class AddInterest implements Command {
      * rate changes.
      */
     @Override
-    public void execute() {
+    public CommandResult execute(final AddInterestCmd commandInput,
+                                 final CommandContext context) {
+        Account account = context.getRegistry().getAccount(commandInput.account());
+        int timestamp = commandInput.timestamp();
         if (account == null) {
-            return;
+            return CommandResult.NOT_FOUND;
         }
         if (!account.getType().equals("savings")) {
+            ObjectMapper objectMapper = context.getObjectMapper();
             ObjectNode errorNode = objectMapper.createObjectNode();
             errorNode.put("command", "addInterest");
             ObjectNode outputNode = objectMapper.createObjectNode();
@@ -50,12 +43,23 @@ class AddInterest implements Command {
             outputNode.put("timestamp", timestamp);
             errorNode.set("output", outputNode);
             errorNode.put("timestamp", timestamp);
-            output.add(errorNode);
-            return;
+            context.getOutput().add(errorNode);
+            return CommandResult.REJECTED;
         }
         SavingsAccount savingsAccount = (SavingsAccount) account;
         double income = savingsAccount.addInterestRate();
         account.getUserTransactions().add(new InterestRateIncome(income,
-                account.getCurrency(), timestamp));
+                account.getCurrency().getCode(), timestamp));
+        return CommandResult.EXECUTED;
+    }
+
+    /**
+     * The command only touches the owner of the account the interest is added to.
+     *
+     * @return the owner of the account, or {@code null} if there is no such account
+     */
+    public List<User> footprint(final AddInterestCmd commandInput,
+                                final CommandContext context) {
+        return Footprint.ofAccount(context, commandInput.account());
     }
 }
@@ -1,47 +1,23 @@
 package org.poo.command;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.poo.bank.*;
-import org.poo.graph.CurrencyGraph;
-import org.poo.graph.Node;
+import org.poo.fileio.commands.CashWithdrawalCmd;
+import org.poo.graph.Currency;
 import org.poo.plan.SilverPlan;
 import org.poo.plan.StandardPlan;
 
-class CashWithdrawal implements Command {
-    private User user;
-    private Account account;
-    private Card card;
-    private double ronAmount;
-    private int timestamp;
-    private CurrencyGraph currencyGraph;
-    private ObjectMapper objectMapper;
-    private ArrayNode output;
+import java.util.List;
 
-    CashWithdrawal(final User user,
-                   final Account account,
-                   final Card card,
-                   final double ronAmount,
-                   final int timestamp,
-                   final ObjectMapper objectMapper,
-                   final CurrencyGraph currencyGraph,
-                   final ArrayNode output) {
-        this.user = user;
-        this.card = card;
-        this.account = account;
-        this.timestamp = timestamp;
-        this.objectMapper = objectMapper;
-        this.ronAmount = ronAmount;
-        this.output = output;
-        this.currencyGraph = currencyGraph;
-    }
+class CashWithdrawal implements Command<CashWithdrawalCmd> {
 
     /**
      * Executes the cash withdrawal process
      * for the user, verifying the card and account status.
      * <p>
-     * If the user or card is not found,
+     * If the user is not found, the command is ignored.
+     * If the card is not found,
      * an error message is returned. If the card is frozen, a
      * `FrozenPayment` transaction is added.
      * If there are insufficient funds in the account, an
@@ -50,19 +26,22 @@ class CashWithdrawal implements Command {
      * </p>
      */
     @Override
-    public void execute() {
+    public CommandResult execute(final CashWithdrawalCmd commandInput,
+                                 final CommandContext context) {
+        User user = (User) context.getUserDao().get(commandInput.email());
         if (user == null) {
-            ObjectNode outputNode = objectMapper.createObjectNode();
-            outputNode.put("command", "cashWithdrawal");
-            ObjectNode errorNode = objectMapper.createObjectNode();
-            errorNode.put("timestamp", timestamp);
-            errorNode.put("description", "User not found");
-            outputNode.set("output", errorNode);
-            outputNode.put("timestamp", timestamp);
-            output.add(outputNode);
-            return;
+            return CommandResult.NOT_FOUND;
+        }
+        Account account = context.getRegistry()
+                .getCardAccount(commandInput.cardNumber(), user);
+        Card card = null;
+        if (account != null) {
+            card = account.getCard(commandInput.cardNumber());
         }
+        double ronAmount = commandInput.amount();
+        int timestamp = commandInput.timestamp();
         if (card == null) {
+            ObjectMapper objectMapper = context.getObjectMapper();
             ObjectNode outputNode = objectMapper.createObjectNode();
             outputNode.put("command", "cashWithdrawal");
             ObjectNode errorNode = objectMapper.createObjectNode();
@@ -70,34 +49,33 @@ class CashWithdrawal implements Command {
             errorNode.put("description", "Card not found");
             outputNode.set("output", errorNode);
             outputNode.put("timestamp", timestamp);
-            output.add(outputNode);
-            return;
+            context.getOutput().add(outputNode);
+            return CommandResult.NOT_FOUND;
         }
         if (card.getStatus().equals("frozen")) {
             FrozenPayment frozenPayment = new FrozenPayment(timestamp,
                     "The card is frozen");
             user.getTransactions().add(frozenPayment);
             account.getTransactionHistory().add(frozenPayment);
-            return;
+            return CommandResult.REJECTED;
         }
-        double amount = currencyGraph.exchange(new Node("RON", 1),
-                new Node(account.getCurrency(), 1),
+        double amount = context.getCurrencyGraph(commandInput.timestamp()).exchange(Currency.RON,
+                account.getCurrency(),
                 ronAmount);
         if (account.getBalance() < amount
-                + getCommission(amount, ronAmount)) {
+                + getCommission(user, amount, ronAmount)) {
             InsufficientFunds insufficientFunds =
                     new InsufficientFunds(timestamp);
             user.getTransactions().add(insufficientFunds);
             account.getTransactionHistory().add(insufficientFunds);
-            return;
+            return CommandResult.REJECTED;
         }
         account.withdrawCash(amount, ronAmount, card);
         CashTransaction cashTransaction =
                 new CashTransaction(timestamp, ronAmount);
         user.getTransactions().add(cashTransaction);
         account.getTransactionHistory().add(cashTransaction);
-
-
+        return CommandResult.EXECUTED;
     }
 
     /**
@@ -112,13 +90,15 @@ class CashWithdrawal implements Command {
      * If the user's plan type is different, no commission is applied.
      * </p>
      *
+     * @param user       The user that withdraws the cash.
      * @param amount     The amount
      *                   to be withdrawn
      *                   in the account's currency.
      * @param amountRon  The amount in RON to be withdrawn.
      * @return           The calculated commission amount.
      */
-    private double getCommission(final double amount,
+    private double getCommission(final User user,
+                                 final double amount,
                                  final double amountRon) {
         double commission = 0;
         switch (user.getPlan().getType()) {
@@ -136,4 +116,15 @@ class CashWithdrawal implements Command {
         }
         return commission;
     }
+
+    /**
+     * The command only touches the user withdrawing the cash.
+     *
+     * @return the user, or {@code null} if the user doesn't hold the card
+     */
+    public List<User> footprint(final CashWithdrawalCmd commandInput,
+                                final CommandContext context) {
+        return Footprint.ofCardHolder(context, commandInput.email(),
+                commandInput.cardNumber());
+    }
 }
@@ -1,30 +1,16 @@
 package org.poo.command;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.poo.bank.Account;
 import org.poo.bank.InterestChanged;
 import org.poo.bank.SavingsAccount;
+import org.poo.bank.User;
+import org.poo.fileio.commands.ChangeInterestRateCmd;
 
-class ChangeInterestRate implements Command {
-    private Account account;
-    private double interestRate;
-    private int timestamp;
-    private ObjectMapper objectMapper;
-    private ArrayNode output;
+import java.util.List;
 
-    ChangeInterestRate(final Account account,
-                       final double interestRate,
-                       final int timestamp,
-                       final ObjectMapper objectMapper,
-                       final ArrayNode output) {
-        this.account = account;
-        this.interestRate = interestRate;
-        this.timestamp = timestamp;
-        this.objectMapper = objectMapper;
-        this.output = output;
-    }
+class ChangeInterestRate implements Command<ChangeInterestRateCmd> {
 
     /**
      * Executes the command to change
@@ -41,11 +27,16 @@ class ChangeInterestRate implements Command {
      * is created and recorded in both the account's
      * transaction history and report.
      */
-    public void execute() {
+    public CommandResult execute(final ChangeInterestRateCmd commandInput,
+                                 final CommandContext context) {
+        Account account = context.getRegistry().getAccount(commandInput.account());
+        double interestRate = commandInput.interestRate();
+        int timestamp = commandInput.timestamp();
         if (account == null) {
-            return;
+            return CommandResult.NOT_FOUND;
         }
         if (!account.getType().equals("savings")) {
+            ObjectMapper objectMapper = context.getObjectMapper();
             ObjectNode errorNode = objectMapper.createObjectNode();
             errorNode.put("command", "changeInterestRate");
             ObjectNode outputNode = objectMapper.createObjectNode();
@@ -54,8 +45,8 @@ class ChangeInterestRate implements Command {
             outputNode.put("timestamp", timestamp);
             errorNode.set("output", outputNode);
             errorNode.put("timestamp", timestamp);
-            output.add(errorNode);
-            return;
+            context.getOutput().add(errorNode);
+            return CommandResult.REJECTED;
         }
         SavingsAccount savingsAccount = (SavingsAccount) account;
         savingsAccount.setInterestRate(interestRate);
@@ -65,5 +56,16 @@ class ChangeInterestRate implements Command {
         savingsAccount.getReport().add(interestChanged);
         savingsAccount.getUserTransactions()
                 .add(interestChanged);
+        return CommandResult.EXECUTED;
+    }
+
+    /**
+     * The command only touches the owner of the account the interest rate is changed on.
+     *
+     * @return the owner of the account, or {@code null} if there is no such account
+     */
+    public List<User> footprint(final ChangeInterestRateCmd commandInput,
+                                final CommandContext context) {
+        return Footprint.ofAccount(context, commandInput.account());
     }
 }
@@ -1,35 +1,17 @@
 package org.poo.command;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.poo.bank.Account;
 import org.poo.bank.Card;
 import org.poo.bank.FrozenPayment;
 import org.poo.bank.User;
+import org.poo.fileio.commands.CheckCardStatusCmd;
 
-class CheckCardStatus implements Command {
-    private User user;
-    private Card card;
-    private Account account;
-    private int timestamp;
-    private ObjectMapper objectMapper;
-    private ArrayNode output;
-    private final int warningLimit = 30;
+import java.util.List;
 
-    CheckCardStatus(final User user,
-                    final Card card,
-                    final Account account,
-                    final int timestamp,
-                    final ObjectMapper objectMapper,
-                    final ArrayNode output) {
-        this.account = account;
-        this.user = user;
-        this.card = card;
-        this.timestamp = timestamp;
-        this.objectMapper = objectMapper;
-        this.output = output;
-    }
+class CheckCardStatus implements Command<CheckCardStatusCmd> {
+    private static final int WARNING_LIMIT = 30;
 
     /**
      * Executes the "checkCardStatus" command
@@ -46,8 +28,12 @@ class CheckCardStatus implements Command {
      * If the user or card is null,
      * an error response is returned.
      */
-    public void execute() {
-        if (user == null || card == null) {
+    public CommandResult execute(final CheckCardStatusCmd commandInput,
+                                 final CommandContext context) {
+        int timestamp = commandInput.timestamp();
+        Card card = context.getRegistry().getCard(commandInput.cardNumber());
+        if (card == null) {
+            ObjectMapper objectMapper = context.getObjectMapper();
             ObjectNode errorNode = objectMapper.createObjectNode();
             errorNode.put("command", "checkCardStatus");
             ObjectNode outputNode = objectMapper.createObjectNode();
@@ -55,19 +41,36 @@ class CheckCardStatus implements Command {
             outputNode.put("description", "Card not found");
             errorNode.set("output", outputNode);
             errorNode.put("timestamp", timestamp);
-            output.add(errorNode);
-            return;
+            context.getOutput().add(errorNode);
+            return CommandResult.NOT_FOUND;
         }
+        Account account = card.getAccount();
+        User user = account.getOwner();
         if (account.getBalance() <= account.getMinimumBalance()) {
             card.setStatus("frozen");
             FrozenPayment frozenPayment = new FrozenPayment(timestamp,
                     "You have reached the minimum amount of funds, the card will be frozen");
             user.getTransactions().add(frozenPayment);
             account.getTransactionHistory().add(frozenPayment);
-            return;
+            return CommandResult.EXECUTED;
         }
-        if (account.getBalance() <= account.getMinimumBalance() + warningLimit) {
+        if (account.getBalance() <= account.getMinimumBalance() + WARNING_LIMIT) {
             card.setStatus("warning");
         }
+        return CommandResult.EXECUTED;
+    }
+
+    /**
+     * The command only touches the owner of the card.
+     *
+     * @return the owner of the card, or {@code null} if there is no such card
+     */
+    public List<User> footprint(final CheckCardStatusCmd commandInput,
+                                final CommandContext context) {
+        Card card = context.getRegistry().getCard(commandInput.cardNumber());
+        if (card == null) {
+            return null;
+        }
+        return Footprint.ofUser(card.getAccount().getOwner());
     }
 }
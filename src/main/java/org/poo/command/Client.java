@@ -1,451 +1,110 @@
 package org.poo.command;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import org.poo.bank.*;
-import org.poo.commerciants.Merchant;
-import org.poo.fileio.*;
-import org.poo.graph.CurrencyGraph;
+import org.poo.bank.BankContext;
+import org.poo.fileio.ObjectInput;
+import org.poo.fileio.commands.CommandRecord;
+import org.poo.output.OutputSink;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
 
 public class Client {
     private Invoker invoker;
-    private Dao userDao;
-    private CurrencyGraph currencyGraph;
-    private ArrayList<Merchant> merchants;
-    private HashMap<String, Account> aliasMap;
-    private ObjectMapper objectMapper;
-    private ArrayNode output;
+    private CommandRegistry commands;
+    private CommandContext context;
 
     public Client(final ObjectInput inputData,
                   final ObjectMapper objectMapper,
-                  final ArrayNode output) {
+                  final OutputSink output) {
         invoker = new Invoker();
-        userDao = new DaoImpl();
-        aliasMap = new HashMap<>();
-        currencyGraph = new CurrencyGraph();
-        merchants = new ArrayList<>();
-        for (UserInput userInput: inputData.getUsers()) {
-            userDao.update(new User(userInput));
-        }
-        for (ExchangeInput exchange: inputData.getExchangeRates()) {
-            currencyGraph.addEdge(exchange.getFrom(), exchange.getTo(), exchange.getRate());
-        }
-        for (CommerciantInput commerciantInput: inputData.getCommerciants()) {
-            merchants.add(new Merchant(commerciantInput));
-        }
-        this.objectMapper = objectMapper;
-        this.output = output;
+        context = new CommandContext(new BankContext(inputData), objectMapper, output);
+        commands = new CommandRegistry();
     }
 
-
     /**
-     * Factory method that generates the appropriate
-     * command based on the given {@link CommandType}.
-     * This method acts as a factory for creating
-     * specific command objects based on the type provided.
-     * It takes a {@link CommandType} and
-     * {@link CommandInput},
-     * retrieves the necessary data (such as
-     * user or account information),
-     * and returns an instance of the corresponding command.
-     * If the
-     * command type is unrecognized or there is an error,
-     * the method returns null.
+     * Retrieves the registry of command handlers,
+     * so new command types can be plugged in from outside the client.
      *
-     * @param type The type of command to create (e.g., ADD_ACCOUNT, ADD_FUNDS, etc.).
-     * @param commandInput The input data needed to create the command.
-     * @return A {@link Command} object corresponding
-     * to the provided {@link CommandType}, or null if the
-     * command type is invalid or an
-     * error occurs during object creation.
+     * @return the {@link CommandRegistry} used for dispatching
      */
-    private Command getCommand(final CommandType type,
-                               final CommandInput commandInput) {
-        try {
-            Command command;
-            User user = null;
-            Account account = null;
-            switch (type) {
-                case ADD_ACCOUNT:
-                    user = (User) userDao.get(commandInput.getEmail());
-                    command = new AddAccount(user,
-                            commandInput.getAccountType(),
-                            commandInput.getCurrency(),
-                            commandInput.getInterestRate(),
-                            commandInput.getTimestamp(),
-                            objectMapper,
-                            output);
-                    return command;
-                case PRINT_USERS:
-                    command = new PrintUsers(userDao,
-                            commandInput.getTimestamp(),
-                            objectMapper,
-                            output);
-                    return command;
-                case CREATE_CARD:
-                    user = (User) userDao.get(commandInput.getEmail());
-                    account = (Account) user.getAccountDao().get(commandInput.getAccount());
-                    command = new CreateCard(user, account,
-                                            commandInput.getTimestamp(),
-                                            objectMapper, output);
-                    return command;
-                case ADD_FUNDS:
-                    for (DaoObject userData : userDao.getAll()) {
-                        user = (User) userData;
-                        account = (Account) user.getAccountDao().get(commandInput.getAccount());
-                        if (account != null) {
-                            break;
-                        }
-                    }
-                    command = new AddFunds(account, commandInput.getAmount());
-                    return command;
-                case DELETE_ACCOUNT:
-                    user = (User) userDao.get(commandInput.getEmail());
-                    command = new DeleteAccount(user,
-                            commandInput.getAccount(),
-                            commandInput.getTimestamp(),
-                            objectMapper,
-                            output);
-                    return command;
-                case DELETE_CARD:
-                    user = (User) userDao.get(commandInput.getEmail());
-                    for (DaoObject accountData: user.getAccountDao().getAll()) {
-                        Account acc = (Account) accountData;
-                        for (Card card : acc.getCards()) {
-                            if (card.getCardNumber().equals(commandInput.getCardNumber())) {
-                                account = acc;
-                            }
-                        }
-                    }
-                    command = new DeleteCard(user,
-                            account,
-                            commandInput.getCardNumber(),
-                            commandInput.getTimestamp(),
-                            objectMapper,
-                            output);
-                    return command;
-                case CREATE_ONE_TIME_CARD:
-                    user = (User) userDao.get(commandInput.getEmail());
-                    account = (Account) user.getAccountDao().get(commandInput.getAccount());
-                    command = new CreateOneTimeCard(user,
-                            account,
-                            commandInput.getTimestamp(),
-                            objectMapper,
-                            output);
-                    return command;
-                case SET_MINIMUM_BALANCE:
-                    for (DaoObject userData: userDao.getAll()) {
-                        User usr = (User) userData;
-                        for (DaoObject accountData: usr.getAccountDao().getAll()) {
-                            Account acc = (Account) accountData;
-                            if (acc.getIban().equals(commandInput.getAccount())) {
-                                account = acc;
-                            }
-                        }
-                    }
-                    command = new SetMinimumBalance(account,
-                            commandInput.getAmount(),
-                            commandInput.getTimestamp(),
-                            objectMapper,
-                            output);
-                    return command;
-                case PAY_ONLINE:
-                    user = (User) userDao.get(commandInput.getEmail());
-                    for (DaoObject accData: user.getAccountDao().getAll()) {
-                        Account acc = (Account) accData;
-                        for (Card card: acc.getCards()) {
-                            if (card.getCardNumber().equals(commandInput.getCardNumber())) {
-                                account = acc;
-                                break;
-                            }
-                        }
-                    }
-                    Merchant commerciant = null;
-                    for (Merchant merchant: merchants) {
-                        if (merchant.getName().equals(commandInput.getCommerciant())) {
-                            commerciant = merchant;
-                        }
-                    }
-                    command = new PayOnline(user,
-                                            account,
-                                            commandInput.getCardNumber(),
-                                            commandInput.getAmount(),
-                                            commandInput.getCurrency(),
-                                            commandInput.getTimestamp(),
-                                            currencyGraph,
-                                            commerciant,
-                                            objectMapper,
-                                            output);
-                    return command;
-                case SEND_MONEY:
-                    User sender = (User) userDao.get(commandInput.getEmail());
-                    Account senderAcc = (Account) sender.getAccountDao()
-                                                        .get(commandInput.getAccount());
-                    Account receiverAcc = aliasMap.get(commandInput.getReceiver());
-                    if (receiverAcc == null) {
-                        for (DaoObject userDaoObject : userDao.getAll()) {
-                            User usr = (User) userDaoObject;
-                            receiverAcc = (Account) usr.getAccountDao()
-                                                        .get(commandInput.getReceiver());
-                            if (receiverAcc != null) {
-                                break;
-                            }
-                        }
-                    }
-                    command = new SendMoney(senderAcc,
-                                            receiverAcc,
-                                            commandInput.getAmount(),
-                                            commandInput.getTimestamp(),
-                                            commandInput.getDescription(),
-                                            currencyGraph,
-                                            objectMapper,
-                                            output);
-                    return command;
-                case SET_ALIAS:
-                    for (DaoObject usrData: userDao.getAll()) {
-                        User usr = (User) usrData;
-                        for (DaoObject accData: usr.getAccountDao().getAll()) {
-                            Account acc = (Account) accData;
-                            if (acc.getIban().equals(commandInput.getAccount())) {
-                                account = acc;
-                                break;
-                            }
-                        }
-                    }
-                    command = new SetAlias(aliasMap,
-                                            account,
-                                            commandInput.getAlias(),
-                                            commandInput.getTimestamp(),
-                                            objectMapper,
-                                            output);
-                    return command;
-                case PRINT_TRANSACTIONS:
-                    user = (User) userDao.get(commandInput.getEmail());
-                    command = new PrintTransactions(user,
-                                                    commandInput.getTimestamp(),
-                                                    objectMapper,
-                                                    output);
-                    return command;
-                case CHECK_CARD_STATUS:
-                    Card card = null;
-                    for (DaoObject userData: userDao.getAll()) {
-                        User usr = (User) userData;
-                        for (DaoObject accountData: usr.getAccountDao().getAll()) {
-                            Account acc = (Account) accountData;
-                            Card cardFound = acc.getCard(commandInput.getCardNumber());
-                            if (cardFound != null) {
-                                card = cardFound;
-                                user = usr;
-                                account = acc;
-                                break;
-                            }
-                        }
-                    }
-                    command = new CheckCardStatus(user,
-                            card, account, commandInput.getTimestamp(),
-                            objectMapper, output);
-                    return command;
-                case SPLIT_PAYMENT:
-                    ArrayList<Account> accounts = new ArrayList<>();
-                    ArrayList<User> users = new ArrayList<>();
-                    for (String iban: commandInput.getAccounts()) {
-                        for (DaoObject userData: userDao.getAll()) {
-                            User usr = (User) userData;
-                            Account acc = (Account) usr.getAccountDao().get(iban);
-                            if (acc != null) {
-                                account = acc;
-                                user = usr;
-                            }
-                        }
-                        accounts.add(account);
-                        users.add(user);
-                        account = null;
-                        user = null;
-                    }
-                    ArrayList<Double> amountForUsers;
-                    if (commandInput.getSplitPaymentType().equals("custom")) {
-                        amountForUsers = new ArrayList<>(commandInput.getAmountForUsers());
-                    } else {
-                        amountForUsers = new ArrayList<>(accounts.size());
-                        for (int i = 0; i < accounts.size(); i++) {
-                            amountForUsers.add(commandInput.getAmount() / accounts.size());
-                        }
-                    }
-                    command = new SplitPayment(users,
-                            accounts, commandInput.getAmount(),
-                            commandInput.getSplitPaymentType(),
-                            commandInput.getCurrency(),
-                            commandInput.getTimestamp(),
-                            amountForUsers, currencyGraph,
-                            objectMapper, output);
-                    return command;
-                case REPORT:
-                    for (DaoObject userData: userDao.getAll()) {
-                        User usr = (User) userData;
-                        Account acc = (Account) usr
-                                .getAccountDao()
-                                .get(commandInput.getAccount());
-                        if (acc != null) {
-                            account = acc;
-                        }
-                    }
-                    command = new Report(account,
-                            commandInput.getStartTimestamp(),
-                            commandInput.getEndTimestamp(),
-                            commandInput.getTimestamp(),
-                            objectMapper,
-                            output);
-                    return command;
-                case SPENDINGS_REPORT:
-                    for (DaoObject userData: userDao.getAll()) {
-                        User usr = (User) userData;
-                        Account acc = (Account) usr
-                                .getAccountDao()
-                                .get(commandInput.getAccount());
-                        if (acc != null) {
-                            account = acc;
-                        }
-                    }
-                    command = new SpendingsReport(account,
-                            commandInput.getStartTimestamp(),
-                            commandInput.getEndTimestamp(),
-                            commandInput.getTimestamp(),
-                            objectMapper,
-                            output);
-                    return command;
-                case ADD_INTEREST:
-                    for (DaoObject userData: userDao.getAll()) {
-                        User usr = (User) userData;
-                        Account acc = (Account) usr
-                                .getAccountDao()
-                                .get(commandInput.getAccount());
-                        if (acc != null) {
-                            account = acc;
-                        }
-                    }
-                    command = new AddInterest(account,
-                            commandInput.getTimestamp(),
-                            objectMapper,
-                            output);
-                    return command;
-                case CASH_WITHDRAWAL:
-                    user = (User) userDao.get(commandInput.getEmail());
-                    Card foundCard = null;
-                    for (DaoObject accData: user.getAccountDao().getAll()) {
-                        Account acc = (Account) accData;
-                        for (Card c: acc.getCards()) {
-                            if (c.getCardNumber().equals(commandInput.getCardNumber())) {
-                                account = acc;
-                                foundCard = c;
-                            }
-                        }
-                    }
-                    command = new CashWithdrawal(user,
-                            account,
-                            foundCard,
-                            commandInput.getAmount(),
-                            commandInput.getTimestamp(),
-                            objectMapper,
-                            currencyGraph,
-                            output);
-                    return command;
-                case CHANGE_INTEREST_RATE:
-                    for (DaoObject userData: userDao.getAll()) {
-                        User usr = (User) userData;
-                        Account acc = (Account) usr
-                                .getAccountDao()
-                                .get(commandInput.getAccount());
-                        if (acc != null) {
-                            account = acc;
-                        }
-                    }
-                    command = new ChangeInterestRate(account,
-                            commandInput.getInterestRate(),
-                            commandInput.getTimestamp(),
-                            objectMapper,
-                            output);
-                    return command;
-
-                case WITHDRAW_SAVINGS:
-                    for (DaoObject userData: userDao.getAll()) {
-                        User usr = (User) userData;
-                        Account acc = (Account) usr
-                                .getAccountDao()
-                                .get(commandInput.getAccount());
-                        if (acc != null) {
-                            account = acc;
-                            user = usr;
-                        }
-                    }
-                    Account classicAccount = null;
-                    try {
-                        for (DaoObject accData : user.getAccountDao().getAll()) {
-                            Account acc = (Account) accData;
-                            if (acc.getType().equals("classic")
-                                    && acc.getCurrency().equals(account.getCurrency())) {
-                                classicAccount = acc;
-                            }
-                        }
-                    } catch (NullPointerException e) {
-                    }
-                    command = new WithdrawSavings(user, account,
-                            classicAccount, commandInput.getAmount(),
-                            commandInput.getTimestamp(),
-                            objectMapper,
-                            output);
-                    return command;
-                case UPGRADE_PLAN:
-                    for (DaoObject userData: userDao.getAll()) {
-                        User usr = (User) userData;
-                        DaoObject accData = usr.getAccountDao().get(commandInput.getAccount());
-                        Account acc = (Account) accData;
-                        if (acc != null) {
-                            account = acc;
-                            user = usr;
-                        }
-                    }
-                    command = new UpgradePlan(user,
-                            account,
-                            commandInput.getNewPlanType(),
-                            commandInput.getTimestamp(),
-                            currencyGraph,
-                            objectMapper,
-                            output);
-                    return command;
-                default:
-                    break;
-            }
-        } catch (NullPointerException e) {
-            return null;
-        }
-        return null;
+    public CommandRegistry getCommands() {
+        return commands;
     }
 
-
     /**
      * Executes the action associated with the given command name and command input.
      * This method is responsible for determining the appropriate command type from the provided
-     * command name, creating the corresponding
-     * {@link Command} object using the {@link CommandInput},
-     * and executing it through the provided
-     * {@link Invoker}.
-     * If the command is invalid or cannot be
-     * created, an {@link IllegalArgumentException} is thrown.
+     * command name, looking up the stateless {@link Command} that handles it,
+     * and executing it on the {@link CommandRecord} and the state of this client
+     * through the provided {@link Invoker}.
+     * An unknown command name is reported as {@link CommandResult#INVALID}.
+     * The handler of a command type must accept the record
+     * that the name of the type is decoded to.
      *
      * @param commandName The name of the command to execute (as a string).
      * @param commandInput The input data required to execute the command.
-     * @throws IllegalArgumentException
-     * If the command name is invalid or if the command cannot be created.
+     * @return The outcome of the command.
      */
-    public void executeAction(final String commandName,
-                              final CommandInput commandInput) throws IllegalArgumentException {
-        CommandType commandType = CommandType.fromString(commandName);
-        Command command = getCommand(commandType, commandInput);
+    public CommandResult executeAction(final String commandName,
+                                       final CommandRecord commandInput) {
+        Command<CommandRecord> command = handler(commandName);
         if (command == null) {
-            throw new IllegalArgumentException("Invalid command!");
+            return CommandResult.INVALID;
         }
-        invoker.execute(command);
+        return invoker.execute(command, commandInput, context);
+    }
+
+    /**
+     * Executes the commands in order, running those that touch
+     * different users at the same time on the given workers.
+     * The results are written in the order of the commands,
+     * exactly as if they had run one after another.
+     *
+     * @param commandInputs the commands to be executed, in order
+     * @param workers the threads the commands may run on
+     * @see ShardedExecutor
+     */
+    public void executeAll(final Iterator<CommandRecord> commandInputs,
+                           final ExecutorService workers) {
+        new ShardedExecutor(this, workers).run(commandInputs);
+    }
+
+    /**
+     * Looks up the handler of a command name.
+     * The handler of a command type must accept the record
+     * that the name of the type is decoded to.
+     *
+     * @param commandName the name of the command
+     * @return the handler, or {@code null} for an unknown command name
+     */
+    Command<CommandRecord> handler(final String commandName) {
+        @SuppressWarnings("unchecked")
+        Command<CommandRecord> command = (Command<CommandRecord>) commands.get(
+                CommandType.fromString(commandName));
+        return command;
+    }
+
+    /**
+     * Executes a command through the invoker, in the given context.
+     *
+     * @param command the handler of the command
+     * @param commandInput the input data of the command
+     * @param commandContext the state the command runs on,
+     *                       which may write to an output of its own
+     * @return the outcome of the command
+     */
+    CommandResult execute(final Command<CommandRecord> command,
+                          final CommandRecord commandInput,
+                          final CommandContext commandContext) {
+        return invoker.execute(command, commandInput, commandContext);
+    }
+
+    /**
+     * Retrieves the state of the run.
+     *
+     * @return the context the commands run on
+     */
+    CommandContext getContext() {
+        return context;
     }
 }
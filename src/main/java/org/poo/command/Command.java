@@ -1,12 +1,48 @@
 package org.poo.command;
-public interface Command {
+
+import org.poo.bank.User;
+import org.poo.fileio.commands.CommandRecord;
+
+import java.util.List;
+
+/**
+ * Handler of a command type.
+ *
+ * @param <T> the record holding the input of the command
+ */
+public interface Command<T extends CommandRecord> {
 
     /**
      * Executes the command.
      * This method should contain the logic that is executed when the command is invoked.
+     * Commands are stateless: everything they need comes from the input and the context.
+     *
+     * @param commandInput the input data of the command
+     * @param context the state of the current run
+     * @return the outcome of the command; rejections are reported here,
+     * never through exceptions
      */
-    void execute();
-}
-
-
+    CommandResult execute(T commandInput, CommandContext context);
 
+    /**
+     * Works out the users whose state the command reads or changes,
+     * before the command runs.
+     * <p>
+     * A user stands for the accounts, cards and transactions they own. Commands
+     * with no user in common may run at the same time, on different threads,
+     * so the footprint must name every user the command touches; those that
+     * change anything else (the registry, the aliases, the identifiers issued)
+     * or read the whole bank have none, and run alone, once every command
+     * before them has run.
+     * </p>
+     *
+     * @param commandInput the input data of the command
+     * @param context the state of the current run, as the command will find it
+     * @return the users the command touches, or {@code null} if it must run alone
+     *         (the default, always safe)
+     */
+    default List<User> footprint(final T commandInput,
+                                 final CommandContext context) {
+        return null;
+    }
+}
@@ -0,0 +1,115 @@
+package org.poo.command;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.poo.bank.Account;
+import org.poo.bank.BankContext;
+import org.poo.bank.BankRegistry;
+import org.poo.bank.Dao;
+import org.poo.commerciants.MerchantRegistry;
+import org.poo.graph.CurrencyGraph;
+import org.poo.graph.ExchangeRates;
+import org.poo.output.OutputSink;
+
+import java.util.HashMap;
+
+/**
+ * Per-run state shared by the command handlers: the {@link BankContext}
+ * the commands operate on and the output they write to.
+ * The handlers themselves are stateless, so one instance of each
+ * serves every command of every run.
+ */
+public class CommandContext {
+    private final BankContext bank;
+    private final ObjectMapper objectMapper;
+    private final OutputSink output;
+
+    public CommandContext(final BankContext bank,
+                          final ObjectMapper objectMapper,
+                          final OutputSink output) {
+        this.bank = bank;
+        this.objectMapper = objectMapper;
+        this.output = output;
+    }
+
+    /**
+     * Retrieves the state of the bank during this run.
+     *
+     * @return the bank context
+     */
+    public BankContext getBank() {
+        return bank;
+    }
+
+    /**
+     * Retrieves the DAO of the users of the bank.
+     *
+     * @return the user DAO
+     */
+    public Dao getUserDao() {
+        return bank.getUserDao();
+    }
+
+    /**
+     * Retrieves the bank-wide index of accounts and cards.
+     *
+     * @return the bank registry
+     */
+    public BankRegistry getRegistry() {
+        return bank.getRegistry();
+    }
+
+    /**
+     * Retrieves the history of exchange rates.
+     *
+     * @return the versioned exchange rates
+     */
+    public ExchangeRates getExchangeRates() {
+        return bank.getExchangeRates();
+    }
+
+    /**
+     * Retrieves the graph of the exchange rates in force at the given timestamp.
+     *
+     * @param timestamp the timestamp of the command
+     * @return the currency graph of that moment
+     */
+    public CurrencyGraph getCurrencyGraph(final int timestamp) {
+        return bank.getExchangeRates().at(timestamp);
+    }
+
+    /**
+     * Retrieves the index of merchants.
+     *
+     * @return the merchant registry
+     */
+    public MerchantRegistry getMerchants() {
+        return bank.getMerchants();
+    }
+
+    /**
+     * Retrieves the map of account aliases.
+     *
+     * @return the alias map
+     */
+    public HashMap<String, Account> getAliasMap() {
+        return bank.getAliasMap();
+    }
+
+    /**
+     * Retrieves the mapper used to build the output nodes.
+     *
+     * @return the object mapper
+     */
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    /**
+     * Retrieves the sink the command results are written to.
+     *
+     * @return the output sink
+     */
+    public OutputSink getOutput() {
+        return output;
+    }
+}
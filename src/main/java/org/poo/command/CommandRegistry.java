@@ -0,0 +1,80 @@
+package org.poo.command;
+
+import java.util.EnumMap;
+
+/**
+ * Maps every {@link CommandType} to the stateless {@link Command} that handles it.
+ * Dispatching a command is a single array-backed {@link EnumMap} lookup,
+ * and new command types are plugged in with {@link #register}.
+ */
+public class CommandRegistry {
+    private static final EnumMap<CommandType, Command<?>> DEFAULTS =
+            new EnumMap<>(CommandType.class);
+
+    static {
+        DEFAULTS.put(CommandType.PRINT_USERS, new PrintUsers());
+        DEFAULTS.put(CommandType.CURRENCY_EXPOSURE, new CurrencyExposureReport());
+        DEFAULTS.put(CommandType.ADD_ACCOUNT, new AddAccount());
+        DEFAULTS.put(CommandType.CREATE_CARD, new CreateCard());
+        DEFAULTS.put(CommandType.ADD_FUNDS, new AddFunds());
+        DEFAULTS.put(CommandType.DELETE_ACCOUNT, new DeleteAccount());
+        DEFAULTS.put(CommandType.CREATE_ONE_TIME_CARD, new CreateOneTimeCard());
+        DEFAULTS.put(CommandType.DELETE_CARD, new DeleteCard());
+        DEFAULTS.put(CommandType.SET_MINIMUM_BALANCE, new SetMinimumBalance());
+        DEFAULTS.put(CommandType.PAY_ONLINE, new PayOnline());
+        DEFAULTS.put(CommandType.SEND_MONEY, new SendMoney());
+        DEFAULTS.put(CommandType.SET_ALIAS, new SetAlias());
+        DEFAULTS.put(CommandType.PRINT_TRANSACTIONS, new PrintTransactions());
+        DEFAULTS.put(CommandType.CHECK_CARD_STATUS, new CheckCardStatus());
+        DEFAULTS.put(CommandType.SPLIT_PAYMENT, new SplitPayment());
+        DEFAULTS.put(CommandType.REPORT, new Report());
+        DEFAULTS.put(CommandType.SPENDINGS_REPORT, new SpendingsReport());
+        DEFAULTS.put(CommandType.ADD_INTEREST, new AddInterest());
+        DEFAULTS.put(CommandType.CHANGE_INTEREST_RATE, new ChangeInterestRate());
+        DEFAULTS.put(CommandType.WITHDRAW_SAVINGS, new WithdrawSavings());
+        DEFAULTS.put(CommandType.UPGRADE_PLAN, new UpgradePlan());
+        DEFAULTS.put(CommandType.CASH_WITHDRAWAL, new CashWithdrawal());
+        Command<?> unsupported = new UnsupportedCommand();
+        DEFAULTS.put(CommandType.ACCEPT_SPLIT_PAYMENT, unsupported);
+        DEFAULTS.put(CommandType.REJECT_SPLIT_PAYMENT, unsupported);
+        DEFAULTS.put(CommandType.ADD_NEW_BUSINESS_ASSOCIATE, unsupported);
+        DEFAULTS.put(CommandType.CHANGE_SPENDING_LIMIT, unsupported);
+        DEFAULTS.put(CommandType.CHANGE_DEPOSIT_LIMIT, unsupported);
+        DEFAULTS.put(CommandType.BUSINESS_REPORT, unsupported);
+    }
+
+    private final EnumMap<CommandType, Command<?>> commands;
+
+    /**
+     * Creates a registry with the handlers of every command known to the bank.
+     * The handlers are shared between registries, since they hold no state.
+     */
+    public CommandRegistry() {
+        commands = new EnumMap<>(DEFAULTS);
+    }
+
+    /**
+     * Registers the handler of a command type, replacing any previous one.
+     *
+     * @param type the command type
+     * @param command the stateless handler of this type, which accepts
+     *                the record its command name is decoded to
+     */
+    public void register(final CommandType type,
+                         final Command<?> command) {
+        commands.put(type, command);
+    }
+
+    /**
+     * Retrieves the handler of the given command type.
+     *
+     * @param type the command type, or {@code null} for an unknown command name
+     * @return the handler, or {@code null} if the type has none
+     */
+    public Command<?> get(final CommandType type) {
+        if (type == null) {
+            return null;
+        }
+        return commands.get(type);
+    }
+}
@@ -0,0 +1,19 @@
+package org.poo.command;
+
+/**
+ * Outcome of executing a command.
+ * Rejections are reported through these codes instead of exceptions,
+ * so an invalid command costs no more than a valid one.
+ */
+public enum CommandResult {
+    /** The command was applied. */
+    EXECUTED,
+    /** A user, account or card referenced by the command doesn't exist. */
+    NOT_FOUND,
+    /** The command was refused by the rules of the bank (funds, card status, plan...). */
+    REJECTED,
+    /** The command is known, but the bank doesn't support it yet. */
+    UNSUPPORTED,
+    /** The command name is unknown. */
+    INVALID
+}
@@ -1,7 +1,11 @@
 package org.poo.command;
 
+import java.util.HashMap;
+import java.util.Map;
+
 public enum CommandType {
     PRINT_USERS("printUsers"),
+    CURRENCY_EXPOSURE("currencyExposure"),
     ADD_ACCOUNT("addAccount"),
     CREATE_CARD("createCard"),
     ADD_FUNDS("addFunds"),
@@ -23,7 +27,19 @@ public enum CommandType {
     UPGRADE_PLAN("upgradePlan"),
     CASH_WITHDRAWAL("cashWithdrawal"),
     ACCEPT_SPLIT_PAYMENT("acceptSplitPayment"),
-    REJECT_SPLIT_PAYMENT("rejectSplitPayment");
+    REJECT_SPLIT_PAYMENT("rejectSplitPayment"),
+    ADD_NEW_BUSINESS_ASSOCIATE("addNewBusinessAssociate"),
+    CHANGE_SPENDING_LIMIT("changeSpendingLimit"),
+    CHANGE_DEPOSIT_LIMIT("changeDepositLimit"),
+    BUSINESS_REPORT("businessReport");
+
+    private static final Map<String, CommandType> BY_NAME = new HashMap<>();
+
+    static {
+        for (CommandType commandType: values()) {
+            BY_NAME.put(commandType.command, commandType);
+        }
+    }
 
     private final String command;
 
@@ -32,17 +48,16 @@ public enum CommandType {
     }
 
     /**
-     * Converts a string command to its corresponding CommandType enum.
+     * Converts a string command to its corresponding CommandType enum
+     * with a single lookup in the name index.
      *
      * @param command The string representation of the command.
      * @return The corresponding CommandType, or {@code null} if no matching command is found.
      */
     public static CommandType fromString(final String command) {
-        for (CommandType commandType: CommandType.values()) {
-            if (commandType.command.equals(command)) {
-                return commandType;
-            }
+        if (command == null) {
+            return null;
         }
-        return null;
+        return BY_NAME.get(command);
     }
 }
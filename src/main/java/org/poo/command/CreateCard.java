@@ -1,48 +1,33 @@
 package org.poo.command;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import org.poo.bank.Account;
 import org.poo.bank.CardCreation;
 import org.poo.bank.User;
+import org.poo.fileio.commands.CreateCardCmd;
 
-class CreateCard implements Command {
-    private User user;
-    private final Account account;
-    private final int timestamp;
-    private String error;
-    private final ObjectMapper objectMapper;
-    private final ArrayNode output;
-
-    CreateCard(final User user,
-               final Account account,
-               final int timestamp,
-               final ObjectMapper objectMapper,
-               final ArrayNode output) {
-        this.user = user;
-        this.account = account;
-        this.timestamp = timestamp;
-        this.error = null;
-        this.objectMapper = objectMapper;
-        this.output = output;
-    }
+class CreateCard implements Command<CreateCardCmd> {
 
     /**
-     * Executes the command to add a new account for the user.
-     * This method creates either a classic
-     * or savings account based on the provided {@code accountType}.
-     * If the user does not exist, an error message is added to the output.
+     * Executes the command to create a new card for one of the user's accounts.
+     * If the user or the account does not exist, the command is ignored.
      */
-    public void execute() {
-        if (user == null || account == null) {
-            return;
+    public CommandResult execute(final CreateCardCmd commandInput,
+                                 final CommandContext context) {
+        User user = (User) context.getUserDao().get(commandInput.email());
+        if (user == null) {
+            return CommandResult.NOT_FOUND;
+        }
+        Account account = (Account) user.getAccountDao().get(commandInput.account());
+        if (account == null) {
+            return CommandResult.NOT_FOUND;
         }
         account.createCard();
-        CardCreation transaction = new CardCreation(timestamp,
+        CardCreation transaction = new CardCreation(commandInput.timestamp(),
                 account.getCards().getLast().getCardNumber(),
                 user.getEmail(),
                 account.getIban());
         user.getTransactions().add(transaction);
         account.getTransactionHistory().add(transaction);
+        return CommandResult.EXECUTED;
     }
 }
@@ -1,41 +1,29 @@
 package org.poo.command;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import org.poo.bank.Account;
 import org.poo.bank.CardCreation;
 import org.poo.bank.User;
+import org.poo.fileio.commands.CreateOneTimeCardCmd;
 
-class CreateOneTimeCard implements Command {
-    private User user;
-    private Account account;
-    private final int timestamp;
-    private final ObjectMapper objectMapper;
-    private final ArrayNode output;
+class CreateOneTimeCard implements Command<CreateOneTimeCardCmd> {
 
-
-    CreateOneTimeCard(final User user,
-                      final Account account,
-                      final int timestamp,
-                      final ObjectMapper objectMapper,
-                      final ArrayNode output) {
-        this.user = user;
-        this.account = account;
-        this.timestamp = timestamp;
-        this.objectMapper = objectMapper;
-        this.output = output;
-    }
-
-    public void execute() {
+    public CommandResult execute(final CreateOneTimeCardCmd commandInput,
+                                 final CommandContext context) {
+        User user = (User) context.getUserDao().get(commandInput.email());
+        if (user == null) {
+            return CommandResult.NOT_FOUND;
+        }
+        Account account = (Account) user.getAccountDao().get(commandInput.account());
         if (account == null) {
-            return;
+            return CommandResult.NOT_FOUND;
         }
         account.createOneTimeCard();
-        CardCreation transaction = new CardCreation(timestamp,
+        CardCreation transaction = new CardCreation(commandInput.timestamp(),
                 account.getCards().getLast().getCardNumber(),
                 user.getEmail(),
                 account.getIban());
         user.getTransactions().add(transaction);
         account.getTransactionHistory().add(transaction);
+        return CommandResult.EXECUTED;
     }
 }
@@ -0,0 +1,60 @@
+package org.poo.command;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.poo.bank.CurrencyExposure;
+import org.poo.fileio.commands.CurrencyExposureCmd;
+import org.poo.graph.Currency;
+import org.poo.graph.RateSnapshot;
+
+class CurrencyExposureReport implements Command<CurrencyExposureCmd> {
+
+    /**
+     * Executes the "currencyExposure" command by reporting the total balance
+     * the bank holds in each currency and its value in RON.
+     * The balances are summed per currency first, so each currency
+     * is converted once, with the rates in force at the command's timestamp.
+     * A currency that cannot be converted to RON has no value
+     * and is left out of the bank's total. If the rates in force allow
+     * an arbitrage, its cycle of currencies is reported with the exposure,
+     * since the values in RON then depend on the path of the conversions.
+     */
+    public CommandResult execute(final CurrencyExposureCmd commandInput,
+                                 final CommandContext context) {
+        int timestamp = commandInput.timestamp();
+        CurrencyExposure exposure = context.getRegistry().getCurrencyExposure();
+        RateSnapshot rates = context.getCurrencyGraph(timestamp).getSnapshot();
+        ObjectMapper objectMapper = context.getObjectMapper();
+        ArrayNode currenciesArray = objectMapper.createArrayNode();
+        double totalInRon = 0;
+        for (Currency currency : exposure.getCurrencies()) {
+            double total = exposure.getTotal(currency);
+            ObjectNode currencyNode = objectMapper.createObjectNode();
+            currencyNode.put("currency", currency.getCode());
+            currencyNode.put("accounts", exposure.getAccountCount(currency));
+            currencyNode.put("balance", total);
+            if (rates.hasPath(currency, Currency.RON)) {
+                double value = rates.exchange(currency, Currency.RON, total);
+                currencyNode.put("valueInRON", value);
+                totalInRon += value;
+            }
+            currenciesArray.add(currencyNode);
+        }
+        ObjectNode outputNode = objectMapper.createObjectNode();
+        outputNode.set("currencies", currenciesArray);
+        outputNode.put("totalInRON", totalInRon);
+        if (rates.hasArbitrage()) {
+            ArrayNode cycle = outputNode.putArray("arbitrageCycle");
+            for (Currency currency : rates.getArbitrageCycle()) {
+                cycle.add(currency.getCode());
+            }
+        }
+        ObjectNode commandNode = objectMapper.createObjectNode();
+        commandNode.put("command", "currencyExposure");
+        commandNode.set("output", outputNode);
+        commandNode.put("timestamp", timestamp);
+        context.getOutput().add(commandNode);
+        return CommandResult.EXECUTED;
+    }
+}
@@ -0,0 +1,80 @@
+package org.poo.command;
+
+import org.poo.bank.User;
+
+import java.util.List;
+
+/**
+ * Helpers for the {@link Command#footprint(org.poo.fileio.commands.CommandRecord,
+ * CommandContext)} of the commands that touch the accounts of a single user.
+ * Each returns {@code null} when the target can't be found, so a command
+ * that is going to fail runs alone, exactly as it would have serially.
+ */
+final class Footprint {
+    private Footprint() {
+    }
+
+    /**
+     * Retrieves the footprint of a command on a user.
+     *
+     * @param user the user, or {@code null}
+     * @return the user, or {@code null} if there is none
+     */
+    static List<User> ofUser(final User user) {
+        if (user == null) {
+            return null;
+        }
+        return List.of(user);
+    }
+
+    /**
+     * Retrieves the footprint of a command on the account with the given IBAN.
+     *
+     * @param context the state of the current run
+     * @param iban the IBAN of the account
+     * @return the owner of the account, or {@code null} if there is no such account
+     */
+    static List<User> ofAccount(final CommandContext context,
+                                final String iban) {
+        return ofUser(context.getRegistry().getOwner(iban));
+    }
+
+    /**
+     * Retrieves the footprint of a command paying with a card of a user.
+     * Paying with a one-time card replaces the card, which issues
+     * a new card number and changes the registry.
+     *
+     * @param context the state of the current run
+     * @param email the email of the user paying
+     * @param cardNumber the number of the card
+     * @return the user, or {@code null} if the user doesn't hold the card
+     *         or the card is a one-time card
+     */
+    static List<User> ofPayment(final CommandContext context,
+                                final String email,
+                                final String cardNumber) {
+        List<User> users = ofCardHolder(context, email, cardNumber);
+        if (users == null || context.getRegistry().getCard(cardNumber).isOneTimeCard()) {
+            return null;
+        }
+        return users;
+    }
+
+    /**
+     * Retrieves the footprint of a command on a user using one of their cards.
+     *
+     * @param context the state of the current run
+     * @param email the email of the user
+     * @param cardNumber the number of the card
+     * @return the user, or {@code null} if the user doesn't hold the card
+     */
+    static List<User> ofCardHolder(final CommandContext context,
+                                   final String email,
+                                   final String cardNumber) {
+        User user = (User) context.getUserDao().get(email);
+        if (user == null || context.getRegistry().getCardAccount(cardNumber, user) == null) {
+            return null;
+        }
+        return List.of(user);
+    }
+}
@@ -1,18 +1,27 @@
 package org.poo.command;
 
+import org.poo.fileio.commands.CommandRecord;
+
 public class Invoker {
 
     /**
-     * Executes the provided command by invoking its {@link Command#execute()} method.
+     * Executes the provided command by invoking its
+     * {@link Command#execute(CommandRecord, CommandContext)} method.
      * The {@code execute()} method triggers
      * the action associated with the command,
      * allowing the command to perform its logic without the {
      * @code Invoker} needing to know the details
      * of the action being performed.
      *
+     * @param <T> The record holding the input of the command.
      * @param command The command to be executed.
+     * @param commandInput The input data of the command.
+     * @param context The state of the current run.
+     * @return The outcome of the command.
      */
-    public void execute(final Command command) {
-        command.execute();
+    public <T extends CommandRecord> CommandResult execute(final Command<T> command,
+                                                           final T commandInput,
+                                                           final CommandContext context) {
+        return command.execute(commandInput, context);
     }
 }
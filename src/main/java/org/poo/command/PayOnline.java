@@ -1,48 +1,18 @@
 package org.poo.command;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.poo.bank.*;
 import org.poo.commerciants.Merchant;
+import org.poo.fileio.commands.PayOnlineCmd;
+import org.poo.graph.Currency;
 import org.poo.graph.CurrencyGraph;
-import org.poo.graph.Node;
 import org.poo.plan.SilverPlan;
 import org.poo.plan.StandardPlan;
 
-class PayOnline implements Command {
-    private User user;
-    private Account account;
-    private String cardNumber;
-    private double amount;
-    private String currency;
-    private int timestamp;
-    private Merchant commerciant;
-    private CurrencyGraph graph;
-    private ObjectMapper objectMapper;
-    private ArrayNode output;
+import java.util.List;
 
-    PayOnline(final User user,
-              final Account account,
-              final String cardNumber,
-              final double amount,
-              final String currency,
-              final int timestamp,
-              final CurrencyGraph graph,
-              final Merchant commerciant,
-              final ObjectMapper objectMapper,
-              final ArrayNode output) {
-        this.user = user;
-        this.account = account;
-        this.cardNumber = cardNumber;
-        this.amount = amount;
-        this.currency = currency;
-        this.timestamp = timestamp;
-        this.graph = graph;
-        this.commerciant = commerciant;
-        this.objectMapper = objectMapper;
-        this.output = output;
-    }
+class PayOnline implements Command<PayOnlineCmd> {
 
     /**
      * Executes the "payOnline" command for a given account and card.
@@ -55,8 +25,19 @@ class PayOnline implements Command {
      * and currency conversions if necessary.
      * Transactions are logged in the user's and account's transaction history.
      */
-    public void execute() {
+    public CommandResult execute(final PayOnlineCmd commandInput,
+                                 final CommandContext context) {
+        User user = (User) context.getUserDao().get(commandInput.email());
+        if (user == null) {
+            return CommandResult.NOT_FOUND;
+        }
+        String cardNumber = commandInput.cardNumber();
+        Account account = context.getRegistry().getCardAccount(cardNumber, user);
+        double amount = commandInput.amount();
+        Currency currency = Currency.of(commandInput.currency());
+        int timestamp = commandInput.timestamp();
         if (account == null) {
+            ObjectMapper objectMapper = context.getObjectMapper();
             ObjectNode outputNode = objectMapper.createObjectNode();
             outputNode.put("command", "payOnline");
             ObjectNode errorNode = objectMapper.createObjectNode();
@@ -64,11 +45,11 @@ class PayOnline implements Command {
             errorNode.put("description", "Card not found");
             outputNode.set("output", errorNode);
             outputNode.put("timestamp", timestamp);
-            output.add(outputNode);
-            return;
+            context.getOutput().add(outputNode);
+            return CommandResult.NOT_FOUND;
         }
         if (amount == 0) {
-            return;
+            return CommandResult.REJECTED;
         }
         Card lastCard = account.getCards().getLast();
         if (account.getCard(cardNumber).getStatus().equals("frozen")) {
@@ -76,20 +57,22 @@ class PayOnline implements Command {
                     "The card is frozen");
             user.getTransactions().add(frozenPayment);
             account.getTransactionHistory().add(frozenPayment);
-            return;
+            return CommandResult.REJECTED;
         }
-        double ronAmount = graph.exchange(new Node(currency, 1),
-                new Node("RON", 1),
+        CurrencyGraph graph = context.getCurrencyGraph(commandInput.timestamp());
+        Merchant commerciant = context.getMerchants().getByName(commandInput.commerciant());
+        double ronAmount = graph.exchange(currency,
+                Currency.RON,
                 amount);
         double commission;
-        if (account.getCurrency().equals(currency)) {
-            commission = getCommission(amount, ronAmount);
+        if (account.getCurrency() == currency) {
+            commission = getCommission(user, amount, ronAmount);
             if (account.getBalance() < amount + commission) {
                 InsufficientFunds insufficientFunds =
                         new InsufficientFunds(timestamp);
                 user.getTransactions().add(insufficientFunds);
                 account.getTransactionHistory().add(insufficientFunds);
-                return;
+                return CommandResult.REJECTED;
             }
             CardPayment transaction =
                     new CardPayment(timestamp, commerciant.getName(), amount);
@@ -101,16 +84,16 @@ class PayOnline implements Command {
                 ((ClassicAccount) account).getSpendingsReport().add(transaction);
             }
         } else {
-            double newAmount = graph.exchange(new Node(currency, 1.0),
-                    new Node(account.getCurrency(), 1),
+            double newAmount = graph.exchange(currency,
+                    account.getCurrency(),
                     amount);
-            commission = getCommission(newAmount, ronAmount);
+            commission = getCommission(user, newAmount, ronAmount);
             if (account.getBalance() < newAmount + commission) {
                 InsufficientFunds insufficientFunds =
                         new InsufficientFunds(timestamp);
                 user.getTransactions().add(insufficientFunds);
                 account.getTransactionHistory().add(insufficientFunds);
-                return;
+                return CommandResult.REJECTED;
             }
             CardPayment transaction =
                     new CardPayment(timestamp, commerciant.getName(), newAmount);
@@ -136,6 +119,7 @@ class PayOnline implements Command {
             user.getTransactions().add(cardCreation);
             account.getTransactionHistory().add(cardCreation);
         }
+        return CommandResult.EXECUTED;
     }
 
     /**
@@ -149,11 +133,13 @@ class PayOnline implements Command {
      * the commission considering both the withdrawal amount and its
      * equivalent in RON.
      *
+     * @param user        The user that pays.
      * @param amount      The amount being withdrawn.
      * @param ronAmount  The amount being withdrawn in RON.
      * @return           The commission for the given withdrawal amount.
      */
-    private double getCommission(final double amount,
+    private double getCommission(final User user,
+                                 final double amount,
                                  final double ronAmount) {
         double commission = 0;
         switch (user.getPlan().getType()) {
@@ -171,4 +157,16 @@ class PayOnline implements Command {
         }
         return commission;
     }
+
+    /**
+     * The command only touches the user paying, unless the card is
+     * a one-time card, which is replaced after the payment.
+     *
+     * @return the user, or {@code null} if the command must run alone
+     */
+    public List<User> footprint(final PayOnlineCmd commandInput,
+                                final CommandContext context) {
+        return Footprint.ofPayment(context, commandInput.email(),
+                commandInput.cardNumber());
+    }
 }
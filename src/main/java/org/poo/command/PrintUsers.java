@@ -1,59 +1,27 @@
 package org.poo.command;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.poo.bank.*;
+import org.poo.fileio.commands.PrintUsersCmd;
 
-class PrintUsers implements Command {
-    private final Dao userDao;
-    private final int timestamp;
-    private final ObjectMapper objectMapper;
-    private final ArrayNode output;
+class PrintUsers implements Command<PrintUsersCmd> {
 
-    PrintUsers(final Dao userDao,
-               final int timestamp,
-               final ObjectMapper objectMapper,
-               final ArrayNode output) {
-        this.userDao = userDao;
-        this.timestamp = timestamp;
-        this.objectMapper = objectMapper;
-        this.output = output;
-    }
-
-    public void execute() {
+    /**
+     * Executes the command to print all users,
+     * their accounts, and associated cards to the output.
+     * Each user writes its own listing, which is reused
+     * as long as the user and its accounts don't change.
+     */
+    public CommandResult execute(final PrintUsersCmd commandInput,
+                                 final CommandContext context) {
+        ObjectMapper objectMapper = context.getObjectMapper();
         ObjectNode outputNode = objectMapper.createObjectNode();
         outputNode.put("command", "printUsers");
-        ArrayNode usersArray = objectMapper.createArrayNode();
-        for (DaoObject userData : userDao.getAll()) {
-            User user = (User) userData;
-            ArrayNode accountsArray = objectMapper.createArrayNode();
-            ObjectNode userNode = objectMapper.createObjectNode();
-            userNode.put("firstName", user.getFirstName());
-            userNode.put("lastName", user.getLastName());
-            userNode.put("email", user.getEmail());
-            for (DaoObject accountData : user.getAccountDao().getAll()) {
-                Account account = (Account) accountData;
-                ArrayNode cardsArray = objectMapper.createArrayNode();
-                ObjectNode accountNode = objectMapper.createObjectNode();
-                accountNode.put("IBAN", account.getIban());
-                accountNode.put("balance", account.getBalance());
-                accountNode.put("currency", account.getCurrency());
-                accountNode.put("type", account.getType());
-                for (Card card : account.getCards()) {
-                    ObjectNode cardNode = objectMapper.createObjectNode();
-                    cardNode.put("cardNumber", card.getCardNumber());
-                    cardNode.put("status", card.getStatus());
-                    cardsArray.add(cardNode);
-                }
-                accountNode.set("cards", cardsArray);
-                accountsArray.add(accountNode);
-            }
-            userNode.set("accounts", accountsArray);
-            usersArray.add(userNode);
-        }
-        outputNode.set("output", usersArray);
-        outputNode.put("timestamp", timestamp);
-        output.add(outputNode);
+        User[] users = context.getUserDao().getAll().toArray(new User[0]);
+        outputNode.putPOJO("output", new StreamedList<>(users, User::write, User::snapshot));
+        outputNode.put("timestamp", commandInput.timestamp());
+        context.getOutput().add(outputNode);
+        return CommandResult.EXECUTED;
     }
 }
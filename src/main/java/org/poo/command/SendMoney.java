@@ -1,42 +1,19 @@
 package org.poo.command;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.poo.bank.Account;
 import org.poo.bank.InsufficientFunds;
+import org.poo.bank.User;
+import org.poo.fileio.commands.SendMoneyCmd;
+import org.poo.graph.Currency;
 import org.poo.graph.CurrencyGraph;
-import org.poo.graph.Node;
 import org.poo.plan.SilverPlan;
 import org.poo.plan.StandardPlan;
 
-class SendMoney implements Command {
-    private Account sender;
-    private Account receiver;
-    private double amount;
-    private int timestamp;
-    private String description;
-    private CurrencyGraph graph;
-    private ObjectMapper objectMapper;
-    private ArrayNode output;
+import java.util.List;
 
-    SendMoney(final Account sender,
-              final Account receiver,
-              final double amount,
-              final int timestamp,
-              final String description,
-              final CurrencyGraph graph,
-              final ObjectMapper objectMapper,
-              final ArrayNode output) {
-        this.sender = sender;
-        this.receiver = receiver;
-        this.amount = amount;
-        this.timestamp = timestamp;
-        this.graph = graph;
-        this.objectMapper = objectMapper;
-        this.output = output;
-        this.description = description;
-    }
+class SendMoney implements Command<SendMoneyCmd> {
 
     /**
      * Executes the "sendMoney" command to transfer
@@ -51,8 +28,23 @@ class SendMoney implements Command {
      * and the transaction is recorded in both
      * the sender's and receiver's transaction histories.
      */
-    public void execute() {
+    public CommandResult execute(final SendMoneyCmd commandInput,
+                                 final CommandContext context) {
+        User user = (User) context.getUserDao().get(commandInput.email());
+        if (user == null) {
+            return CommandResult.NOT_FOUND;
+        }
+        Account sender = (Account) user.getAccountDao().get(commandInput.account());
+        Account receiver = context.getAliasMap().get(commandInput.receiver());
+        if (receiver == null
+                && context.getMerchants().getByIban(commandInput.receiver()) == null) {
+            receiver = context.getRegistry().getAccount(commandInput.receiver());
+        }
+        double amount = commandInput.amount();
+        int timestamp = commandInput.timestamp();
+        CurrencyGraph graph = context.getCurrencyGraph(commandInput.timestamp());
         if (sender == null || receiver == null) {
+            ObjectMapper objectMapper = context.getObjectMapper();
             ObjectNode outputNode = objectMapper.createObjectNode();
             outputNode.put("command", "sendMoney");
             ObjectNode errorNode = objectMapper.createObjectNode();
@@ -60,31 +52,33 @@ class SendMoney implements Command {
             errorNode.put("description", "User not found");
             outputNode.set("output", errorNode);
             outputNode.put("timestamp", timestamp);
-            output.add(outputNode);
-            return;
+            context.getOutput().add(outputNode);
+            return CommandResult.NOT_FOUND;
         }
         if (amount == 0) {
-            return;
+            return CommandResult.REJECTED;
         }
-        double ronAmount = graph.exchange(new Node(sender.getCurrency(), 1),
-                new Node("RON", 1),
+        double ronAmount = graph.exchange(sender.getCurrency(),
+                Currency.RON,
                 amount);
-        if (sender.getBalance() < amount + getCommission(amount, ronAmount)) {
+        if (sender.getBalance() < amount + getCommission(sender, amount, ronAmount)) {
             InsufficientFunds insufficientFunds =
                     new InsufficientFunds(timestamp);
             sender.getUserTransactions().add(insufficientFunds);
             sender.getTransactionHistory().add(insufficientFunds);
-            return;
+            return CommandResult.REJECTED;
         }
         sender.sendMoney(receiver,
                 amount,
                 graph,
                 timestamp,
-                description);
+                commandInput.description());
+        return CommandResult.EXECUTED;
     }
 
 
-    private double getCommission(final double amountParameter,
+    private double getCommission(final Account sender,
+                                 final double amountParameter,
                                  final double ronAmount) {
         double commission = 0;
         switch (sender.getPlan().getType()) {
@@ -103,4 +97,27 @@ class SendMoney implements Command {
         }
         return commission;
     }
+
+    /**
+     * The command touches the sender and the owner of the receiving account,
+     * found the same way the transfer finds them.
+     *
+     * @return the two users, or {@code null} if either account can't be found
+     */
+    public List<User> footprint(final SendMoneyCmd commandInput,
+                                final CommandContext context) {
+        User user = (User) context.getUserDao().get(commandInput.email());
+        if (user == null || user.getAccountDao().get(commandInput.account()) == null) {
+            return null;
+        }
+        Account receiver = context.getAliasMap().get(commandInput.receiver());
+        if (receiver == null
+                && context.getMerchants().getByIban(commandInput.receiver()) == null) {
+            receiver = context.getRegistry().getAccount(commandInput.receiver());
+        }
+        if (receiver == null || receiver.getOwner() == null) {
+            return null;
+        }
+        return List.of(user, receiver.getOwner());
+    }
 }
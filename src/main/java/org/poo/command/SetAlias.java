@@ -1,46 +1,26 @@
 package org.poo.command;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import org.poo.bank.Account;
+import org.poo.fileio.commands.SetAliasCmd;
 
-import java.util.HashMap;
-
-class SetAlias implements Command {
-    private HashMap<String, Account> aliasMap;
-    private Account account;
-    private String alias;
-    private int timestamp;
-    private ObjectMapper objectMapper;
-    private ArrayNode output;
-
-    SetAlias(final HashMap<String, Account> aliasMap,
-             final Account account,
-             final String alias,
-             final int timestamp,
-             final ObjectMapper objectMapper,
-             final ArrayNode output) {
-        this.aliasMap = aliasMap;
-        this.account = account;
-        this.alias = alias;
-        this.timestamp = timestamp;
-        this.objectMapper = objectMapper;
-        this.output = output;
-    }
+class SetAlias implements Command<SetAliasCmd> {
 
     /**
      * Executes the "setAlias" command,
      * which assigns an alias to the given account.
-     * The alias is stored in the aliasMap,
+     * The alias is stored in the alias map of the context,
      * associating the alias with the account.
      * If the account
      * is null, the command does nothing.
      */
     @Override
-    public void execute() {
+    public CommandResult execute(final SetAliasCmd commandInput,
+                                 final CommandContext context) {
+        Account account = context.getRegistry().getAccount(commandInput.account());
         if (account == null) {
-            return;
+            return CommandResult.NOT_FOUND;
         }
-        aliasMap.put(alias, account);
+        context.getAliasMap().put(commandInput.alias(), account);
+        return CommandResult.EXECUTED;
     }
 }
@@ -1,26 +1,12 @@
 package org.poo.command;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import org.poo.bank.Account;
-class SetMinimumBalance implements Command {
-    private Account account;
-    private final double amount;
-    private final int timestamp;
-    private final ObjectMapper objectMapper;
-    private final ArrayNode output;
+import org.poo.bank.User;
+import org.poo.fileio.commands.SetMinimumBalanceCmd;
 
-    SetMinimumBalance(final Account account,
-                      final double amount,
-                      final int timestamp,
-                      final ObjectMapper objectMapper,
-                      final ArrayNode output) {
-        this.account = account;
-        this.amount = amount;
-        this.timestamp = timestamp;
-        this.objectMapper = objectMapper;
-        this.output = output;
-    }
+import java.util.List;
+
+class SetMinimumBalance implements Command<SetMinimumBalanceCmd> {
 
     /**
      * Executes the command to set the minimum balance for the specified account.
@@ -28,9 +14,23 @@ class SetMinimumBalance implements Command {
      * amount as the minimum balance requirement for the account
      * using setMinimumBalance(double).
      */
-    public void execute() {
-        if (account != null) {
-            account.setMinimumBalance(amount);
+    public CommandResult execute(final SetMinimumBalanceCmd commandInput,
+                                 final CommandContext context) {
+        Account account = context.getRegistry().getAccount(commandInput.account());
+        if (account == null) {
+            return CommandResult.NOT_FOUND;
         }
+        account.setMinimumBalance(commandInput.amount());
+        return CommandResult.EXECUTED;
+    }
+
+    /**
+     * The command only touches the owner of the account the minimum balance is set on.
+     *
+     * @return the owner of the account, or {@code null} if there is no such account
+     */
+    public List<User> footprint(final SetMinimumBalanceCmd commandInput,
+                                final CommandContext context) {
+        return Footprint.ofAccount(context, commandInput.account());
     }
 }
@@ -0,0 +1,395 @@
+package org.poo.command;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.poo.bank.User;
+import org.poo.fileio.commands.CommandRecord;
+import org.poo.output.DeferredValue;
+import org.poo.output.OutputSink;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executes the commands of a run on several threads, keeping the results
+ * exactly as if the commands had run one after another.
+ * <p>
+ * The commands are read in segments. Each command is planned as it is read:
+ * its {@link Command#footprint} names the users it touches, and commands that
+ * share a user are joined into the same group (with a union-find over the
+ * segment), so a group holds every command that may depend on another one.
+ * The groups of a segment have no user in common and run at the same time,
+ * each in the order of its commands; a command with no footprint (a global
+ * command such as printUsers, or one that changes the registry) ends the
+ * segment and runs alone once the segment is done.
+ * </p>
+ * <p>
+ * The results of a segment are kept per group, with the position of the
+ * command that produced them, and written in the order of the commands
+ * once every group is done.
+ * </p>
+ */
+final class ShardedExecutor {
+    /**
+     * Number of commands planned before they are run.
+     */
+    static final int SEGMENT_SIZE = 1024;
+
+    private static final int NONE = -1;
+
+    private final Client client;
+    private final ExecutorService workers;
+    private final CommandContext context;
+    private final int parallelism;
+
+    private final CommandRecord[] inputs = new CommandRecord[SEGMENT_SIZE];
+    private final List<Command<CommandRecord>> handlers = new ArrayList<>(SEGMENT_SIZE);
+    private final int[] parent = new int[SEGMENT_SIZE];
+    private final int[] next = new int[SEGMENT_SIZE];
+    private final int[] last = new int[SEGMENT_SIZE];
+    private final int[] groupSize = new int[SEGMENT_SIZE];
+    private final HashMap<User, Integer> lastCommand = new HashMap<>();
+    private int size;
+
+    /**
+     * Creates an executor for the commands of a client.
+     * The groups of a segment are spread over as many batches
+     * as the workers have threads, plus one for the thread reading the commands.
+     *
+     * @param client the client whose handlers and state run the commands
+     * @param workers the threads the groups of commands run on,
+     *                besides the thread reading the commands
+     */
+    ShardedExecutor(final Client client,
+                    final ExecutorService workers) {
+        this.client = client;
+        this.workers = workers;
+        this.context = client.getContext();
+        this.parallelism = parallelismOf(workers);
+    }
+
+    /**
+     * Counts the threads a segment can run on: the threads of the workers,
+     * and the thread reading the commands, which runs a batch too.
+     * Workers of an unknown kind are assumed to have a thread per processor.
+     *
+     * @param workers the threads the groups of commands run on
+     * @return the number of batches a segment may be split into
+     */
+    static int parallelismOf(final ExecutorService workers) {
+        if (workers instanceof ForkJoinPool pool) {
+            return pool.getParallelism() + 1;
+        }
+        if (workers instanceof ThreadPoolExecutor pool) {
+            return pool.getMaximumPoolSize() + 1;
+        }
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Executes the commands, in segments.
+     *
+     * @param commands the commands to be executed, in order
+     */
+    void run(final Iterator<CommandRecord> commands) {
+        while (commands.hasNext()) {
+            CommandRecord commandInput = commands.next();
+            Command<CommandRecord> command = client.handler(commandInput.command());
+            List<User> users = command == null ? null : command.footprint(commandInput, context);
+            if (users == null) {
+                runSegment();
+                client.executeAction(commandInput.command(), commandInput);
+                continue;
+            }
+            plan(commandInput, command, users);
+            if (size == SEGMENT_SIZE) {
+                runSegment();
+            }
+        }
+        runSegment();
+    }
+
+    /**
+     * Adds a command to the segment, joining its group with the groups
+     * of the previous commands touching the same users.
+     *
+     * @param commandInput the input data of the command
+     * @param command the handler of the command
+     * @param users the footprint of the command
+     */
+    private void plan(final CommandRecord commandInput,
+                      final Command<CommandRecord> command,
+                      final List<User> users) {
+        int index = size++;
+        inputs[index] = commandInput;
+        handlers.add(command);
+        parent[index] = index;
+        for (User user : users) {
+            Integer previous = lastCommand.put(user, index);
+            if (previous != null) {
+                union(index, previous);
+            }
+        }
+    }
+
+    /**
+     * Finds the first command of the group of a command, compressing the path to it.
+     *
+     * @param index the position of the command in the segment
+     * @return the position of the first command of its group
+     */
+    private int find(final int index) {
+        int root = index;
+        while (parent[root] != root) {
+            root = parent[root];
+        }
+        int i = index;
+        while (parent[i] != root) {
+            int up = parent[i];
+            parent[i] = root;
+            i = up;
+        }
+        return root;
+    }
+
+    /**
+     * Joins the groups of two commands; the earlier first command becomes the root.
+     *
+     * @param first the position of a command
+     * @param second the position of another command
+     */
+    private void union(final int first,
+                       final int second) {
+        int a = find(first);
+        int b = find(second);
+        if (a != b) {
+            parent[Math.max(a, b)] = Math.min(a, b);
+        }
+    }
+
+    /**
+     * Runs the commands of the segment and writes their results in order.
+     * A segment that forms a single group runs on this thread,
+     * writing its results directly.
+     */
+    private void runSegment() {
+        if (size == 0) {
+            return;
+        }
+        List<Integer> groups = linkGroups();
+        try {
+            if (groups.size() == 1 || parallelism == 1) {
+                for (int i = 0; i < size; i++) {
+                    client.execute(handlers.get(i), inputs[i], context);
+                }
+            } else {
+                runGroups(groups);
+            }
+        } finally {
+            Arrays.fill(inputs, 0, size, null);
+            handlers.clear();
+            lastCommand.clear();
+            size = 0;
+        }
+    }
+
+    /**
+     * Chains the commands of each group in order.
+     *
+     * @return the first command of every group, in order
+     */
+    private List<Integer> linkGroups() {
+        List<Integer> groups = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            int root = find(i);
+            next[i] = NONE;
+            if (root == i) {
+                groups.add(i);
+                groupSize[i] = 0;
+            } else {
+                next[last[root]] = i;
+            }
+            last[root] = i;
+            groupSize[root]++;
+        }
+        return groups;
+    }
+
+    /**
+     * Spreads the groups over one batch per thread, largest groups first,
+     * runs the first batch on this thread and the others on the workers,
+     * then writes the results of the commands in order.
+     *
+     * @param groups the first command of every group
+     */
+    private void runGroups(final List<Integer> groups) {
+        groups.sort((a, b) -> Integer.compare(groupSize[b], groupSize[a]));
+        Batch[] batches = new Batch[Math.min(parallelism, groups.size())];
+        for (int i = 0; i < batches.length; i++) {
+            batches[i] = new Batch(context.getObjectMapper());
+        }
+        for (int group : groups) {
+            Batch lightest = batches[0];
+            for (Batch batch : batches) {
+                if (batch.load < lightest.load) {
+                    lightest = batch;
+                }
+            }
+            lightest.groups.add(group);
+            lightest.load += groupSize[group];
+        }
+
+        List<Future<?>> running = new ArrayList<>(batches.length - 1);
+        for (int i = 1; i < batches.length; i++) {
+            running.add(workers.submit(batches[i]));
+        }
+        batches[0].run();
+        for (Future<?> batch : running) {
+            await(batch);
+        }
+        write(batches);
+    }
+
+    /**
+     * Waits for a batch to end, even if this thread is interrupted,
+     * since the commands of the segment change the bank while they run.
+     *
+     * @param batch the running batch
+     */
+    private static void await(final Future<?> batch) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    batch.get();
+                    return;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Writes the results of the batches in the order of their commands.
+     * If a command failed, only the results of the commands before it
+     * are written, and its failure is rethrown, as in a serial run.
+     *
+     * @param batches the batches of the segment, all done
+     */
+    private void write(final Batch[] batches) {
+        int failedAt = size;
+        Throwable failure = null;
+        int[] start = new int[size + 1];
+        for (Batch batch : batches) {
+            if (batch.failedAt < failedAt) {
+                failedAt = batch.failedAt;
+                failure = batch.failure;
+            }
+            for (int i = 0; i < batch.results.size(); i++) {
+                start[batch.positions[i] + 1]++;
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            start[i + 1] += start[i];
+        }
+        JsonNode[] ordered = new JsonNode[start[size]];
+        for (Batch batch : batches) {
+            for (int i = 0; i < batch.results.size(); i++) {
+                ordered[start[batch.positions[i]]++] = batch.results.get(i);
+            }
+        }
+        OutputSink output = context.getOutput();
+        int written = failedAt == 0 ? 0 : start[failedAt - 1];
+        for (int i = 0; i < written; i++) {
+            output.add(ordered[i]);
+        }
+        if (failure instanceof RuntimeException e) {
+            throw e;
+        }
+        if (failure instanceof Error e) {
+            throw e;
+        }
+    }
+
+    /**
+     * The groups run by one thread, and the results of their commands.
+     * A batch is its own {@link OutputSink}: results are captured as they are
+     * added, since other commands of the group may change the bank before
+     * they are written, and tagged with the position of their command.
+     */
+    private final class Batch implements OutputSink, Runnable {
+        private final List<Integer> groups = new ArrayList<>();
+        private final List<JsonNode> results = new ArrayList<>();
+        private final ObjectMapper objectMapper;
+        private int[] positions = new int[SEGMENT_SIZE];
+        private int load;
+        private int current;
+        private int failedAt = Integer.MAX_VALUE;
+        private Throwable failure;
+
+        Batch(final ObjectMapper objectMapper) {
+            this.objectMapper = objectMapper;
+        }
+
+        /**
+         * Runs the commands of every group of the batch, each group in order.
+         * A failed command stops its group, but not the other groups,
+         * whose earlier commands still have to be written.
+         */
+        @Override
+        public void run() {
+            CommandContext batchContext = new CommandContext(context.getBank(),
+                    objectMapper, this);
+            for (int group : groups) {
+                for (int i = group; i != NONE; i = next[i]) {
+                    current = i;
+                    try {
+                        client.execute(handlers.get(i), inputs[i], batchContext);
+                    } catch (RuntimeException | Error e) {
+                        if (i < failedAt) {
+                            failedAt = i;
+                            failure = e;
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Keeps the result of the command being run.
+         *
+         * @param result the JSON result of the command
+         */
+        @Override
+        public void add(final JsonNode result) {
+            if (results.size() == positions.length) {
+                positions = Arrays.copyOf(positions, positions.length * 2);
+            }
+            positions[results.size()] = current;
+            results.add(DeferredValue.captureAll(result, objectMapper));
+        }
+
+        /**
+         * Nothing to release: the results are written by the executor.
+         */
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -6,31 +6,13 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.poo.bank.Account;
 import org.poo.bank.CardPayment;
 import org.poo.bank.ClassicAccount;
+import org.poo.bank.User;
+import org.poo.fileio.commands.SpendingsReportCmd;
 
+import java.util.List;
 import java.util.TreeMap;
 
-class SpendingsReport implements Command {
-    private Account account;
-    private int startTimestamp;
-    private int endTimestamp;
-    private int timestamp;
-    private ObjectMapper objectMapper;
-    private ArrayNode output;
-
-
-    SpendingsReport(final Account account,
-                    final int startTimestamp,
-                    final int endTimestamp,
-                    final int timestamp,
-                    final ObjectMapper objectMapper,
-                    final ArrayNode arrayNode) {
-        this.account = account;
-        this.startTimestamp = startTimestamp;
-        this.endTimestamp = endTimestamp;
-        this.timestamp = timestamp;
-        this.objectMapper = objectMapper;
-        this.output = arrayNode;
-    }
+class SpendingsReport implements Command<SpendingsReportCmd> {
 
     /**
      * Executes the spending report command for
@@ -48,7 +30,13 @@ class SpendingsReport implements Command {
      * an error is returned stating that this report is not supported
      * for savings accounts.
      */
-    public void execute() {
+    public CommandResult execute(final SpendingsReportCmd commandInput,
+                                 final CommandContext context) {
+        Account account = context.getRegistry().getAccount(commandInput.account());
+        int startTimestamp = commandInput.startTimestamp();
+        int endTimestamp = commandInput.endTimestamp();
+        int timestamp = commandInput.timestamp();
+        ObjectMapper objectMapper = context.getObjectMapper();
         TreeMap<String, Double> totalMap = new TreeMap<>();
         if (account == null) {
             ObjectNode outputNode = objectMapper.createObjectNode();
@@ -58,8 +46,8 @@ class SpendingsReport implements Command {
             errorNode.put("timestamp", timestamp);
             outputNode.set("output", errorNode);
             outputNode.put("timestamp", timestamp);
-            output.add(outputNode);
-            return;
+            context.getOutput().add(outputNode);
+            return CommandResult.NOT_FOUND;
         }
         if (account.getType().equals("savings")) {
             ObjectNode outputNode = objectMapper.createObjectNode();
@@ -70,15 +58,15 @@ class SpendingsReport implements Command {
                             + "supported for a saving account");
             outputNode.set("output", errorNode);
             outputNode.put("timestamp", timestamp);
-            output.add(outputNode);
-            return;
+            context.getOutput().add(outputNode);
+            return CommandResult.REJECTED;
         }
         ObjectNode outputNode = objectMapper.createObjectNode();
         outputNode.put("command", "spendingsReport");
         ObjectNode reportNode = objectMapper.createObjectNode();
         reportNode.put("IBAN", account.getIban());
         reportNode.put("balance", account.getBalance());
-        reportNode.put("currency", account.getCurrency());
+        reportNode.put("currency", account.getCurrency().getCode());
         ArrayNode transactions = objectMapper.createArrayNode();
         for (CardPayment transaction
                 : ((ClassicAccount) account).getSpendingsReport()) {
@@ -110,6 +98,17 @@ class SpendingsReport implements Command {
         reportNode.set("commerciants", commerciants);
         outputNode.set("output", reportNode);
         outputNode.put("timestamp", timestamp);
-        output.add(outputNode);
+        context.getOutput().add(outputNode);
+        return CommandResult.EXECUTED;
+    }
+
+    /**
+     * The command only touches the owner of the account the report is made of.
+     *
+     * @return the owner of the account, or {@code null} if there is no such account
+     */
+    public List<User> footprint(final SpendingsReportCmd commandInput,
+                                final CommandContext context) {
+        return Footprint.ofAccount(context, commandInput.account());
     }
 }
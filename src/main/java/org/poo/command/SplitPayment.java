@@ -1,49 +1,16 @@
 package org.poo.command;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import org.poo.bank.Account;
 import org.poo.bank.SplitPaymentTransaction;
-import org.poo.bank.PendingPayment;
 import org.poo.bank.User;
+import org.poo.fileio.commands.SplitPaymentCmd;
+import org.poo.graph.Currency;
 import org.poo.graph.CurrencyGraph;
-import org.poo.graph.Node;
 
 import java.util.ArrayList;
+import java.util.List;
 
-class SplitPayment implements Command {
-    private ArrayList<User> users;
-    private ArrayList<Account> accounts;
-    private double amount;
-    private String currency;
-    private int timestamp;
-    private ArrayList<Double> amounts;
-    private String type;
-    private CurrencyGraph graph;
-    private ObjectMapper objectMapper;
-    private ArrayNode output;
-
-    SplitPayment(final ArrayList<User> users,
-                 final ArrayList<Account> accounts,
-                 final double amount,
-                 final String type,
-                 final String currency,
-                 final int timestamp,
-                 final ArrayList<Double> amounts,
-                 final CurrencyGraph graph,
-                 final ObjectMapper objectMapper,
-                 final ArrayNode output) {
-        this.users = users;
-        this.accounts = accounts;
-        this.amounts = amounts;
-        this.amount = amount;
-        this.currency = currency;
-        this.timestamp = timestamp;
-        this.graph = graph;
-        this.objectMapper = objectMapper;
-        this.output = output;
-        this.type = type;
-    }
+class SplitPayment implements Command<SplitPaymentCmd> {
 
     /**
      * Command implementation for performing a split payment among multiple accounts.
@@ -59,7 +26,17 @@ class SplitPayment implements Command {
      * is created for each account involved in the split.
      * </p>
      */
-    public void execute() {
+    public CommandResult execute(final SplitPaymentCmd commandInput,
+                                 final CommandContext context) {
+        ArrayList<Account> accounts = new ArrayList<>(commandInput.accounts().length);
+        for (String iban: commandInput.accounts()) {
+            accounts.add(context.getRegistry().getAccount(iban));
+        }
+        double amount = commandInput.amount();
+        String currency = commandInput.currency();
+        Currency paymentCurrency = Currency.of(currency);
+        int timestamp = commandInput.timestamp();
+        CurrencyGraph graph = context.getCurrencyGraph(commandInput.timestamp());
         double[] amountsExchanged = new double[accounts.size()];
         ArrayList<String> involvedAccounts = new ArrayList<>();
         String errorMessage = null;
@@ -67,10 +44,10 @@ class SplitPayment implements Command {
         for (int i = accounts.size() - 1; i >= 0; i--) {
             Account account = accounts.get(i);
             if (account == null) {
-                return;
+                return CommandResult.NOT_FOUND;
             }
-            amountsExchanged[i] = graph.exchange(new Node(currency, 1),
-                    new Node(account.getCurrency(), 1),
+            amountsExchanged[i] = graph.exchange(paymentCurrency,
+                    account.getCurrency(),
                     amount / accounts.size());
             if (account.getBalance() < amountsExchanged[i]) {
                 errorMessage = "Account "
@@ -97,7 +74,7 @@ class SplitPayment implements Command {
                 account.getUserTransactions().add(err);
                 account.getTransactionHistory().add(err);
             }
-            return;
+            return CommandResult.REJECTED;
         }
         for (int i = 0; i < accounts.size(); i++) {
             accounts.get(i).splitPay(amountsExchanged[i]);
@@ -112,6 +89,24 @@ class SplitPayment implements Command {
                     .getTransactionHistory()
                     .add(transaction);
         }
+        return CommandResult.EXECUTED;
     }
-}
 
+    /**
+     * The command touches the owners of every account taking part in the payment.
+     *
+     * @return the owners of the accounts, or {@code null} if one can't be found
+     */
+    public List<User> footprint(final SplitPaymentCmd commandInput,
+                                final CommandContext context) {
+        List<User> users = new ArrayList<>(commandInput.accounts().length);
+        for (String iban: commandInput.accounts()) {
+            User owner = context.getRegistry().getOwner(iban);
+            if (owner == null) {
+                return null;
+            }
+            users.add(owner);
+        }
+        return users;
+    }
+}
@@ -0,0 +1,130 @@
+package org.poo.command;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import org.poo.output.DeferredValue;
+import org.poo.output.JsonFragment;
+
+import java.io.IOException;
+
+/**
+ * A list of bank objects placed in a command result, which streams every
+ * element straight to the generator when the result is written,
+ * instead of copying its fields into a tree of nodes.
+ * The elements are captured when the list is created, so elements added
+ * later don't show up in the result; the elements themselves are read
+ * when the result is written.
+ *
+ * @param <T> the type of the elements
+ */
+class StreamedList<T> extends JsonSerializable.Base implements DeferredValue {
+    private final T[] elements;
+    private final ElementWriter<T> writer;
+    private final ElementCapture<T> capture;
+
+    /**
+     * Writes one element of a list to a generator.
+     *
+     * @param <T> the type of the elements
+     */
+    @FunctionalInterface
+    interface ElementWriter<T> {
+        /**
+         * Writes the element.
+         *
+         * @param element the element to write
+         * @param generator the generator the element is written to
+         * @throws IOException if the element cannot be written
+         */
+        void write(T element, JsonGenerator generator) throws IOException;
+    }
+
+    /**
+     * Captures one element of a list as it is now.
+     *
+     * @param <T> the type of the elements
+     */
+    @FunctionalInterface
+    interface ElementCapture<T> {
+        /**
+         * Captures the element.
+         *
+         * @param element the element to capture
+         * @param objectMapper the mapper used to serialize the element
+         * @return the JSON of the element, which doesn't change when the element does
+         * @throws IOException if the element cannot be captured
+         */
+        JsonFragment capture(T element, ObjectMapper objectMapper) throws IOException;
+    }
+
+    /**
+     * Creates the list of a command result, whose elements never change
+     * once listed (as recorded transactions), so they can be read at any later time.
+     *
+     * @param elements the elements, in output order
+     * @param writer the writer of each element
+     */
+    StreamedList(final T[] elements,
+                 final ElementWriter<T> writer) {
+        this(elements, writer, null);
+    }
+
+    /**
+     * Creates the list of a command result, whose elements may change
+     * after the command.
+     *
+     * @param elements the elements, in output order
+     * @param writer the writer of each element
+     * @param capture the capture of each element, or {@code null}
+     *                if the elements never change
+     */
+    StreamedList(final T[] elements,
+                 final ElementWriter<T> writer,
+                 final ElementCapture<T> capture) {
+        this.elements = elements;
+        this.writer = writer;
+        this.capture = capture;
+    }
+
+    /**
+     * Captures the list: a list of elements that never change is kept as is,
+     * any other list is replaced by the captures of its elements.
+     */
+    @Override
+    public Object capture(final ObjectMapper objectMapper) throws IOException {
+        if (capture == null) {
+            return this;
+        }
+        JsonFragment[] fragments = new JsonFragment[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            fragments[i] = capture.capture(elements[i], objectMapper);
+        }
+        return new StreamedList<>(fragments, JsonFragment::writeTo);
+    }
+
+    /**
+     * Writes the elements as a JSON array.
+     */
+    @Override
+    public void serialize(final JsonGenerator generator,
+                          final SerializerProvider provider) throws IOException {
+        generator.writeStartArray();
+        for (T element : elements) {
+            writer.write(element, generator);
+        }
+        generator.writeEndArray();
+    }
+
+    /**
+     * The list carries no type information, so it is written as is.
+     */
+    @Override
+    public void serializeWithType(final JsonGenerator generator,
+                                  final SerializerProvider provider,
+                                  final TypeSerializer typeSerializer) throws IOException {
+        serialize(generator, provider);
+    }
+}
@@ -0,0 +1,22 @@
+package org.poo.command;
+
+import org.poo.fileio.commands.CommandRecord;
+
+/**
+ * Command for the names that appear in the input but have no behaviour
+ * in the bank yet (split payment answers and business accounts).
+ * It is stateless, so a single instance is shared by all of them.
+ */
+final class UnsupportedCommand implements Command<CommandRecord> {
+
+    /**
+     * Does nothing: the command is recognised but ignored.
+     *
+     * @return {@link CommandResult#UNSUPPORTED}
+     */
+    @Override
+    public CommandResult execute(final CommandRecord commandInput,
+                                 final CommandContext context) {
+        return CommandResult.UNSUPPORTED;
+    }
+}
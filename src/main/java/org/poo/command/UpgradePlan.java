@@ -1,38 +1,15 @@
 package org.poo.command;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import org.poo.bank.Account;
 import org.poo.bank.UpgradePlanTransaction;
 import org.poo.bank.User;
-import org.poo.graph.CurrencyGraph;
-import org.poo.graph.Node;
+import org.poo.fileio.commands.UpgradePlanCmd;
+import org.poo.graph.Currency;
 import org.poo.plan.ServicePlan;
 
-class UpgradePlan implements Command {
-    private User user;
-    private Account account;
-    private String type;
-    private int timestamp;
-    private CurrencyGraph graph;
-    private ObjectMapper objectMapper;
-    private ArrayNode output;
+import java.util.List;
 
-    UpgradePlan(final User user,
-                final Account account,
-                final String type,
-                final int timestamp,
-                final CurrencyGraph graph,
-                final ObjectMapper objectMapper,
-                final ArrayNode output) {
-        this.user = user;
-        this.account = account;
-        this.type = type;
-        this.graph = graph;
-        this.timestamp = timestamp;
-        this.objectMapper = objectMapper;
-        this.output = output;
-    }
+class UpgradePlan implements Command<UpgradePlanCmd> {
 
     /**
      * Executes the upgrade plan command. It checks if the account
@@ -42,34 +19,49 @@ class UpgradePlan implements Command {
      * A transaction is then created to log the upgrade.
      */
     @Override
-    public void execute() {
+    public CommandResult execute(final UpgradePlanCmd commandInput,
+                                 final CommandContext context) {
+        Account account = context.getRegistry().getAccount(commandInput.account());
         if (account == null) {
             // print the error
             System.out.println("The account doesn t exist");
-            return;
+            return CommandResult.NOT_FOUND;
         }
+        User user = account.getOwner();
+        String type = commandInput.newPlanType();
         ServicePlan newPlan = ServicePlan.createPlan(type);
         if (user.getPlan().compareTo(newPlan) > 0) {
-            return;
+            return CommandResult.REJECTED;
         }
         if (user.getPlan().compareTo(newPlan) == 0) {
-            return;
+            return CommandResult.REJECTED;
         }
-        double convertedFee = graph
-                .exchange(new Node("RON", 1),
-                new Node(account.getCurrency(), 1),
+        double convertedFee = context.getCurrencyGraph(commandInput.timestamp())
+                .exchange(Currency.RON,
+                account.getCurrency(),
                 user.getPlan().upgrade(type));
         if (convertedFee > account.getBalance()) {
-            return;
+            return CommandResult.REJECTED;
         }
         account.payUpgradeFee(convertedFee);
         user.setPlan(newPlan);
         user.upgradePlan();
         UpgradePlanTransaction transaction =
-                new UpgradePlanTransaction(timestamp,
+                new UpgradePlanTransaction(commandInput.timestamp(),
                                             account.getIban(),
                                             type);
         user.getTransactions().add(transaction);
         account.getTransactionHistory().add(transaction);
+        return CommandResult.EXECUTED;
+    }
+
+    /**
+     * The command only touches the owner of the account the upgrade fee is paid from.
+     *
+     * @return the owner of the account, or {@code null} if there is no such account
+     */
+    public List<User> footprint(final UpgradePlanCmd commandInput,
+                                final CommandContext context) {
+        return Footprint.ofAccount(context, commandInput.account());
     }
 }
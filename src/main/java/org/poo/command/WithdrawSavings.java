@@ -1,34 +1,12 @@
 package org.poo.command;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import org.poo.bank.*;
+import org.poo.fileio.commands.WithdrawSavingsCmd;
 
-class WithdrawSavings implements Command {
-    private User user;
-    private Account savingsAccount;
-    private Account account;
-    private double amount;
-    private int timestamp;
-    private ObjectMapper objectMapper;
-    private ArrayNode output;
-    private final int MINIMUM_AGE = 21;
+import java.util.List;
 
-    WithdrawSavings(final User user,
-                    final Account savingsAccount,
-                    final Account account,
-                    final double amount,
-                    final int timestamp,
-                    final ObjectMapper objectMapper,
-                    final ArrayNode output) {
-        this.user = user;
-        this.savingsAccount = savingsAccount;
-        this.account = account;
-        this.amount = amount;
-        this.timestamp = timestamp;
-        this.objectMapper = objectMapper;
-        this.output = output;
-    }
+class WithdrawSavings implements Command<WithdrawSavingsCmd> {
+    private static final int MINIMUM_AGE = 21;
 
     /**
      * Executes the withdrawal from the savings account to the classic
@@ -36,41 +14,67 @@ class WithdrawSavings implements Command {
      * account type is correct, if there are sufficient funds, and if
      * the user meets the minimum age requirement.
      * If all conditions are met, the withdrawal is processed.
+     * The classic account is the last one of the user
+     * in the currency of the savings account.
      */
     @Override
-    public void execute() {
+    public CommandResult execute(final WithdrawSavingsCmd commandInput,
+                                 final CommandContext context) {
+        Account savingsAccount = context.getRegistry().getAccount(commandInput.account());
+        User user = context.getRegistry().getOwner(commandInput.account());
+        int timestamp = commandInput.timestamp();
         if (savingsAccount == null) {
             user.getTransactions()
                     .add(new SavingsWithdrawn(timestamp,
                             "Account not found"));
-            return;
+            return CommandResult.NOT_FOUND;
         }
         if (!savingsAccount.getType().equals("savings")) {
             user.getTransactions()
                     .add(new SavingsWithdrawn(timestamp,
                             "Account is not of type savings"));
-            return;
+            return CommandResult.REJECTED;
         }
         if (savingsAccount.getBalance() <= 0) {
             user.getTransactions()
                     .add(new SavingsWithdrawn(timestamp,
                             "Insufficient funds"));
         }
+        Account account = null;
+        for (DaoObject accData : user.getAccountDao().getAll()) {
+            Account acc = (Account) accData;
+            if (acc.getType().equals("classic")
+                    && acc.getCurrency() == savingsAccount.getCurrency()) {
+                account = acc;
+            }
+        }
         if (account == null) {
             user.getTransactions()
                     .add(new SavingsWithdrawn(timestamp,
                             "You do not have a classic account."));
-            return;
+            return CommandResult.REJECTED;
         }
         if (user.getAge() < MINIMUM_AGE) {
             user.getTransactions()
                     .add(new SavingsWithdrawn(timestamp,
                             "You don't have the minimum age required."));
-            return;
+            return CommandResult.REJECTED;
         }
         ((SavingsAccount) savingsAccount)
-                .withdraw(((ClassicAccount) account), amount);
+                .withdraw(((ClassicAccount) account), commandInput.amount());
         user.getTransactions().add(new SavingsWithdrawn(timestamp,
                 "Savings withdrawal"));
+        return CommandResult.EXECUTED;
+    }
+
+    /**
+     * The command only touches the owner of the savings account,
+     * whose classic accounts receive the money.
+     *
+     * @return the owner of the account, or {@code null} if there is no such account
+     */
+    public List<User> footprint(final WithdrawSavingsCmd commandInput,
+                                final CommandContext context) {
+        return Footprint.ofAccount(context, commandInput.account());
     }
 }
@@ -0,0 +1,73 @@
+package org.poo.commerciants;
+
+import org.poo.fileio.CommerciantInput;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable index of the merchants known to the bank.
+ * It is built once from the input and looks merchants up
+ * by name, by id or by IBAN in constant time.
+ */
+public final class MerchantRegistry {
+    private final Map<String, Merchant> byName;
+    private final Map<Integer, Merchant> byId;
+    private final Map<String, Merchant> byIban;
+
+    public MerchantRegistry(final CommerciantInput[] commerciantInputs) {
+        HashMap<String, Merchant> names = new HashMap<>();
+        HashMap<Integer, Merchant> ids = new HashMap<>();
+        HashMap<String, Merchant> ibans = new HashMap<>();
+        for (CommerciantInput commerciantInput : commerciantInputs) {
+            Merchant merchant = new Merchant(commerciantInput);
+            if (merchant.getName() != null) {
+                names.put(merchant.getName(), merchant);
+            }
+            ids.put(merchant.getId(), merchant);
+            if (merchant.getIban() != null) {
+                ibans.put(merchant.getIban(), merchant);
+            }
+        }
+        byName = Map.copyOf(names);
+        byId = Map.copyOf(ids);
+        byIban = Map.copyOf(ibans);
+    }
+
+    /**
+     * Retrieves a merchant by its name.
+     * If several merchants share a name, the last one in the input wins.
+     *
+     * @param name the name of the merchant
+     * @return the merchant, or {@code null} if there is none with this name
+     */
+    public Merchant getByName(final String name) {
+        if (name == null) {
+            return null;
+        }
+        return byName.get(name);
+    }
+
+    /**
+     * Retrieves a merchant by its id.
+     *
+     * @param id the id of the merchant
+     * @return the merchant, or {@code null} if there is none with this id
+     */
+    public Merchant getById(final int id) {
+        return byId.get(id);
+    }
+
+    /**
+     * Retrieves a merchant by the IBAN it receives payments on.
+     *
+     * @param iban the IBAN of the merchant
+     * @return the merchant, or {@code null} if the IBAN doesn't belong to a merchant
+     */
+    public Merchant getByIban(final String iban) {
+        if (iban == null) {
+            return null;
+        }
+        return byIban.get(iban);
+    }
+}
@@ -0,0 +1,270 @@
+package org.poo.fileio;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.poo.fileio.commands.CommandRecord;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Binary encoding of an input file, replayed without parsing any JSON,
+ * and the conversions between it and the JSON files.
+ * <p>
+ * Every value has a fixed width: numbers are written as big-endian
+ * {@code int}s and {@code double}s, and strings as {@code int} indices
+ * into a dictionary holding each distinct string once (-1 for none).
+ * Lists are written as their size (-1 for none) followed by their elements.
+ * A log is laid out as:
+ * </p>
+ * <ol>
+ *     <li>the magic number and the offset of the trailer ({@code long});</li>
+ *     <li>the users, the exchange rates and the merchants,
+ *     each section as its size followed by its records;</li>
+ *     <li>the commands, one record after another: the name of the command,
+ *     then the fields of its {@link CommandRecord} in declaration order;</li>
+ *     <li>the trailer: the number of commands and the dictionary,
+ *     as its size followed by every string (length in bytes, then UTF-8).</li>
+ * </ol>
+ * <p>
+ * The dictionary comes last so that a log is written in a single pass
+ * over the input, however many commands it has.
+ * </p>
+ */
+public final class CommandLog {
+    /**
+     * Extension of the files holding a command log.
+     */
+    public static final String EXTENSION = ".bcl";
+    /**
+     * The bytes "BCL2" that start every command log.
+     */
+    static final int MAGIC = 0x42434C32;
+    /**
+     * Size of the magic number and the trailer offset.
+     */
+    static final int PROLOGUE_SIZE = Integer.BYTES + Long.BYTES;
+    /**
+     * Index written in place of a missing string, and size of a missing list.
+     */
+    static final int NONE = -1;
+
+    private final DataOutputStream out;
+    private final HashMap<String, Integer> indices = new HashMap<>();
+    private final List<String> dictionary = new ArrayList<>();
+
+    private CommandLog(final DataOutputStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Writes the users, exchange rates, merchants and commands
+     * of an input to a command log.
+     *
+     * @param source the input, read to its end
+     * @param file the log file, created or truncated
+     * @throws IOException if the input cannot be read or the log cannot be written
+     */
+    public static void write(final CommandSource source,
+                             final Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel)));
+            out.writeInt(MAGIC);
+            out.writeLong(0);
+            CommandLog log = new CommandLog(out);
+            log.writeHeader(source.getHeader());
+            int commands = 0;
+            while (source.hasNext()) {
+                log.writeCommand(source.next());
+                commands++;
+            }
+            out.flush();
+            long trailer = channel.position();
+            out.writeInt(commands);
+            log.writeDictionary();
+            out.flush();
+            ByteBuffer offset = ByteBuffer.allocate(Long.BYTES).putLong(0, trailer);
+            channel.write(offset, Integer.BYTES);
+        }
+    }
+
+    /**
+     * Writes an input to a JSON file, laid out as the input files
+     * (users, commerciants, exchangeRates and commands).
+     * Converting a command log back this way gives an input that runs
+     * exactly as the original, though missing fields are written as nulls.
+     *
+     * @param source the input, read to its end
+     * @param objectMapper the mapper used to write the records
+     * @param file the JSON file, created or truncated
+     * @throws IOException if the input cannot be read or the file cannot be written
+     */
+    public static void writeJson(final CommandSource source,
+                                 final ObjectMapper objectMapper,
+                                 final File file) throws IOException {
+        ObjectInput header = source.getHeader();
+        try (JsonGenerator generator = objectMapper.getFactory()
+                .createGenerator(file, JsonEncoding.UTF8)) {
+            generator.useDefaultPrettyPrinter();
+            generator.writeStartObject();
+            generator.writeFieldName("users");
+            objectMapper.writeValue(generator, header.getUsers());
+            generator.writeFieldName("commerciants");
+            objectMapper.writeValue(generator, header.getCommerciants());
+            generator.writeFieldName("exchangeRates");
+            objectMapper.writeValue(generator, header.getExchangeRates());
+            generator.writeArrayFieldStart("commands");
+            while (source.hasNext()) {
+                objectMapper.writeValue(generator, source.next());
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Writes the sections of the input other than the commands.
+     *
+     * @param header the users, exchange rates and merchants
+     * @throws IOException if the log cannot be written
+     */
+    private void writeHeader(final ObjectInput header) throws IOException {
+        UserInput[] users = header.getUsers();
+        out.writeInt(users.length);
+        for (UserInput user : users) {
+            writeString(user.getFirstName());
+            writeString(user.getLastName());
+            writeString(user.getEmail());
+            writeString(user.getBirthDate());
+            writeString(user.getOccupation());
+        }
+        ExchangeInput[] rates = header.getExchangeRates();
+        out.writeInt(rates.length);
+        for (ExchangeInput rate : rates) {
+            writeString(rate.getFrom());
+            writeString(rate.getTo());
+            out.writeDouble(rate.getRate());
+            out.writeInt(rate.getTimestamp());
+        }
+        CommerciantInput[] commerciants = header.getCommerciants();
+        out.writeInt(commerciants.length);
+        for (CommerciantInput commerciant : commerciants) {
+            writeString(commerciant.getCommerciant());
+            out.writeInt(commerciant.getId());
+            writeString(commerciant.getAccount());
+            writeString(commerciant.getType());
+            writeString(commerciant.getCashbackStrategy());
+        }
+    }
+
+    /**
+     * Writes the record of a command: its name, then its fields
+     * in declaration order, as read by the {@link CommandLogReader}.
+     *
+     * @param command the command
+     * @throws IOException if the log cannot be written
+     */
+    private void writeCommand(final CommandRecord command) throws IOException {
+        writeString(command.command());
+        RecordLayout layout = RecordLayout.of(command);
+        Class<?>[] types = layout.types();
+        for (int i = 0; i < types.length; i++) {
+            Object value = layout.get(command, i);
+            if (types[i] == int.class) {
+                out.writeInt((Integer) value);
+            } else if (types[i] == double.class) {
+                out.writeDouble((Double) value);
+            } else if (types[i] == String.class) {
+                writeString((String) value);
+            } else if (types[i] == String[].class) {
+                writeStrings((String[]) value);
+            } else if (types[i] == double[].class) {
+                writeDoubles((double[]) value);
+            } else {
+                throw new IllegalStateException("No encoding for " + types[i]);
+            }
+        }
+    }
+
+    /**
+     * Writes a list of strings.
+     *
+     * @param values the strings, or {@code null}
+     * @throws IOException if the log cannot be written
+     */
+    private void writeStrings(final String[] values) throws IOException {
+        if (values == null) {
+            out.writeInt(NONE);
+            return;
+        }
+        out.writeInt(values.length);
+        for (String value : values) {
+            writeString(value);
+        }
+    }
+
+    /**
+     * Writes a list of numbers.
+     *
+     * @param values the numbers, or {@code null}
+     * @throws IOException if the log cannot be written
+     */
+    private void writeDoubles(final double[] values) throws IOException {
+        if (values == null) {
+            out.writeInt(NONE);
+            return;
+        }
+        out.writeInt(values.length);
+        for (double value : values) {
+            out.writeDouble(value);
+        }
+    }
+
+    /**
+     * Writes the dictionary index of a string, adding the string to it if it is new.
+     *
+     * @param value the string, or {@code null}
+     * @throws IOException if the log cannot be written
+     */
+    private void writeString(final String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NONE);
+            return;
+        }
+        Integer index = indices.get(value);
+        if (index == null) {
+            index = dictionary.size();
+            indices.put(value, index);
+            dictionary.add(value);
+        }
+        out.writeInt(index);
+    }
+
+    /**
+     * Writes every string of the dictionary, in index order.
+     *
+     * @throws IOException if the log cannot be written
+     */
+    private void writeDictionary() throws IOException {
+        out.writeInt(dictionary.size());
+        for (String value : dictionary) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package org.poo.fileio;
+
+import org.poo.fileio.commands.CommandRecord;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads a {@link CommandLog} through a memory-mapped buffer.
+ * <p>
+ * The dictionary is decoded once when the log is opened, so every occurrence
+ * of a string (an email, an IBAN, a card number...) is the same object, and a
+ * command is read by copying its fixed-width fields out of the mapping.
+ * The file is mapped rather than read into the heap, so only the pages being
+ * replayed need to be in memory; a log is limited to 2 GB.
+ * </p>
+ */
+public final class CommandLogReader implements CommandSource {
+    private final MappedByteBuffer buffer;
+    private final String[] dictionary;
+    private final ObjectInput header;
+    private int remaining;
+
+    private CommandLogReader(final MappedByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.getInt() != CommandLog.MAGIC) {
+            throw new IOException("The file is not a command log");
+        }
+        long trailer = buffer.getLong();
+        if (trailer < CommandLog.PROLOGUE_SIZE || trailer > buffer.limit()) {
+            throw new IOException("The command log is incomplete");
+        }
+        buffer.position((int) trailer);
+        remaining = buffer.getInt();
+        dictionary = new String[readSize(Integer.BYTES)];
+        for (int i = 0; i < dictionary.length; i++) {
+            byte[] bytes = new byte[readSize(Byte.BYTES)];
+            buffer.get(bytes);
+            dictionary[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        buffer.position(CommandLog.PROLOGUE_SIZE);
+        header = readHeader();
+    }
+
+    /**
+     * Maps a command log and reads every section except the commands.
+     *
+     * @param file the log file
+     * @return the reader, positioned on the first command
+     * @throws IOException if the file cannot be mapped or is not a command log
+     */
+    public static CommandLogReader open(final Path file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("The command log is larger than 2 GB");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        try {
+            return new CommandLogReader(buffer);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("The command log is incomplete", e);
+        }
+    }
+
+    /**
+     * Reads the size of a section, checking that the rest of the log can hold it,
+     * so that a damaged size doesn't allocate an array the log cannot fill.
+     *
+     * @param elementBytes the smallest number of bytes taken by an element
+     * @return the number of elements of the section
+     * @throws IOException if the size doesn't fit in the log
+     */
+    private int readSize(final int elementBytes) throws IOException {
+        int size = buffer.getInt();
+        if (size < 0 || size > buffer.remaining() / elementBytes) {
+            throw new IOException("The command log is incomplete");
+        }
+        return size;
+    }
+
+    /**
+     * Reads the users, exchange rates and merchants.
+     *
+     * @return the sections of the log other than the commands
+     * @throws IOException if a section doesn't fit in the log
+     */
+    private ObjectInput readHeader() throws IOException {
+        ObjectInput input = new ObjectInput();
+        UserInput[] users = new UserInput[readSize(Integer.BYTES)];
+        for (int i = 0; i < users.length; i++) {
+            UserInput user = new UserInput();
+            user.setFirstName(readString());
+            user.setLastName(readString());
+            user.setEmail(readString());
+            user.setBirthDate(readString());
+            user.setOccupation(readString());
+            users[i] = user;
+        }
+        input.setUsers(users);
+        ExchangeInput[] rates = new ExchangeInput[readSize(Integer.BYTES)];
+        for (int i = 0; i < rates.length; i++) {
+            ExchangeInput rate = new ExchangeInput();
+            rate.setFrom(readString());
+            rate.setTo(readString());
+            rate.setRate(buffer.getDouble());
+            rate.setTimestamp(buffer.getInt());
+            rates[i] = rate;
+        }
+        input.setExchangeRates(rates);
+        CommerciantInput[] commerciants = new CommerciantInput[readSize(Integer.BYTES)];
+        for (int i = 0; i < commerciants.length; i++) {
+            CommerciantInput commerciant = new CommerciantInput();
+            commerciant.setCommerciant(readString());
+            commerciant.setId(buffer.getInt());
+            commerciant.setAccount(readString());
+            commerciant.setType(readString());
+            commerciant.setCashbackStrategy(readString());
+            commerciants[i] = commerciant;
+        }
+        input.setCommerciants(commerciants);
+        return input;
+    }
+
+    /**
+     * Retrieves the sections of the log other than the commands.
+     *
+     * @return the users, exchange rates and merchants,
+     *         with no commands (they are read through this reader)
+     */
+    @Override
+    public ObjectInput getHeader() {
+        return header;
+    }
+
+    /**
+     * Checks whether another command follows.
+     *
+     * @return {@code true} if the log has more commands
+     */
+    @Override
+    public boolean hasNext() {
+        return remaining > 0;
+    }
+
+    /**
+     * Reads the next command.
+     *
+     * @return the next command of the log
+     * @throws NoSuchElementException if there are no more commands
+     * @throws UncheckedIOException if the command doesn't fit in the log
+     */
+    @Override
+    public CommandRecord next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        remaining--;
+        try {
+            return readCommand();
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new UncheckedIOException(new IOException("The command log is incomplete", e));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads the record of a command, as written by {@link CommandLog}.
+     *
+     * @return the command
+     * @throws IOException if a list of the command doesn't fit in the log
+     */
+    private CommandRecord readCommand() throws IOException {
+        RecordLayout layout = RecordLayout.forName(readString());
+        Class<?>[] types = layout.types();
+        Object[] values = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            if (types[i] == int.class) {
+                values[i] = buffer.getInt();
+            } else if (types[i] == double.class) {
+                values[i] = buffer.getDouble();
+            } else if (types[i] == String.class) {
+                values[i] = readString();
+            } else if (types[i] == String[].class) {
+                values[i] = readStrings();
+            } else {
+                values[i] = readDoubles();
+            }
+        }
+        return layout.create(values);
+    }
+
+    /**
+     * Reads a list of strings.
+     *
+     * @return the strings, or {@code null} if there are none
+     * @throws IOException if the list doesn't fit in the log
+     */
+    private String[] readStrings() throws IOException {
+        if (readNone()) {
+            return null;
+        }
+        String[] values = new String[readSize(Integer.BYTES)];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = readString();
+        }
+        return values;
+    }
+
+    /**
+     * Reads a list of numbers.
+     *
+     * @return the numbers, or {@code null} if there are none
+     * @throws IOException if the list doesn't fit in the log
+     */
+    private double[] readDoubles() throws IOException {
+        if (readNone()) {
+            return null;
+        }
+        double[] values = new double[readSize(Double.BYTES)];
+        buffer.asDoubleBuffer().get(values);
+        buffer.position(buffer.position() + values.length * Double.BYTES);
+        return values;
+    }
+
+    /**
+     * Checks whether a list is missing, without moving past its size
+     * unless it is.
+     *
+     * @return {@code true} if the list is missing and its size was skipped
+     */
+    private boolean readNone() {
+        if (buffer.getInt(buffer.position()) != CommandLog.NONE) {
+            return false;
+        }
+        buffer.position(buffer.position() + Integer.BYTES);
+        return true;
+    }
+
+    /**
+     * Reads a dictionary index and looks up its string.
+     *
+     * @return the string, or {@code null} if there is none
+     */
+    private String readString() {
+        int index = buffer.getInt();
+        if (index == CommandLog.NONE) {
+            return null;
+        }
+        return dictionary[index];
+    }
+
+    /**
+     * Nothing to release: the file is closed once mapped,
+     * and the mapping is released with the buffer.
+     */
+    @Override
+    public void close() {
+    }
+}
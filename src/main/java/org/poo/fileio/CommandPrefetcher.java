@@ -0,0 +1,163 @@
+package org.poo.fileio;
+
+import org.poo.fileio.commands.CommandRecord;
+import org.poo.fileio.commands.OtherCmd;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Reads the commands of a {@link CommandSource} ahead on its own thread,
+ * so that parsing the input overlaps with executing the commands.
+ * <p>
+ * The parsed commands wait in a bounded queue: when the commands are executed
+ * slower than they are parsed, the parser waits for room, so the input is never
+ * read further ahead than the capacity of the queue. The commands are handed
+ * over in the order of the input.
+ * </p>
+ */
+public final class CommandPrefetcher implements CommandSource {
+    /**
+     * Number of parsed commands that may wait to be executed.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final CommandRecord END = new OtherCmd(null, 0);
+
+    private final CommandSource source;
+    private final BlockingQueue<CommandRecord> queue;
+    private final Thread parser;
+    private volatile Throwable failure;
+    private CommandRecord next;
+
+    /**
+     * Starts reading the commands of the given source, with the default capacity.
+     *
+     * @param source the source of the input, closed with the prefetcher
+     */
+    public CommandPrefetcher(final CommandSource source) {
+        this(source, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Starts reading the commands of the given source.
+     *
+     * @param source the source of the input, closed with the prefetcher
+     * @param capacity the number of parsed commands that may wait to be executed
+     */
+    public CommandPrefetcher(final CommandSource source,
+                             final int capacity) {
+        this.source = source;
+        queue = new ArrayBlockingQueue<>(capacity);
+        parser = new Thread(this::parse, "bank-input");
+        parser.setDaemon(true);
+        parser.start();
+    }
+
+    /**
+     * Parses the commands until the end of the input or the first failure.
+     * Whatever the failure, even an {@link Error}, it is kept for the consumer
+     * and the end of the input is still handed over, so the consumer never
+     * waits for a command that won't come.
+     */
+    private void parse() {
+        try {
+            try {
+                while (source.hasNext()) {
+                    queue.put(source.next());
+                }
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Throwable e) {
+                failure = e;
+            }
+            queue.put(END);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Retrieves the sections of the input other than the commands.
+     *
+     * @return the users, exchange rates and merchants of the input
+     */
+    @Override
+    public ObjectInput getHeader() {
+        return source.getHeader();
+    }
+
+    /**
+     * Checks whether another command follows, waiting for it to be parsed.
+     *
+     * @return {@code true} if the input has more commands
+     * @throws UncheckedIOException if the input cannot be read,
+     *                              or if the thread is interrupted while waiting
+     * @throws Error if the parser failed with an error, rethrown as is
+     */
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new UncheckedIOException(new InterruptedIOException(
+                        "Interrupted while waiting for the input"));
+            }
+        }
+        if (next == END) {
+            Throwable current = failure;
+            if (current instanceof RuntimeException e) {
+                throw e;
+            }
+            if (current instanceof Error e) {
+                throw e;
+            }
+            if (current != null) {
+                throw new IllegalStateException(current);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Retrieves the next command of the input.
+     *
+     * @return the next command
+     * @throws NoSuchElementException if there are no more commands
+     */
+    @Override
+    public CommandRecord next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        CommandRecord command = next;
+        next = null;
+        return command;
+    }
+
+    /**
+     * Stops the parser and closes the input.
+     *
+     * @throws IOException if the input cannot be closed,
+     *                     or if the thread is interrupted while waiting for the parser
+     */
+    @Override
+    public void close() throws IOException {
+        parser.interrupt();
+        try {
+            parser.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while stopping the input");
+        } finally {
+            source.close();
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package org.poo.fileio;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.poo.fileio.commands.CommandRecord;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads an input file as a stream: the users, exchange rates and merchants
+ * are read first, and the commands are then parsed one at a time,
+ * as they are executed.
+ * <p>
+ * Only the command being executed is held in memory, so inputs with more
+ * commands than fit on the heap can be replayed. This holds when the commands
+ * come after the other sections, as they do in the test inputs; commands found
+ * before another section are buffered until that section is read.
+ * </p>
+ */
+public final class CommandReader implements CommandSource {
+    private static final String COMMANDS = "commands";
+
+    private final ObjectInput header;
+    private final JsonParser commands;
+    private final ObjectReader commandReader;
+    private final JsonParser source;
+    private JsonToken next;
+
+    private CommandReader(final ObjectInput header,
+                          final JsonParser commands,
+                          final ObjectReader commandReader,
+                          final JsonParser source) throws IOException {
+        this.header = header;
+        this.commands = commands;
+        this.commandReader = commandReader;
+        this.source = source;
+        if (commands != null) {
+            next = commands.nextToken();
+        } else {
+            next = JsonToken.END_ARRAY;
+        }
+    }
+
+    /**
+     * Opens an input file and reads every section except the commands.
+     *
+     * @param objectMapper the mapper used to read the sections
+     * @param file the input file
+     * @return the reader, positioned on the first command
+     * @throws IOException if the file cannot be read or is not an input object
+     */
+    public static CommandReader open(final ObjectMapper objectMapper,
+                                     final File file) throws IOException {
+        JsonParser parser = objectMapper.createParser(file);
+        try {
+            return open(objectMapper, parser);
+        } catch (IOException | RuntimeException e) {
+            parser.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads every section of the input except the commands.
+     *
+     * @param objectMapper the mapper used to read the sections
+     * @param parser the parser of the input, closed with the reader
+     * @return the reader, positioned on the first command
+     * @throws IOException if the input cannot be read or is not an input object
+     */
+    private static CommandReader open(final ObjectMapper objectMapper,
+                                      final JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("The input is not a JSON object");
+        }
+        ObjectInput header = new ObjectInput();
+        TokenBuffer buffered = null;
+        JsonParser commands = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String section = parser.currentName();
+            parser.nextToken();
+            switch (section) {
+                case "users":
+                    header.setUsers(objectMapper.readValue(parser, UserInput[].class));
+                    break;
+                case "exchangeRates":
+                    header.setExchangeRates(objectMapper.readValue(parser,
+                            ExchangeInput[].class));
+                    break;
+                case "commerciants":
+                    header.setCommerciants(objectMapper.readValue(parser,
+                            CommerciantInput[].class));
+                    break;
+                case COMMANDS:
+                    if (isComplete(header)) {
+                        commands = parser;
+                    } else {
+                        buffered = new TokenBuffer(parser);
+                        buffered.copyCurrentStructure(parser);
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+            if (commands != null) {
+                break;
+            }
+        }
+        if (commands == null && buffered != null) {
+            parser.close();
+            commands = buffered.asParser(objectMapper);
+            commands.nextToken();
+        }
+        if (commands != null && commands.currentToken() != JsonToken.START_ARRAY) {
+            throw new IOException("The commands of the input are not an array");
+        }
+        return new CommandReader(header, commands,
+                objectMapper.readerFor(CommandRecord.class), parser);
+    }
+
+    /**
+     * Checks whether every section other than the commands was read.
+     *
+     * @param header the sections read so far
+     * @return {@code true} if the users, exchange rates and merchants are known
+     */
+    private static boolean isComplete(final ObjectInput header) {
+        return header.getUsers() != null
+                && header.getExchangeRates() != null
+                && header.getCommerciants() != null;
+    }
+
+    /**
+     * Retrieves the sections of the input other than the commands.
+     *
+     * @return the users, exchange rates and merchants,
+     *         with no commands (they are read through this reader)
+     */
+    @Override
+    public ObjectInput getHeader() {
+        return header;
+    }
+
+    /**
+     * Checks whether another command follows.
+     *
+     * @return {@code true} if the input has more commands
+     */
+    @Override
+    public boolean hasNext() {
+        return next == JsonToken.START_OBJECT;
+    }
+
+    /**
+     * Parses the next command.
+     *
+     * @return the next command of the input
+     * @throws NoSuchElementException if there are no more commands
+     * @throws UncheckedIOException if the command cannot be read
+     */
+    @Override
+    public CommandRecord next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            CommandRecord command = commandReader.readValue(commands);
+            next = commands.nextToken();
+            return command;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Closes the input file.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (commands != null && commands != source) {
+            commands.close();
+        }
+        source.close();
+    }
+}
@@ -0,0 +1,40 @@
+package org.poo.fileio;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.poo.fileio.commands.CommandRecord;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * An input read as a stream: the users, exchange rates and merchants
+ * are known up front, and the commands are handed out one at a time.
+ */
+public interface CommandSource extends Iterator<CommandRecord>, Closeable {
+    /**
+     * Retrieves the sections of the input other than the commands.
+     *
+     * @return the users, exchange rates and merchants,
+     *         with no commands (they are read through the source)
+     */
+    ObjectInput getHeader();
+
+    /**
+     * Opens an input file: a binary command log if its name ends with
+     * {@value CommandLog#EXTENSION}, a JSON file otherwise.
+     *
+     * @param objectMapper the mapper used to read a JSON file
+     * @param file the input file
+     * @return the source of the commands of the file
+     * @throws IOException if the file cannot be read
+     */
+    static CommandSource open(final ObjectMapper objectMapper,
+                              final File file) throws IOException {
+        if (file.getName().endsWith(CommandLog.EXTENSION)) {
+            return CommandLogReader.open(file.toPath());
+        }
+        return CommandReader.open(objectMapper, file);
+    }
+}
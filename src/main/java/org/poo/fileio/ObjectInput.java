@@ -2,12 +2,13 @@ package org.poo.fileio;
 
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.poo.fileio.commands.CommandRecord;
 
 @Data
 @NoArgsConstructor
 public final class ObjectInput {
     private UserInput[] users;
     private ExchangeInput[] exchangeRates;
-    private CommandInput[] commands;
+    private CommandRecord[] commands;
     private CommerciantInput[] commerciants;
 }
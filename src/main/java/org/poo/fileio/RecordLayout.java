@@ -0,0 +1,125 @@
+package org.poo.fileio;
+
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import org.poo.fileio.commands.CommandRecord;
+import org.poo.fileio.commands.OtherCmd;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.RecordComponent;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The fields of a command record, in declaration order, with the handles
+ * that read them and the one that builds the record from them.
+ * The layouts are computed once per record type, from the records
+ * permitted by {@link CommandRecord}, so a command log needs no code
+ * of its own for each command.
+ */
+final class RecordLayout {
+    private static final Map<String, RecordLayout> BY_NAME = new HashMap<>();
+    private static final ClassValue<RecordLayout> BY_CLASS = new ClassValue<>() {
+        @Override
+        protected RecordLayout computeValue(final Class<?> type) {
+            return new RecordLayout(type);
+        }
+    };
+    private static final RecordLayout OTHER = BY_CLASS.get(OtherCmd.class);
+
+    static {
+        for (Class<?> type : CommandRecord.class.getPermittedSubclasses()) {
+            JsonTypeName name = type.getAnnotation(JsonTypeName.class);
+            if (name != null) {
+                BY_NAME.put(name.value(), BY_CLASS.get(type));
+            }
+        }
+    }
+
+    private final Class<?>[] types;
+    private final MethodHandle[] accessors;
+    private final MethodHandle constructor;
+
+    private RecordLayout(final Class<?> type) {
+        RecordComponent[] components = type.getRecordComponents();
+        types = new Class<?>[components.length];
+        accessors = new MethodHandle[components.length];
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        try {
+            for (int i = 0; i < components.length; i++) {
+                types[i] = components[i].getType();
+                accessors[i] = lookup.unreflect(components[i].getAccessor());
+            }
+            constructor = lookup.findConstructor(type,
+                            MethodType.methodType(void.class, types))
+                    .asSpreader(Object[].class, types.length);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot access the record " + type, e);
+        }
+    }
+
+    /**
+     * Retrieves the layout of the record a command name is decoded to.
+     *
+     * @param command the name of the command
+     * @return the layout of its record, or the one of {@link OtherCmd}
+     *         for a name with no record of its own
+     */
+    static RecordLayout forName(final String command) {
+        return BY_NAME.getOrDefault(command, OTHER);
+    }
+
+    /**
+     * Retrieves the layout of a record.
+     *
+     * @param command the record of a command
+     * @return the layout of its type
+     */
+    static RecordLayout of(final CommandRecord command) {
+        return BY_CLASS.get(command.getClass());
+    }
+
+    /**
+     * Retrieves the types of the fields, in declaration order.
+     *
+     * @return the field types; must not be modified
+     */
+    Class<?>[] types() {
+        return types;
+    }
+
+    /**
+     * Reads a field of a record.
+     *
+     * @param command the record
+     * @param index the position of the field
+     * @return the value of the field, boxed if primitive
+     */
+    Object get(final CommandRecord command,
+               final int index) {
+        try {
+            return accessors[index].invoke(command);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Builds a record from its fields.
+     *
+     * @param values the values of the fields, in declaration order
+     * @return the record
+     */
+    CommandRecord create(final Object[] values) {
+        try {
+            return (CommandRecord) constructor.invoke(values);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package org.poo.fileio.commands;
+
+import com.fasterxml.jackson.annotation.JsonTypeName;
+
+/**
+ * Input of the addAccount command, which opens an account for a user.
+ *
+ * @param email the email of the owner
+ * @param currency the currency of the account
+ * @param accountType "classic" or "savings"
+ * @param interestRate the interest rate of a savings account
+ * @param timestamp the timestamp of the command
+ */
+@JsonTypeName(AddAccountCmd.COMMAND)
+public record AddAccountCmd(String email,
+                            String currency,
+                            String accountType,
+                            double interestRate,
+                            int timestamp) implements CommandRecord {
+    /**
+     * Name of the command in the input.
+     */
+    public static final String COMMAND = "addAccount";
+
+    @Override
+    public String command() {
+        return COMMAND;
+    }
+}
@@ -0,0 +1,25 @@
+package org.poo.fileio.commands;
+
+import com.fasterxml.jackson.annotation.JsonTypeName;
+
+/**
+ * Input of the addFunds command, which deposits an amount into an account.
+ *
+ * @param account the IBAN of the account
+ * @param amount the amount, in the currency of the account
+ * @param timestamp the timestamp of the command
+ */
+@JsonTypeName(AddFundsCmd.COMMAND)
+public record AddFundsCmd(String account,
+                          double amount,
+                          int timestamp) implements CommandRecord {
+    /**
+     * Name of the command in the input.
+     */
+    public static final String COMMAND = "addFunds";
+
+    @Override
+    public String command() {
+        return COMMAND;
+    }
+}
@@ -0,0 +1,23 @@
+package org.poo.fileio.commands;
+
+import com.fasterxml.jackson.annotation.JsonTypeName;
+
+/**
+ * Input of the addInterest command, which pays the interest of a savings account.
+ *
+ * @param account the IBAN of the account
+ * @param timestamp the timestamp of the command
+ */
+@JsonTypeName(AddInterestCmd.COMMAND)
+public record AddInterestCmd(String account,
+                             int timestamp) implements CommandRecord {
+    /**
+     * Name of the command in the input.
+     */
+    public static final String COMMAND = "addInterest";
+
+    @Override
+    public String command() {
+        return COMMAND;
+    }
+}
@@ -0,0 +1,27 @@
+package org.poo.fileio.commands;
+
+import com.fasterxml.jackson.annotation.JsonTypeName;
+
+/**
+ * Input of the cashWithdrawal command, which withdraws cash with a card.
+ *
+ * @param cardNumber the number of the card
+ * @param amount the amount, in RON
+ * @param email the email of the card owner
+ * @param timestamp the timestamp of the command
+ */
+@JsonTypeName(CashWithdrawalCmd.COMMAND)
+public record CashWithdrawalCmd(String cardNumber,
+                                double amount,
+                                String email,
+                                int timestamp) implements CommandRecord {
+    /**
+     * Name of the command in the input.
+     */
+    public static final String COMMAND = "cashWithdrawal";
+
+    @Override
+    public String command() {
+        return COMMAND;
+    }
+}
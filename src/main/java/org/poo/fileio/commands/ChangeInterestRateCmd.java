@@ -0,0 +1,25 @@
+package org.poo.fileio.commands;
+
+import com.fasterxml.jackson.annotation.JsonTypeName;
+
+/**
+ * Input of the changeInterestRate command, which changes the interest rate of a savings account.
+ *
+ * @param account the IBAN of the account
+ * @param interestRate the new interest rate
+ * @param timestamp the timestamp of the command
+ */
+@JsonTypeName(ChangeInterestRateCmd.COMMAND)
+public record ChangeInterestRateCmd(String account,
+                                    double interestRate,
+                                    int timestamp) implements CommandRecord {
+    /**
+     * Name of the command in the input.
+     */
+    public static final String COMMAND = "changeInterestRate";
+
+    @Override
+    public String command() {
+        return COMMAND;
+    }
+}
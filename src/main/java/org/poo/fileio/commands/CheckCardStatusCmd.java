@@ -0,0 +1,23 @@
+package org.poo.fileio.commands;
+
+import com.fasterxml.jackson.annotation.JsonTypeName;
+
+/**
+ * Input of the checkCardStatus command, which checks whether a card has to be frozen.
+ *
+ * @param cardNumber the number of the card
+ * @param timestamp the timestamp of the command
+ */
+@JsonTypeName(CheckCardStatusCmd.COMMAND)
+public record CheckCardStatusCmd(String cardNumber,
+                                 int timestamp) implements CommandRecord {
+    /**
+     * Name of the command in the input.
+     */
+    public static final String COMMAND = "checkCardStatus";
+
+    @Override
+    public String command() {
+        return COMMAND;
+    }
+}
@@ -0,0 +1,68 @@
+package org.poo.fileio.commands;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+/**
+ * The input of a command, as an immutable record of its own type
+ * holding only the fields that command uses.
+ * <p>
+ * The type is chosen by the "command" field of the input, wherever it appears
+ * in the object; fields the command doesn't use are skipped while decoding.
+ * A name with no record of its own is decoded as an {@link OtherCmd}.
+ * </p>
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME,
+        include = JsonTypeInfo.As.EXISTING_PROPERTY,
+        property = "command",
+        visible = true,
+        defaultImpl = OtherCmd.class)
+@JsonSubTypes({
+        @JsonSubTypes.Type(PrintUsersCmd.class),
+        @JsonSubTypes.Type(CurrencyExposureCmd.class),
+        @JsonSubTypes.Type(AddAccountCmd.class),
+        @JsonSubTypes.Type(CreateCardCmd.class),
+        @JsonSubTypes.Type(CreateOneTimeCardCmd.class),
+        @JsonSubTypes.Type(AddFundsCmd.class),
+        @JsonSubTypes.Type(DeleteAccountCmd.class),
+        @JsonSubTypes.Type(DeleteCardCmd.class),
+        @JsonSubTypes.Type(SetMinimumBalanceCmd.class),
+        @JsonSubTypes.Type(PayOnlineCmd.class),
+        @JsonSubTypes.Type(SendMoneyCmd.class),
+        @JsonSubTypes.Type(SetAliasCmd.class),
+        @JsonSubTypes.Type(PrintTransactionsCmd.class),
+        @JsonSubTypes.Type(CheckCardStatusCmd.class),
+        @JsonSubTypes.Type(SplitPaymentCmd.class),
+        @JsonSubTypes.Type(ReportCmd.class),
+        @JsonSubTypes.Type(SpendingsReportCmd.class),
+        @JsonSubTypes.Type(AddInterestCmd.class),
+        @JsonSubTypes.Type(ChangeInterestRateCmd.class),
+        @JsonSubTypes.Type(WithdrawSavingsCmd.class),
+        @JsonSubTypes.Type(UpgradePlanCmd.class),
+        @JsonSubTypes.Type(CashWithdrawalCmd.class)
+})
+@JsonIgnoreProperties(ignoreUnknown = true)
+public sealed interface CommandRecord
+        permits PrintUsersCmd, CurrencyExposureCmd, AddAccountCmd, CreateCardCmd,
+        CreateOneTimeCardCmd, AddFundsCmd, DeleteAccountCmd, DeleteCardCmd,
+        SetMinimumBalanceCmd, PayOnlineCmd, SendMoneyCmd, SetAliasCmd,
+        PrintTransactionsCmd, CheckCardStatusCmd, SplitPaymentCmd, ReportCmd,
+        SpendingsReportCmd, AddInterestCmd, ChangeInterestRateCmd, WithdrawSavingsCmd,
+        UpgradePlanCmd, CashWithdrawalCmd, OtherCmd {
+    /**
+     * Retrieves the name of the command in the input.
+     *
+     * @return the name of the command
+     */
+    @JsonProperty("command")
+    String command();
+
+    /**
+     * Retrieves the timestamp of the command.
+     *
+     * @return the timestamp of the command
+     */
+    int timestamp();
+}
@@ -0,0 +1,25 @@
+package org.poo.fileio.commands;
+
+import com.fasterxml.jackson.annotation.JsonTypeName;
+
+/**
+ * Input of the createCard command, which creates a card for an account.
+ *
+ * @param account the IBAN of the account
+ * @param email the email of the owner
+ * @param timestamp the timestamp of the command
+ */
+@JsonTypeName(CreateCardCmd.COMMAND)
+public record CreateCardCmd(String account,
+                            String email,
+                            int timestamp) implements CommandRecord {
+    /**
+     * Name of the command in the input.
+     */
+    public static final String COMMAND = "createCard";
+
+    @Override
+    public String command() {
+        return COMMAND;
+    }
+}
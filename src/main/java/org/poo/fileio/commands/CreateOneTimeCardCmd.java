@@ -0,0 +1,25 @@
+package org.poo.fileio.commands;
+
+import com.fasterxml.jackson.annotation.JsonTypeName;
+
+/**
+ * Input of the createOneTimeCard command, which creates a one-time card for an account.
+ *
+ * @param account the IBAN of the account
+ * @param email the email of the owner
+ * @param timestamp the timestamp of the command
+ */
+@JsonTypeName(CreateOneTimeCardCmd.COMMAND)
+public record CreateOneTimeCardCmd(String account,
+                                   String email,
+                                   int timestamp) implements CommandRecord {
+    /**
+     * Name of the command in the input.
+     */
+    public static final String COMMAND = "createOneTimeCard";
+
+    @Override
+    public String command() {
+        return COMMAND;
+    }
+}
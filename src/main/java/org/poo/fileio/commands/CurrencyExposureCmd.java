@@ -0,0 +1,21 @@
+package org.poo.fileio.commands;
+
+import com.fasterxml.jackson.annotation.JsonTypeName;
+
+/**
+ * Input of the currencyExposure command, which reports the balance of the bank in each currency.
+ *
+ * @param timestamp the timestamp of the command
+ */
+@JsonTypeName(CurrencyExposureCmd.COMMAND)
+public record CurrencyExposureCmd(int timestamp) implements CommandRecord {
+    /**
+     * Name of the command in the input.
+     */
+    public static final String COMMAND = "currencyExposure";
+
+    @Override
+    public String command() {
+        return COMMAND;
+    }
+}
@@ -0,0 +1,25 @@
+package org.poo.fileio.commands;
+
+import com.fasterxml.jackson.annotation.JsonTypeName;
+
+/**
+ * Input of the deleteAccount command, which closes an account of a user.
+ *
+ * @param account the IBAN of the account
+ * @param email the email of the owner
+ * @param timestamp the timestamp of the command
+ */
+@JsonTypeName(DeleteAccountCmd.COMMAND)
+public record DeleteAccountCmd(String account,
+                               String email,
+                               int timestamp) implements CommandRecord {
+    /**
+     * Name of the command in the input.
+     */
+    public static final String COMMAND = "deleteAccount";
+
+    @Override
+    public String command() {
+        return COMMAND;
+    }
+}
@@ -0,0 +1,25 @@
+package org.poo.fileio.commands;
+
+import com.fasterxml.jackson.annotation.JsonTypeName;
+
+/**
+ * Input of the deleteCard command, which destroys a card.
+ *
+ * @param cardNumber the number of the card
+ * @param email the email of the owner
+ * @param timestamp the timestamp of the command
+ */
+@JsonTypeName(DeleteCardCmd.COMMAND)
+public record DeleteCardCmd(String cardNumber,
+                            String email,
+                            int timestamp) implements CommandRecord {
+    /**
+     * Name of the command in the input.
+     */
+    public static final String COMMAND = "deleteCard";
+
+    @Override
+    public String command() {
+        return COMMAND;
+    }
+}
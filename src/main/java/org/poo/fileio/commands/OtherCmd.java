@@ -0,0 +1,13 @@
+package org.poo.fileio.commands;
+
+/**
+ * Input of a command the bank doesn't act on: a command that is recognised
+ * but not supported yet (split payment answers and business accounts),
+ * or one with an unknown name. Only its name and timestamp are kept.
+ *
+ * @param command the name of the command in the input
+ * @param timestamp the timestamp of the command
+ */
+public record OtherCmd(String command,
+                       int timestamp) implements CommandRecord {
+}
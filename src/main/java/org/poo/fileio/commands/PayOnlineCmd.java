@@ -0,0 +1,31 @@
+package org.poo.fileio.commands;
+
+import com.fasterxml.jackson.annotation.JsonTypeName;
+
+/**
+ * Input of the payOnline command, which pays a merchant with a card.
+ *
+ * @param cardNumber the number of the card
+ * @param amount the amount of the payment
+ * @param currency the currency of the amount
+ * @param commerciant the name of the merchant
+ * @param email the email of the card owner
+ * @param timestamp the timestamp of the command
+ */
+@JsonTypeName(PayOnlineCmd.COMMAND)
+public record PayOnlineCmd(String cardNumber,
+                           double amount,
+                           String currency,
+                           String commerciant,
+                           String email,
+                           int timestamp) implements CommandRecord {
+    /**
+     * Name of the command in the input.
+     */
+    public static final String COMMAND = "payOnline";
+
+    @Override
+    public String command() {
+        return COMMAND;
+    }
+}
@@ -0,0 +1,23 @@
+package org.poo.fileio.commands;
+
+import com.fasterxml.jackson.annotation.JsonTypeName;
+
+/**
+ * Input of the printTransactions command, which lists the transactions of a user.
+ *
+ * @param email the email of the user
+ * @param timestamp the timestamp of the command
+ */
+@JsonTypeName(PrintTransactionsCmd.COMMAND)
+public record PrintTransactionsCmd(String email,
+                                   int timestamp) implements CommandRecord {
+    /**
+     * Name of the command in the input.
+     */
+    public static final String COMMAND = "printTransactions";
+
+    @Override
+    public String command() {
+        return COMMAND;
+    }
+}
@@ -0,0 +1,21 @@
+package org.poo.fileio.commands;
+
+import com.fasterxml.jackson.annotation.JsonTypeName;
+
+/**
+ * Input of the printUsers command, which lists every user with their accounts and cards.
+ *
+ * @param timestamp the timestamp of the command
+ */
+@JsonTypeName(PrintUsersCmd.COMMAND)
+public record PrintUsersCmd(int timestamp) implements CommandRecord {
+    /**
+     * Name of the command in the input.
+     */
+    public static final String COMMAND = "printUsers";
+
+    @Override
+    public String command() {
+        return COMMAND;
+    }
+}
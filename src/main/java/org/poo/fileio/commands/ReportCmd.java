@@ -0,0 +1,27 @@
+package org.poo.fileio.commands;
+
+import com.fasterxml.jackson.annotation.JsonTypeName;
+
+/**
+ * Input of the report command, which reports the transactions of an account over a period.
+ *
+ * @param account the IBAN of the account
+ * @param startTimestamp the start of the period
+ * @param endTimestamp the end of the period
+ * @param timestamp the timestamp of the command
+ */
+@JsonTypeName(ReportCmd.COMMAND)
+public record ReportCmd(String account,
+                        int startTimestamp,
+                        int endTimestamp,
+                        int timestamp) implements CommandRecord {
+    /**
+     * Name of the command in the input.
+     */
+    public static final String COMMAND = "report";
+
+    @Override
+    public String command() {
+        return COMMAND;
+    }
+}
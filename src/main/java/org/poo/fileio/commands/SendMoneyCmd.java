@@ -0,0 +1,31 @@
+package org.poo.fileio.commands;
+
+import com.fasterxml.jackson.annotation.JsonTypeName;
+
+/**
+ * Input of the sendMoney command, which transfers an amount between two accounts.
+ *
+ * @param account the IBAN or alias of the sender
+ * @param amount the amount, in the currency of the sender
+ * @param receiver the IBAN or alias of the receiver
+ * @param description the description of the transfer
+ * @param email the email of the sender
+ * @param timestamp the timestamp of the command
+ */
+@JsonTypeName(SendMoneyCmd.COMMAND)
+public record SendMoneyCmd(String account,
+                           double amount,
+                           String receiver,
+                           String description,
+                           String email,
+                           int timestamp) implements CommandRecord {
+    /**
+     * Name of the command in the input.
+     */
+    public static final String COMMAND = "sendMoney";
+
+    @Override
+    public String command() {
+        return COMMAND;
+    }
+}
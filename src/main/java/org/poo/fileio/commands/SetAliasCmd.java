@@ -0,0 +1,25 @@
+package org.poo.fileio.commands;
+
+import com.fasterxml.jackson.annotation.JsonTypeName;
+
+/**
+ * Input of the setAlias command, which gives an alias to an account.
+ *
+ * @param account the IBAN of the account
+ * @param alias the alias
+ * @param timestamp the timestamp of the command
+ */
+@JsonTypeName(SetAliasCmd.COMMAND)
+public record SetAliasCmd(String account,
+                          String alias,
+                          int timestamp) implements CommandRecord {
+    /**
+     * Name of the command in the input.
+     */
+    public static final String COMMAND = "setAlias";
+
+    @Override
+    public String command() {
+        return COMMAND;
+    }
+}
@@ -0,0 +1,25 @@
+package org.poo.fileio.commands;
+
+import com.fasterxml.jackson.annotation.JsonTypeName;
+
+/**
+ * Input of the setMinimumBalance command, which sets the minimum balance of an account.
+ *
+ * @param account the IBAN of the account
+ * @param amount the minimum balance
+ * @param timestamp the timestamp of the command
+ */
+@JsonTypeName(SetMinimumBalanceCmd.COMMAND)
+public record SetMinimumBalanceCmd(String account,
+                                   double amount,
+                                   int timestamp) implements CommandRecord {
+    /**
+     * Name of the command in the input.
+     */
+    public static final String COMMAND = "setMinimumBalance";
+
+    @Override
+    public String command() {
+        return COMMAND;
+    }
+}
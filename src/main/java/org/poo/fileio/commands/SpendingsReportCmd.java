@@ -0,0 +1,28 @@
+package org.poo.fileio.commands;
+
+import com.fasterxml.jackson.annotation.JsonTypeName;
+
+/**
+ * Input of the spendingsReport command, which reports the card payments
+ * of an account over a period.
+ *
+ * @param account the IBAN of the account
+ * @param startTimestamp the start of the period
+ * @param endTimestamp the end of the period
+ * @param timestamp the timestamp of the command
+ */
+@JsonTypeName(SpendingsReportCmd.COMMAND)
+public record SpendingsReportCmd(String account,
+                                 int startTimestamp,
+                                 int endTimestamp,
+                                 int timestamp) implements CommandRecord {
+    /**
+     * Name of the command in the input.
+     */
+    public static final String COMMAND = "spendingsReport";
+
+    @Override
+    public String command() {
+        return COMMAND;
+    }
+}
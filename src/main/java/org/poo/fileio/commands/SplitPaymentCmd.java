@@ -0,0 +1,32 @@
+package org.poo.fileio.commands;
+
+import com.fasterxml.jackson.annotation.JsonTypeName;
+
+/**
+ * Input of the splitPayment command, which splits a payment between several accounts.
+ * The arrays are shared with the record and must not be modified.
+ *
+ * @param splitPaymentType "equal" or "custom"
+ * @param accounts the IBANs of the accounts
+ * @param amount the total amount of the payment
+ * @param amountForUsers the share of each account, for a custom split
+ * @param currency the currency of the amount
+ * @param timestamp the timestamp of the command
+ */
+@JsonTypeName(SplitPaymentCmd.COMMAND)
+public record SplitPaymentCmd(String splitPaymentType,
+                              String[] accounts,
+                              double amount,
+                              double[] amountForUsers,
+                              String currency,
+                              int timestamp) implements CommandRecord {
+    /**
+     * Name of the command in the input.
+     */
+    public static final String COMMAND = "splitPayment";
+
+    @Override
+    public String command() {
+        return COMMAND;
+    }
+}
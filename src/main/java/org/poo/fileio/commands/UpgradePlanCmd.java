@@ -0,0 +1,25 @@
+package org.poo.fileio.commands;
+
+import com.fasterxml.jackson.annotation.JsonTypeName;
+
+/**
+ * Input of the upgradePlan command, which upgrades the plan of a user.
+ *
+ * @param account the IBAN of the account paying the fee
+ * @param newPlanType the new plan
+ * @param timestamp the timestamp of the command
+ */
+@JsonTypeName(UpgradePlanCmd.COMMAND)
+public record UpgradePlanCmd(String account,
+                             String newPlanType,
+                             int timestamp) implements CommandRecord {
+    /**
+     * Name of the command in the input.
+     */
+    public static final String COMMAND = "upgradePlan";
+
+    @Override
+    public String command() {
+        return COMMAND;
+    }
+}
@@ -0,0 +1,25 @@
+package org.poo.fileio.commands;
+
+import com.fasterxml.jackson.annotation.JsonTypeName;
+
+/**
+ * Input of the withdrawSavings command, which withdraws an amount from a savings account.
+ *
+ * @param account the IBAN of the account
+ * @param amount the amount to withdraw
+ * @param timestamp the timestamp of the command
+ */
+@JsonTypeName(WithdrawSavingsCmd.COMMAND)
+public record WithdrawSavingsCmd(String account,
+                                 double amount,
+                                 int timestamp) implements CommandRecord {
+    /**
+     * Name of the command in the input.
+     */
+    public static final String COMMAND = "withdrawSavings";
+
+    @Override
+    public String command() {
+        return COMMAND;
+    }
+}
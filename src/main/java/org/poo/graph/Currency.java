@@ -0,0 +1,117 @@
+package org.poo.graph;
+
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A currency code, interned so that every code has exactly one instance.
+ * <p>
+ * Currencies can therefore be compared by identity, and each one carries a
+ * small dense id that indexes per-currency tables such as the exchange rates
+ * of {@link CurrencyGraph}. Ids are assigned in the order the codes are first seen.
+ * </p>
+ * <p>
+ * The interned currencies are shared by every bank of the process, including
+ * the runs of input files at the same time. Sharing them is safe: interning is
+ * thread-safe, a currency never changes once created, and no output depends
+ * on the ids, only on the codes. The ids merely index tables, the routes follow
+ * the order in which the rates were added, and the currencies are listed
+ * sorted by code, so a run gives the same results whatever the other runs
+ * interned before it.
+ * </p>
+ * <p>
+ * For the same reason an id is only meaningful within the process that
+ * assigned it: it depends on which codes were seen first, so it may differ
+ * between two processes, or between two runs of the same file. Ids are never
+ * written to an output or a command log, only codes are.
+ * </p>
+ */
+public final class Currency {
+    private static final ConcurrentHashMap<String, Currency> BY_CODE =
+            new ConcurrentHashMap<>();
+    private static final ArrayList<Currency> BY_ID = new ArrayList<>();
+
+    public static final Currency RON = of("RON");
+
+    private final String code;
+    private final int id;
+
+    private Currency(final String code,
+                     final int id) {
+        this.code = code;
+        this.id = id;
+    }
+
+    /**
+     * Retrieves the canonical currency of the given code,
+     * registering it if the code is seen for the first time.
+     *
+     * @param code the currency code (e.g. "RON", "EUR")
+     * @return the interned currency, or {@code null} if the code is null
+     */
+    public static Currency of(final String code) {
+        if (code == null) {
+            return null;
+        }
+        Currency currency = BY_CODE.get(code);
+        if (currency != null) {
+            return currency;
+        }
+        synchronized (BY_ID) {
+            currency = BY_CODE.get(code);
+            if (currency == null) {
+                currency = new Currency(code, BY_ID.size());
+                BY_ID.add(currency);
+                BY_CODE.put(code, currency);
+            }
+            return currency;
+        }
+    }
+
+    /**
+     * Retrieves the currency with the given id.
+     *
+     * @param id an id between 0 and {@link #count()} - 1
+     * @return the interned currency with this id
+     */
+    public static Currency fromId(final int id) {
+        synchronized (BY_ID) {
+            return BY_ID.get(id);
+        }
+    }
+
+    /**
+     * Retrieves the number of currencies registered so far,
+     * which is also one more than the largest id.
+     *
+     * @return the number of interned currencies
+     */
+    public static int count() {
+        synchronized (BY_ID) {
+            return BY_ID.size();
+        }
+    }
+
+    /**
+     * Retrieves the currency code.
+     *
+     * @return the code, as found in the input
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * Retrieves the dense id of the currency.
+     *
+     * @return an id between 0 and {@link #count()} - 1
+     */
+    public int getId() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return code;
+    }
+}
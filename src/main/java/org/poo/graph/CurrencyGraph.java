@@ -1,164 +1,200 @@
-package org.poo.graph;
-
-import java.util.ArrayList;
-import java.util.HashMap;
-
-public class CurrencyGraph {
-    private HashMap<String, ArrayList<Node>> graph;
-    private HashMap<String, Boolean> visited;
-
-    public CurrencyGraph() {
-        graph = new HashMap<>();
-        visited = new HashMap<>();
-    }
-
-    /**
-     * Returns the map of currencies and their visited status during DFS.
-     *
-     * @return A {@link HashMap} where the key is the currency name,
-     * and the value is a {@code Boolean} indicating if the currency has been visited.
-     */
-    public HashMap<String, Boolean> getVisited() {
-        return visited;
-    }
-
-    /**
-     * Returns the graph that represents currency exchange rates.
-     *
-     * @return A {@link HashMap} where the key is the currency name,
-     * and the value is a list of {@link Node} objects
-     * representing neighboring currencies and their exchange rates.
-     */
-    public HashMap<String, ArrayList<Node>> getGraph() {
-        return graph;
-    }
-
-    /**
-     * Sets the graph that represents currency exchange rates.
-     *
-     * @param graph A {@link HashMap} representing the graph,
-     *              where the key is the currency name,
-     *              and the value is a list of {@link Node} objects
-     *              representing neighboring currencies.
-     */
-    public void setGraph(final HashMap<String, ArrayList<Node>>
-                                 graph) {
-        this.graph = graph;
-    }
-
-    /**
-     * Sets the visited map, which tracks the currencies visited during DFS.
-     *
-     * @param visited A {@link HashMap} where the key is the currency name,
-     *                and the value is a {@code Boolean}
-     *                indicating if the currency has been visited.
-     */
-    public void setVisited(final HashMap<String, Boolean> visited) {
-        this.visited = visited;
-    }
-
-    /**
-     * Adds an edge (exchange rate) between two currencies in the graph.
-     * Also adds the reverse rate for bidirectional exchange.
-     * Initializes the visited status for both currencies.
-     *
-     * @param curr1 The first currency.
-     * @param curr2 The second currency.
-     * @param rate  The exchange rate from {@code curr1} to {@code curr2}.
-     */
-    public void addEdge(final String curr1,
-                        final String curr2,
-                        final double rate) {
-        try {
-            double rateTwoToOne = 1 / rate;
-            if (!graph.containsKey(curr1)) {
-                graph.put(curr1, new ArrayList<>());
-            }
-            graph.get(curr1).add(new Node(curr2, rate));
-            if (!graph.containsKey(curr2)) {
-                graph.put(curr2, new ArrayList<>());
-            }
-            graph.get(curr2).add(new Node(curr1, rateTwoToOne));
-            visited.put(curr1, false);
-            visited.put(curr2, false);
-        } catch (ArithmeticException e) {
-            System.out.println("Cannot divide by 0");
-        }
-    }
-
-    /**
-     * Performs a DFS to find the exchange rate between two currencies.
-     * If no valid exchange path exists, returns -1.
-     *
-     * @param start The starting currency node.
-     * @param end   The target currency node.
-     * @param amount The amount to be converted.
-     * @return The converted amount if a path exists, otherwise -1.
-     * @throws IllegalArgumentException if the start currency
-     *  does not exist in the graph.
-     */
-    public double exchangeDFS(final Node start,
-                              final Node end,
-                              final double amount) throws IllegalArgumentException {
-        if (!graph.containsKey(start.getCurrency())) {
-            throw new IllegalArgumentException("The starting currency doesn't exist");
-        }
-        visited.put(start.getCurrency(), true);
-        int idOfInterestCurrency = -1;
-        for (int i = 0; i < graph.get(start.getCurrency()).size(); i++) {
-            if (graph.get(start.getCurrency()).get(i).getCurrency().equals(end.getCurrency())) {
-                idOfInterestCurrency = i;
-            }
-        }
-        if (idOfInterestCurrency != -1) {
-            return amount * graph
-                            .get(start.getCurrency())
-                            .get(idOfInterestCurrency)
-                            .getRate();
-        }
-        for (Node adjNode: graph.get(start.getCurrency())) {
-            if (!visited.get(adjNode.getCurrency())) {
-                double ret = exchangeDFS(adjNode, end, amount * adjNode.getRate());
-                if (ret != -1) {
-                    return ret;
-                }
-            }
-        }
-        return -1;
-    }
-
-    /**
-     * Resets the visited status for all currencies in the graph to {@code false}.
-     */
-    void resetVisited() {
-        for (String currency: visited.keySet()) {
-            visited.put(currency, false);
-        }
-    }
-
-    /**
-     * Initiates a currency exchange operation,
-     * using DFS to find a valid exchange path.
-     * If no valid path is found,
-     * an exception is thrown, and the method returns -1.
-     *
-     * @param start   The starting currency node.
-     * @param end     The target currency node.
-     * @param amount  The amount to be converted.
-     * @return The converted amount if a valid path is found, otherwise -1.
-     */
-    public double exchange(final Node start,
-                           final Node end,
-                           final double amount) {
-        if (start.getCurrency().equals(end.getCurrency())) {
-            return amount;
-        }
-        resetVisited();
-        try {
-            return exchangeDFS(start, end, amount);
-        } catch (IllegalArgumentException e) {
-            System.out.println(e.getMessage());
-            return -1;
-        }
-    }
-}
+package org.poo.graph;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Graph of the exchange rates between currencies.
+ * <p>
+ * Edges are added under the lock of the graph, while conversions read an immutable
+ * {@link RateSnapshot} published through a volatile reference, so any number of
+ * threads can convert amounts concurrently without locking. Changing the rates
+ * drops the current snapshot; the next conversion builds a new one and publishes
+ * it with a single reference swap.
+ * </p>
+ */
+public class CurrencyGraph {
+    private HashMap<Currency, ArrayList<Node>> graph;
+    private volatile RateSnapshot snapshot;
+    private RoutingPolicy routingPolicy = RoutingPolicy.DEPTH_FIRST;
+
+    public CurrencyGraph() {
+        graph = new HashMap<>();
+    }
+
+    /**
+     * Creates a copy of the given graph, with the same currencies and rates.
+     * The adjacency lists are copied, so edges added to the copy
+     * don't change the original. The routing policy is copied too,
+     * and the snapshot of the original is shared until the copy changes.
+     *
+     * @param other the graph to copy
+     */
+    public CurrencyGraph(final CurrencyGraph other) {
+        graph = new HashMap<>();
+        synchronized (other) {
+            for (Currency currency: other.graph.keySet()) {
+                graph.put(currency, new ArrayList<>(other.graph.get(currency)));
+            }
+            routingPolicy = other.routingPolicy;
+            snapshot = other.snapshot;
+        }
+    }
+
+    /**
+     * Returns a copy of the graph that represents currency exchange rates.
+     *
+     * @return A {@link HashMap} where the key is the currency,
+     * and the value is a list of {@link Node} objects
+     * representing neighboring currencies and their exchange rates.
+     */
+    public synchronized HashMap<Currency, ArrayList<Node>> getGraph() {
+        HashMap<Currency, ArrayList<Node>> copy = new HashMap<>();
+        for (Currency currency: graph.keySet()) {
+            copy.put(currency, new ArrayList<>(graph.get(currency)));
+        }
+        return copy;
+    }
+
+    /**
+     * Sets the graph that represents currency exchange rates.
+     *
+     * @param graph A {@link HashMap} representing the graph,
+     *              where the key is the currency,
+     *              and the value is a list of {@link Node} objects
+     *              representing neighboring currencies.
+     */
+    public synchronized void setGraph(final HashMap<Currency, ArrayList<Node>>
+                                 graph) {
+        this.graph = graph;
+        snapshot = null;
+    }
+
+    /**
+     * Retrieves the rule used to choose the exchange path between two currencies.
+     *
+     * @return the routing policy of the graph
+     */
+    public synchronized RoutingPolicy getRoutingPolicy() {
+        return routingPolicy;
+    }
+
+    /**
+     * Sets the rule used to choose the exchange path between two currencies.
+     * The paths are chosen again on the next conversion.
+     *
+     * @param routingPolicy the routing policy of the graph
+     */
+    public synchronized void setRoutingPolicy(final RoutingPolicy routingPolicy) {
+        this.routingPolicy = routingPolicy;
+        snapshot = null;
+    }
+
+    /**
+     * Adds an edge (exchange rate) between two currencies in the graph.
+     * Also adds the reverse rate for bidirectional exchange.
+     * If the two currencies are already linked, their rates are replaced in place.
+     *
+     * @param curr1 The first currency.
+     * @param curr2 The second currency.
+     * @param rate  The exchange rate from {@code curr1} to {@code curr2}.
+     */
+    public synchronized void addEdge(final Currency curr1,
+                                     final Currency curr2,
+                                     final double rate) {
+        try {
+            double rateTwoToOne = 1 / rate;
+            if (!graph.containsKey(curr1)) {
+                graph.put(curr1, new ArrayList<>());
+            }
+            putNode(graph.get(curr1), new Node(curr2, rate));
+            if (!graph.containsKey(curr2)) {
+                graph.put(curr2, new ArrayList<>());
+            }
+            putNode(graph.get(curr2), new Node(curr1, rateTwoToOne));
+            snapshot = null;
+        } catch (ArithmeticException e) {
+            System.out.println("Cannot divide by 0");
+        }
+    }
+
+    /**
+     * Replaces the node of the same currency in an adjacency list,
+     * or appends the node if the currency is not there yet.
+     *
+     * @param neighbours the adjacency list of a currency
+     * @param node the neighbour to store
+     */
+    private void putNode(final ArrayList<Node> neighbours,
+                         final Node node) {
+        for (int i = 0; i < neighbours.size(); i++) {
+            if (neighbours.get(i).getCurrency() == node.getCurrency()) {
+                neighbours.set(i, node);
+                return;
+            }
+        }
+        neighbours.add(node);
+    }
+
+    /**
+     * Builds the snapshot of the current rates and publishes it.
+     * Conversions build it on demand, so calling this is only needed
+     * to move the cost out of the first conversion.
+     */
+    public synchronized void buildRateTable() {
+        snapshot = RateSnapshot.of(graph, routingPolicy);
+    }
+
+    /**
+     * Retrieves the snapshot of the current rates, building it first
+     * if the rates changed since the last one. Reading a published
+     * snapshot takes no lock.
+     *
+     * @return the immutable snapshot of the rates
+     */
+    public RateSnapshot getSnapshot() {
+        RateSnapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot == null) {
+                snapshot = RateSnapshot.of(graph, routingPolicy);
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Initiates a currency exchange operation
+     * on the current snapshot of the rates.
+     * If the starting currency is unknown, an error is printed
+     * and the method returns -1, as it does when no valid path is found.
+     *
+     * @param start   The starting currency node.
+     * @param end     The target currency node.
+     * @param amount  The amount to be converted.
+     * @return The converted amount if a valid path is found, otherwise -1.
+     */
+    public double exchange(final Node start,
+                           final Node end,
+                           final double amount) {
+        return exchange(start.getCurrency(), end.getCurrency(), amount);
+    }
+
+    /**
+     * Converts an amount between two currencies
+     * on the current snapshot of the rates.
+     *
+     * @param from    The currency of the amount.
+     * @param to      The target currency.
+     * @param amount  The amount to be converted.
+     * @return The converted amount if a valid path is found, otherwise -1.
+     * @see RateSnapshot#exchange(Currency, Currency, double)
+     */
+    public double exchange(final Currency from,
+                           final Currency to,
+                           final double amount) {
+        return getSnapshot().exchange(from, to, amount);
+    }
+}
@@ -0,0 +1,218 @@
+package org.poo.graph;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * History of the exchange rates of the bank, as a list of versions.
+ * <p>
+ * Each version is a {@link CurrencyGraph} that comes into force at a timestamp
+ * and stays in force until the next version. A version starts as a copy of the
+ * previous one with the new rates applied on top, so adding rates at a later
+ * timestamp builds only the new version and leaves the history untouched.
+ * The version in force at a given timestamp is found by binary search over
+ * the version boundaries. The first version is also used for the timestamps
+ * before it, so the initial rates are known from the start.
+ * </p>
+ * <p>
+ * Adding a version publishes the new history with a single volatile write,
+ * so lookups never take a lock and always see a consistent list of versions.
+ * </p>
+ */
+public class ExchangeRates {
+    private static final int INITIAL_CAPACITY = 4;
+
+    private RoutingPolicy routingPolicy = RoutingPolicy.DEPTH_FIRST;
+    private final HashMap<Long, TreeSet<Integer>> pairTimestamps = new HashMap<>();
+    private volatile Versions versions = new Versions(new int[INITIAL_CAPACITY],
+            new CurrencyGraph[INITIAL_CAPACITY], 0);
+
+    /**
+     * Published state of the history: the first {@code size} entries of the arrays.
+     * A later history may fill the entries past {@code size}, but never changes
+     * the ones before it.
+     */
+    private static final class Versions {
+        private final int[] boundaries;
+        private final CurrencyGraph[] graphs;
+        private final int size;
+
+        Versions(final int[] boundaries,
+                 final CurrencyGraph[] graphs,
+                 final int size) {
+            this.boundaries = boundaries;
+            this.graphs = graphs;
+            this.size = size;
+        }
+    }
+
+    /**
+     * Adds an exchange rate that comes into force at the given timestamp.
+     * Rates are expected in non-decreasing timestamp order; in that case only
+     * the version of this timestamp is touched. A rate added in the past is
+     * applied to its version and carried into the later ones, up to the first
+     * version that sets a rate between the same two currencies itself.
+     *
+     * @param from      The first currency.
+     * @param to        The second currency.
+     * @param rate      The exchange rate from {@code from} to {@code to}.
+     * @param timestamp The timestamp from which the rate applies.
+     */
+    public synchronized void addRate(final Currency from,
+                                     final Currency to,
+                                     final double rate,
+                                     final int timestamp) {
+        Versions current = versions;
+        int index = Arrays.binarySearch(current.boundaries, 0, current.size, timestamp);
+        if (index < 0) {
+            index = -index - 1;
+            current = insertVersion(current, index, timestamp, routingPolicy);
+            versions = current;
+        }
+        TreeSet<Integer> setAt = pairTimestamps.computeIfAbsent(pairKey(from, to),
+                key -> new TreeSet<>());
+        setAt.add(timestamp);
+        Integer redefined = setAt.higher(timestamp);
+        int end = current.size;
+        if (redefined != null) {
+            end = Arrays.binarySearch(current.boundaries, 0, current.size, redefined);
+        }
+        for (int i = index; i < end; i++) {
+            current.graphs[i].addEdge(from, to, rate);
+        }
+    }
+
+    /**
+     * Computes the key of a pair of currencies, in either order.
+     *
+     * @param from the first currency
+     * @param to   the second currency
+     * @return the ids of the two currencies, the smaller one in the high bits
+     */
+    private static long pairKey(final Currency from,
+                                final Currency to) {
+        int low = Math.min(from.getId(), to.getId());
+        int high = Math.max(from.getId(), to.getId());
+        return ((long) low << Integer.SIZE) | high;
+    }
+
+    /**
+     * Creates the history with a new version at the given position, starting
+     * from a copy of the version in force just before it.
+     * Appending reuses the arrays while they have room, since the published
+     * entries don't move; inserting before the last version copies them.
+     *
+     * @param current   The current history.
+     * @param index     The position of the new version.
+     * @param timestamp The timestamp from which the version applies.
+     * @param policy    The routing policy of a version with no predecessor.
+     * @return The history with the new version.
+     */
+    private static Versions insertVersion(final Versions current,
+                                          final int index,
+                                          final int timestamp,
+                                          final RoutingPolicy policy) {
+        CurrencyGraph version;
+        if (index == 0) {
+            version = new CurrencyGraph();
+            version.setRoutingPolicy(policy);
+        } else {
+            version = new CurrencyGraph(current.graphs[index - 1]);
+        }
+        int[] boundaries = current.boundaries;
+        CurrencyGraph[] graphs = current.graphs;
+        if (index < current.size || current.size == boundaries.length) {
+            int capacity = Math.max(boundaries.length * 2, INITIAL_CAPACITY);
+            boundaries = new int[capacity];
+            graphs = new CurrencyGraph[capacity];
+            System.arraycopy(current.boundaries, 0, boundaries, 0, index);
+            System.arraycopy(current.graphs, 0, graphs, 0, index);
+            System.arraycopy(current.boundaries, index, boundaries, index + 1,
+                    current.size - index);
+            System.arraycopy(current.graphs, index, graphs, index + 1,
+                    current.size - index);
+        }
+        boundaries[index] = timestamp;
+        graphs[index] = version;
+        return new Versions(boundaries, graphs, current.size + 1);
+    }
+
+    /**
+     * Sets the rule used to choose the exchange path between two currencies,
+     * in every version of the history and in the versions added later.
+     *
+     * @param routingPolicy the routing policy of the bank
+     */
+    public synchronized void setRoutingPolicy(final RoutingPolicy routingPolicy) {
+        this.routingPolicy = routingPolicy;
+        Versions current = versions;
+        for (int i = 0; i < current.size; i++) {
+            current.graphs[i].setRoutingPolicy(routingPolicy);
+        }
+    }
+
+    /**
+     * Builds the rate snapshot of every version, so that conversions
+     * never have to build one on the fly.
+     * The arbitrage cycles found while building them are listed
+     * by {@link #getArbitrageCycles()}.
+     */
+    public void buildRateTables() {
+        Versions current = versions;
+        for (int i = 0; i < current.size; i++) {
+            current.graphs[i].buildRateTable();
+        }
+    }
+
+    /**
+     * Retrieves the arbitrage cycles of the history: for every version whose rates
+     * let a sequence of conversions end with more than it started with,
+     * the currencies of one such cycle.
+     *
+     * @return the cycles, keyed by the timestamp from which their version applies;
+     *         empty if the rates never allow an arbitrage
+     */
+    public SortedMap<Integer, List<Currency>> getArbitrageCycles() {
+        Versions current = versions;
+        TreeMap<Integer, List<Currency>> cycles = new TreeMap<>();
+        for (int i = 0; i < current.size; i++) {
+            RateSnapshot snapshot = current.graphs[i].getSnapshot();
+            if (snapshot.hasArbitrage()) {
+                cycles.put(current.boundaries[i], snapshot.getArbitrageCycle());
+            }
+        }
+        return Collections.unmodifiableSortedMap(cycles);
+    }
+
+    /**
+     * Retrieves the exchange rates in force at the given timestamp.
+     *
+     * @param timestamp The timestamp of the conversion.
+     * @return The version in force, or an empty graph if no rate was ever added.
+     */
+    public CurrencyGraph at(final int timestamp) {
+        Versions current = versions;
+        if (current.size == 0) {
+            return new CurrencyGraph();
+        }
+        int index = Arrays.binarySearch(current.boundaries, 0, current.size, timestamp);
+        if (index < 0) {
+            index = Math.max(-index - 2, 0);
+        }
+        return current.graphs[index];
+    }
+
+    /**
+     * Retrieves the number of versions in the history.
+     *
+     * @return The number of distinct timestamps at which rates were added.
+     */
+    public int getVersionCount() {
+        return versions.size;
+    }
+}
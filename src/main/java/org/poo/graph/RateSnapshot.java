@@ -0,0 +1,397 @@
+package org.poo.graph;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable view of the exchange rates of a {@link CurrencyGraph} at one moment.
+ * <p>
+ * For every pair of currencies, the snapshot holds the rates along the path chosen
+ * by a {@link RoutingPolicy}, indexed by {@link Currency#getId()}. Conversions only
+ * read these arrays, so a snapshot can be shared by any number of threads without
+ * locking. When the rates change, a new snapshot is built and replaces this one.
+ * </p>
+ * <p>
+ * Building a snapshot also looks for an arbitrage cycle: a sequence of conversions
+ * that ends in the starting currency with more than it started with.
+ * </p>
+ */
+public final class RateSnapshot {
+    /**
+     * Gain, in log space, below which a cycle is considered a rounding error
+     * rather than an arbitrage (a rate and its inverse rarely multiply to exactly 1).
+     */
+    private static final double EPSILON = 1e-12;
+
+    private final double[][][] paths;
+    private final List<Currency> arbitrageCycle;
+
+    private RateSnapshot(final double[][][] paths,
+                         final List<Currency> arbitrageCycle) {
+        this.paths = paths;
+        this.arbitrageCycle = arbitrageCycle;
+    }
+
+    /**
+     * Builds the snapshot of the given graph, following the first path found by DFS.
+     *
+     * @param graph the adjacency lists of the graph, keyed by currency
+     * @return the snapshot of the current rates
+     */
+    static RateSnapshot of(final Map<Currency, ArrayList<Node>> graph) {
+        return of(graph, RoutingPolicy.DEPTH_FIRST);
+    }
+
+    /**
+     * Builds the snapshot of the given graph. Each currency of the graph gets a row;
+     * currencies that are not in the graph have none.
+     *
+     * @param graph  the adjacency lists of the graph, keyed by currency
+     * @param policy the rule used to choose the path between two currencies
+     * @return the snapshot of the current rates
+     */
+    static RateSnapshot of(final Map<Currency, ArrayList<Node>> graph,
+                           final RoutingPolicy policy) {
+        int size = Currency.count();
+        Currency[] currencies = graph.keySet().toArray(new Currency[0]);
+        Arrays.sort(currencies, Comparator.comparing(Currency::getCode));
+        List<Currency> cycle = findArbitrage(graph, currencies, size);
+        RoutingPolicy routing = policy;
+        if (routing == RoutingPolicy.BEST_RATE && !cycle.isEmpty()) {
+            routing = RoutingPolicy.FEWEST_HOPS;
+        }
+        double[][][] paths = new double[size][][];
+        if (routing == RoutingPolicy.DEPTH_FIRST) {
+            buildDepthFirst(graph, currencies, paths);
+        } else {
+            int[] parent = new int[size];
+            double[] parentRate = new double[size];
+            for (Currency from: currencies) {
+                paths[from.getId()] = new double[size][];
+                Arrays.fill(parent, -1);
+                if (routing == RoutingPolicy.FEWEST_HOPS) {
+                    searchFewestHops(graph, from, parent, parentRate);
+                } else {
+                    searchBestRate(graph, currencies, from, parent, parentRate);
+                }
+                for (Currency to: currencies) {
+                    if (to != from && parent[to.getId()] != -1) {
+                        paths[from.getId()][to.getId()] =
+                                tracePath(from, to, parent, parentRate);
+                    }
+                }
+            }
+        }
+        return new RateSnapshot(paths, cycle);
+    }
+
+    /**
+     * Fills the paths between every pair of currencies with the first path found by DFS.
+     *
+     * @param graph      The adjacency lists of the graph.
+     * @param currencies The currencies of the graph.
+     * @param paths      The paths of the snapshot, filled in place.
+     */
+    private static void buildDepthFirst(final Map<Currency, ArrayList<Node>> graph,
+                                        final Currency[] currencies,
+                                        final double[][][] paths) {
+        int size = paths.length;
+        boolean[] visited = new boolean[size];
+        ArrayList<Double> path = new ArrayList<>();
+        for (Currency from: currencies) {
+            paths[from.getId()] = new double[size][];
+            for (Currency to: currencies) {
+                if (from == to) {
+                    continue;
+                }
+                Arrays.fill(visited, false);
+                path.clear();
+                if (findPath(graph, from, to, visited, path)) {
+                    double[] rates = new double[path.size()];
+                    for (int i = 0; i < rates.length; i++) {
+                        rates[i] = path.get(i);
+                    }
+                    paths[from.getId()][to.getId()] = rates;
+                }
+            }
+        }
+    }
+
+    /**
+     * Performs a DFS from {@code start} to {@code end}, recording the rates along
+     * the path. A direct edge to {@code end} is preferred (the last one, if several);
+     * otherwise the neighbours are explored in the order their rates were added.
+     *
+     * @param graph   The adjacency lists of the graph.
+     * @param start   The current currency.
+     * @param end     The target currency.
+     * @param visited The currencies already explored, by id.
+     * @param path    The rates of the path found so far, completed on success.
+     * @return {@code true} if a path to {@code end} was found.
+     */
+    private static boolean findPath(final Map<Currency, ArrayList<Node>> graph,
+                                    final Currency start,
+                                    final Currency end,
+                                    final boolean[] visited,
+                                    final ArrayList<Double> path) {
+        visited[start.getId()] = true;
+        ArrayList<Node> neighbours = graph.get(start);
+        int idOfInterestCurrency = -1;
+        for (int i = 0; i < neighbours.size(); i++) {
+            if (neighbours.get(i).getCurrency() == end) {
+                idOfInterestCurrency = i;
+            }
+        }
+        if (idOfInterestCurrency != -1) {
+            path.add(neighbours.get(idOfInterestCurrency).getRate());
+            return true;
+        }
+        for (Node adjNode: neighbours) {
+            if (!visited[adjNode.getCurrency().getId()]) {
+                path.add(adjNode.getRate());
+                if (findPath(graph, adjNode.getCurrency(), end, visited, path)) {
+                    return true;
+                }
+                path.removeLast();
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Performs a BFS from {@code from}, recording for every reached currency
+     * the currency it was reached from and the rate of that conversion.
+     * Neighbours are explored in the order their rates were added.
+     *
+     * @param graph      The adjacency lists of the graph.
+     * @param from       The starting currency.
+     * @param parent     The id of the previous currency on the path, by id; -1 if unreached.
+     * @param parentRate The rate from the previous currency, by id.
+     */
+    private static void searchFewestHops(final Map<Currency, ArrayList<Node>> graph,
+                                         final Currency from,
+                                         final int[] parent,
+                                         final double[] parentRate) {
+        ArrayDeque<Currency> queue = new ArrayDeque<>();
+        parent[from.getId()] = from.getId();
+        queue.add(from);
+        while (!queue.isEmpty()) {
+            Currency current = queue.poll();
+            for (Node adjNode: graph.get(current)) {
+                int id = adjNode.getCurrency().getId();
+                if (parent[id] == -1) {
+                    parent[id] = current.getId();
+                    parentRate[id] = adjNode.getRate();
+                    queue.add(adjNode.getCurrency());
+                }
+            }
+        }
+        parent[from.getId()] = -1;
+    }
+
+    /**
+     * Runs Bellman-Ford from {@code from} on the logarithms of the rates, recording
+     * for every reached currency the previous currency on the path with the largest
+     * product of rates. The graph must not contain an arbitrage cycle.
+     *
+     * @param graph      The adjacency lists of the graph.
+     * @param currencies The currencies of the graph, ordered by code.
+     * @param from       The starting currency.
+     * @param parent     The id of the previous currency on the path, by id; -1 if unreached.
+     * @param parentRate The rate from the previous currency, by id.
+     */
+    private static void searchBestRate(final Map<Currency, ArrayList<Node>> graph,
+                                       final Currency[] currencies,
+                                       final Currency from,
+                                       final int[] parent,
+                                       final double[] parentRate) {
+        double[] gain = new double[parent.length];
+        Arrays.fill(gain, Double.NEGATIVE_INFINITY);
+        gain[from.getId()] = 0;
+        for (int round = 1; round < currencies.length; round++) {
+            boolean changed = false;
+            for (Currency current: currencies) {
+                if (gain[current.getId()] == Double.NEGATIVE_INFINITY) {
+                    continue;
+                }
+                for (Node adjNode: graph.get(current)) {
+                    int id = adjNode.getCurrency().getId();
+                    double candidate = gain[current.getId()] + Math.log(adjNode.getRate());
+                    if (id != from.getId() && candidate > gain[id] + EPSILON) {
+                        gain[id] = candidate;
+                        parent[id] = current.getId();
+                        parentRate[id] = adjNode.getRate();
+                        changed = true;
+                    }
+                }
+            }
+            if (!changed) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Follows the recorded parents back from {@code to} to {@code from}.
+     *
+     * @param from       The starting currency.
+     * @param to         The target currency, reached from {@code from}.
+     * @param parent     The id of the previous currency on the path, by id.
+     * @param parentRate The rate from the previous currency, by id.
+     * @return The rates of the path, in conversion order.
+     */
+    private static double[] tracePath(final Currency from,
+                                      final Currency to,
+                                      final int[] parent,
+                                      final double[] parentRate) {
+        int hops = 0;
+        for (int id = to.getId(); id != from.getId(); id = parent[id]) {
+            hops++;
+        }
+        double[] rates = new double[hops];
+        int id = to.getId();
+        for (int i = hops - 1; i >= 0; i--) {
+            rates[i] = parentRate[id];
+            id = parent[id];
+        }
+        return rates;
+    }
+
+    /**
+     * Looks for an arbitrage cycle with Bellman-Ford on the negated logarithms
+     * of the rates, starting from every currency at once. If the distances still
+     * improve after one round per currency, the last improved currency leads back
+     * into a cycle whose rates multiply to more than 1.
+     *
+     * @param graph      The adjacency lists of the graph.
+     * @param currencies The currencies of the graph, ordered by code.
+     * @param size       The number of interned currencies.
+     * @return The currencies of the cycle, starting and ending with the same one,
+     *         or an empty list if the rates have no arbitrage.
+     */
+    private static List<Currency> findArbitrage(final Map<Currency, ArrayList<Node>> graph,
+                                                final Currency[] currencies,
+                                                final int size) {
+        double[] gain = new double[size];
+        int[] parent = new int[size];
+        Currency[] byId = new Currency[size];
+        for (Currency currency: currencies) {
+            byId[currency.getId()] = currency;
+        }
+        int last = -1;
+        for (int round = 0; round <= currencies.length; round++) {
+            last = -1;
+            for (Currency current: currencies) {
+                for (Node adjNode: graph.get(current)) {
+                    int id = adjNode.getCurrency().getId();
+                    double candidate = gain[current.getId()] + Math.log(adjNode.getRate());
+                    if (candidate > gain[id] + EPSILON) {
+                        gain[id] = candidate;
+                        parent[id] = current.getId();
+                        last = id;
+                    }
+                }
+            }
+            if (last == -1) {
+                return Collections.emptyList();
+            }
+        }
+        int start = last;
+        for (int i = 0; i < currencies.length; i++) {
+            start = parent[start];
+        }
+        ArrayList<Currency> cycle = new ArrayList<>();
+        cycle.add(byId[start]);
+        for (int id = parent[start]; id != start; id = parent[id]) {
+            cycle.add(byId[id]);
+        }
+        cycle.add(byId[start]);
+        Collections.reverse(cycle);
+        return Collections.unmodifiableList(cycle);
+    }
+
+    /**
+     * Retrieves the arbitrage cycle found in the rates, if any.
+     *
+     * @return the currencies of the cycle in conversion order, starting and ending
+     *         with the same one, or an empty list if the rates have no arbitrage
+     */
+    public List<Currency> getArbitrageCycle() {
+        return arbitrageCycle;
+    }
+
+    /**
+     * Checks whether the rates contain an arbitrage cycle.
+     *
+     * @return {@code true} if some sequence of conversions gains money
+     */
+    public boolean hasArbitrage() {
+        return !arbitrageCycle.isEmpty();
+    }
+
+    /**
+     * Checks whether the currency was part of the graph when the snapshot was taken.
+     *
+     * @param currency the currency to check
+     * @return {@code true} if the currency has exchange rates
+     */
+    public boolean contains(final Currency currency) {
+        return currency.getId() < paths.length && paths[currency.getId()] != null;
+    }
+
+    /**
+     * Checks whether an amount can be converted between two currencies.
+     *
+     * @param from the currency of the amount
+     * @param to   the target currency
+     * @return {@code true} if the currencies are the same or a path links them
+     */
+    public boolean hasPath(final Currency from,
+                           final Currency to) {
+        if (from == to) {
+            return true;
+        }
+        if (!contains(from)) {
+            return false;
+        }
+        double[][] row = paths[from.getId()];
+        return to.getId() < row.length && row[to.getId()] != null;
+    }
+
+    /**
+     * Converts an amount between two currencies, applying the rates
+     * of the path between them one after the other.
+     * If the starting currency is unknown, an error is printed
+     * and the method returns -1, as it does when no valid path is found.
+     *
+     * @param from    The currency of the amount.
+     * @param to      The target currency.
+     * @param amount  The amount to be converted.
+     * @return The converted amount if a valid path is found, otherwise -1.
+     */
+    public double exchange(final Currency from,
+                           final Currency to,
+                           final double amount) {
+        if (from == to) {
+            return amount;
+        }
+        if (!contains(from)) {
+            System.out.println("The starting currency doesn't exist");
+            return -1;
+        }
+        double[][] row = paths[from.getId()];
+        if (to.getId() >= row.length || row[to.getId()] == null) {
+            return -1;
+        }
+        double result = amount;
+        for (double rate: row[to.getId()]) {
+            result *= rate;
+        }
+        return result;
+    }
+}
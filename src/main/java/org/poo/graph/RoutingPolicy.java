@@ -0,0 +1,51 @@
+package org.poo.graph;
+
+/**
+ * The rule used to choose the exchange path between two currencies.
+ * Paths are chosen once per {@link RateSnapshot}, so the policy only
+ * affects the cost of building a snapshot, not the cost of a conversion.
+ */
+public enum RoutingPolicy {
+    /**
+     * The first path found by a depth-first search: a direct rate if there is one,
+     * otherwise the neighbours are explored in the order their rates were added.
+     * This is the path the bank has always used, so it is the default.
+     */
+    DEPTH_FIRST,
+    /**
+     * The path with the fewest conversions; between paths of the same length,
+     * the one reached first in the order the rates were added.
+     */
+    FEWEST_HOPS,
+    /**
+     * The path whose rates have the largest product, so the converted amount
+     * is as large as possible. When the rates contain an arbitrage cycle
+     * the best path is unbounded, and the fewest hops path is used instead.
+     */
+    BEST_RATE;
+
+    /**
+     * Name of the system property that selects the routing policy of the bank.
+     */
+    public static final String PROPERTY = "bank.routing";
+
+    /**
+     * Retrieves the policy selected with the {@value #PROPERTY} system property
+     * ("depth_first", "fewest_hops" or "best_rate", in any case,
+     * with hyphens or underscores).
+     *
+     * @return the selected policy, or {@link #DEPTH_FIRST} if none or an unknown
+     *         one is selected
+     */
+    public static RoutingPolicy fromProperty() {
+        String name = System.getProperty(PROPERTY);
+        if (name != null) {
+            for (RoutingPolicy policy : values()) {
+                if (policy.name().equalsIgnoreCase(name.replace('-', '_'))) {
+                    return policy;
+                }
+            }
+        }
+        return DEPTH_FIRST;
+    }
+}
@@ -0,0 +1,111 @@
+package org.poo.main;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.poo.checker.CheckerConstants;
+import org.poo.command.Client;
+import org.poo.command.Command;
+import org.poo.command.CommandResult;
+import org.poo.command.CommandType;
+import org.poo.fileio.ObjectInput;
+import org.poo.fileio.commands.CommandRecord;
+import org.poo.output.ArrayNodeSink;
+import org.poo.output.OutputFormat;
+import org.poo.start.StartApp;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Use this to measure the allocation and time spent executing commands.
+ * The selected input file is replayed many times on a fresh bank, so the
+ * numbers cover command dispatch and execution and the serialization of the
+ * results (written to a null stream), but not the JSON parsing of the input.
+ * <p>
+ * The dispatch alone (looking up the handler of each command and invoking it)
+ * is measured separately, by replaying the commands on a single client whose
+ * handlers do nothing: it allocates nothing per command. The bytes allocated
+ * per command in a full replay come from the commands themselves (their
+ * transactions, exchange lookups and JSON results).
+ * </p>
+ */
+public final class Benchmark {
+    private static final String DEFAULT_INPUT = "test19_large_input_part2.json";
+    private static final int DEFAULT_REPETITIONS = 200;
+    private static final int NANOS_PER_MILLI = 1_000_000;
+
+    /**
+     * for coding style
+     */
+    private Benchmark() {
+    }
+
+    /**
+     * @param args optional input file name and number of repetitions
+     * @throws IOException in case of exceptions to reading the input
+     */
+    public static void main(final String[] args) throws IOException {
+        String fileName = DEFAULT_INPUT;
+        int repetitions = DEFAULT_REPETITIONS;
+        if (args.length > 0) {
+            fileName = args[0];
+        }
+        if (args.length > 1) {
+            repetitions = Integer.parseInt(args[1]);
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectInput inputData = objectMapper.readValue(
+                new File(CheckerConstants.TESTS_PATH + fileName), ObjectInput.class);
+
+        // warm up the JIT before measuring
+        replay(inputData, repetitions);
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+        long timeBefore = System.nanoTime();
+        replay(inputData, repetitions);
+        long elapsed = System.nanoTime() - timeBefore;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+
+        long commands = (long) inputData.getCommands().length * repetitions;
+        System.out.println("input:              " + fileName);
+        System.out.println("commands executed:  " + commands);
+        System.out.println("time:               " + elapsed / NANOS_PER_MILLI + " ms");
+        System.out.println("allocated:          " + allocated + " bytes");
+        System.out.println("allocated/command:  " + allocated / commands + " bytes");
+
+        Client client = new Client(inputData, objectMapper,
+                new ArrayNodeSink(objectMapper.createArrayNode()));
+        Command<CommandRecord> noop = (commandInput, context) -> CommandResult.EXECUTED;
+        for (CommandType type : CommandType.values()) {
+            client.getCommands().register(type, noop);
+        }
+        dispatch(client, inputData.getCommands(), repetitions);
+        bytesBefore = threads.getThreadAllocatedBytes(threadId);
+        dispatch(client, inputData.getCommands(), repetitions);
+        allocated = threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+        System.out.println("dispatch/command:   " + allocated / commands + " bytes");
+    }
+
+    private static void dispatch(final Client client,
+                                 final CommandRecord[] commands,
+                                 final int repetitions) {
+        for (int i = 0; i < repetitions; i++) {
+            for (CommandRecord commandInput : commands) {
+                client.executeAction(commandInput.command(), commandInput);
+            }
+        }
+    }
+
+    private static void replay(final ObjectInput inputData,
+                               final int repetitions) throws IOException {
+        for (int i = 0; i < repetitions; i++) {
+            StartApp.getInstance().start(inputData, OutputStream.nullOutputStream(),
+                    OutputFormat.JSON);
+        }
+    }
+}
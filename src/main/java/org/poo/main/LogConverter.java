@@ -0,0 +1,43 @@
+package org.poo.main;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.poo.fileio.CommandLog;
+import org.poo.fileio.CommandSource;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Converts an input file between JSON and the binary {@link CommandLog}:
+ * a JSON input is written as a log, and a log (a file ending with
+ * {@value CommandLog#EXTENSION}) is written back as JSON.
+ * The JSON input is streamed, so inputs of any size can be converted.
+ */
+public final class LogConverter {
+    /**
+     * for coding style
+     */
+    private LogConverter() {
+    }
+
+    /**
+     * @param args the input file and the output file
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    public static void main(final String[] args) throws IOException {
+        if (args.length != 2) {
+            System.out.println("Usage: LogConverter <input> <output>");
+            return;
+        }
+        ObjectMapper objectMapper = new ObjectMapper();
+        File input = new File(args[0]);
+        File output = new File(args[1]);
+        try (CommandSource source = CommandSource.open(objectMapper, input)) {
+            if (input.getName().endsWith(CommandLog.EXTENSION)) {
+                CommandLog.writeJson(source, objectMapper, output);
+            } else {
+                CommandLog.write(source, output.toPath());
+            }
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package org.poo.main;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.ObjectWriter;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import org.poo.checker.Checker;
 import org.poo.checker.CheckerConstants;
-import org.poo.fileio.ObjectInput;
+import org.poo.fileio.CommandPrefetcher;
+import org.poo.fileio.CommandSource;
+import org.poo.output.OutputFormat;
+import org.poo.output.OutputSink;
+import org.poo.output.PipelinedSink;
 import org.poo.start.StartApp;
 
 import java.io.File;
@@ -16,11 +18,21 @@ import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * The entry point to this homework. It runs the checker that tests your implementation.
  */
 public final class Main {
+    /**
+     * Name of the system property that turns the pipelined runs on or off.
+     */
+    public static final String PIPELINE_PROPERTY = "bank.pipeline";
+    /**
+     * Name of the system property that turns the sharded execution of the commands on or off.
+     */
+    public static final String SHARDED_PROPERTY = "bank.sharded";
+
     /**
      * for coding style
      */
@@ -32,6 +44,7 @@ public final class Main {
      * Call the checker
      * @param args from command line
      * @throws IOException in case of exceptions to reading / writing
+     * @see ParallelMain
      */
     public static void main(final String[] args) throws IOException {
         File directory = new File(CheckerConstants.TESTS_PATH);
@@ -63,23 +76,117 @@ public final class Main {
     }
 
     /**
+     * Runs an input file in the output format selected with
+     * the {@value OutputFormat#PROPERTY} system property (JSON by default).
+     *
      * @param filePath1 for input file
      * @param filePath2 for output file
      * @throws IOException in case of exceptions to reading / writing
      */
     public static void action(final String filePath1,
                               final String filePath2) throws IOException {
-        ObjectMapper objectMapper = new ObjectMapper();
-        File file = new File(CheckerConstants.TESTS_PATH + filePath1);
-        ObjectInput inputData = objectMapper.readValue(file, ObjectInput.class);
+        action(filePath1, filePath2, OutputFormat.fromProperty());
+    }
 
-        ArrayNode output = objectMapper.createArrayNode();
+    /**
+     * Runs an input file, reading its commands one at a time
+     * and writing each result as soon as it is produced.
+     * <p>
+     * When the run is pipelined, the commands are parsed on one thread,
+     * executed in order on this one, and their results written on a third,
+     * each stage waiting for the next one when it gets too far ahead.
+     * </p>
+     *
+     * @param filePath1 for input file
+     * @param filePath2 for output file
+     * @param format the layout of the output file
+     * @throws IOException in case of exceptions to reading / writing
+     * @see #isPipelined()
+     */
+    public static void action(final String filePath1,
+                              final String filePath2,
+                              final OutputFormat format) throws IOException {
+        action(new File(CheckerConstants.TESTS_PATH + filePath1), new File(filePath2), format);
+    }
 
+    /**
+     * Runs an input file given by its path rather than by its name
+     * in the tests directory.
+     *
+     * @param file the input file
+     * @param outFile the output file
+     * @param format the layout of the output file
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    static void action(final File file,
+                       final File outFile,
+                       final OutputFormat format) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
         StartApp start = StartApp.getInstance();
-        start.start(inputData, output);
 
-        ObjectWriter objectWriter = objectMapper.writerWithDefaultPrettyPrinter();
-        objectWriter.writeValue(new File(filePath2), output);
+        if (!isPipelined()) {
+            try (CommandSource input = CommandSource.open(objectMapper, file);
+                 OutputSink output = format.open(objectMapper, outFile)) {
+                run(start, input, output);
+            }
+            return;
+        }
+        try (CommandPrefetcher input = new CommandPrefetcher(
+                     CommandSource.open(objectMapper, file));
+             OutputSink output = new PipelinedSink(
+                     format.open(objectMapper, outFile), objectMapper)) {
+            run(start, input, output);
+        }
+    }
+
+    /**
+     * Executes the commands of an input, sharded over the common
+     * fork/join pool when {@link #isSharded()}.
+     *
+     * @param start the application
+     * @param input the input file
+     * @param output the sink of the results
+     */
+    private static void run(final StartApp start,
+                            final CommandSource input,
+                            final OutputSink output) {
+        if (isSharded()) {
+            start.start(input.getHeader(), input, output, ForkJoinPool.commonPool());
+        } else {
+            start.start(input.getHeader(), input, output);
+        }
+    }
+
+    /**
+     * Checks whether the runs are pipelined, as selected with the
+     * {@value #PIPELINE_PROPERTY} system property ("true" or "false").
+     * By default they are when there is more than one processor,
+     * since on a single one the stages can't overlap.
+     *
+     * @return {@code true} if parsing and writing run on their own threads
+     */
+    public static boolean isPipelined() {
+        String pipeline = System.getProperty(PIPELINE_PROPERTY);
+        if (pipeline != null) {
+            return Boolean.parseBoolean(pipeline);
+        }
+        return Runtime.getRuntime().availableProcessors() > 1;
+    }
+
+    /**
+     * Checks whether the commands of a run are sharded, as selected with the
+     * {@value #SHARDED_PROPERTY} system property ("true" or "false"):
+     * the commands touching different users then run at the same time.
+     * By default they are when there is more than one processor.
+     *
+     * @return {@code true} if the commands of a run may execute on several threads
+     */
+    public static boolean isSharded() {
+        String sharded = System.getProperty(SHARDED_PROPERTY);
+        if (sharded != null) {
+            return Boolean.parseBoolean(sharded);
+        }
+        return Runtime.getRuntime().availableProcessors() > 1;
     }
 
     /**
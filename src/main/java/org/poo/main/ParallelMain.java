@@ -0,0 +1,122 @@
+package org.poo.main;
+
+import org.poo.checker.Checker;
+import org.poo.checker.CheckerConstants;
+import org.poo.output.OutputFormat;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Entry point that runs the checker like {@link Main}, but runs the input files
+ * at the same time, one per processor, each with its own bank; the checker
+ * starts once every one of them is written. Each file is run as
+ * {@link Main#action(String, String)} runs it, so the results are the same as
+ * with {@link Main}.
+ */
+public final class ParallelMain {
+    /**
+     * for coding style
+     */
+    private ParallelMain() {
+    }
+
+    /**
+     * Runs every input file, then the checker.
+     *
+     * @param args from command line
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    public static void main(final String[] args) throws IOException {
+        File directory = new File(CheckerConstants.TESTS_PATH);
+        Path path = Paths.get(CheckerConstants.RESULT_PATH);
+
+        if (Files.exists(path)) {
+            File resultFile = new File(String.valueOf(path));
+            for (File file : Objects.requireNonNull(resultFile.listFiles())) {
+                file.delete();
+            }
+            resultFile.delete();
+        }
+        Files.createDirectories(path);
+
+        var sortedFiles = Arrays.stream(Objects.requireNonNull(directory.listFiles())).
+                sorted(Comparator.comparingInt(Main::fileConsumer))
+                .toList();
+
+        runAll(sortedFiles, CheckerConstants.OUT_PATH, OutputFormat.fromProperty());
+
+        Checker.calculateScore();
+    }
+
+    /**
+     * Runs input files at the same time, one per processor, and waits for
+     * every one of them. A file whose output already exists is not run.
+     *
+     * @param inputs the input files
+     * @param outPath the prefix of the output files, followed by the names of the inputs
+     * @param format the layout of the output files
+     * @throws IOException if a run failed to read or write its files
+     */
+    static void runAll(final List<File> inputs,
+                       final String outPath,
+                       final OutputFormat format) throws IOException {
+        ExecutorService runs = Executors.newFixedThreadPool(
+                Runtime.getRuntime().availableProcessors());
+        try {
+            List<Future<Void>> results = new ArrayList<>();
+            for (File file : inputs) {
+                File out = new File(outPath + file.getName());
+                boolean isCreated = out.createNewFile();
+                if (isCreated) {
+                    results.add(runs.submit(() -> {
+                        Main.action(file, out, format);
+                        return null;
+                    }));
+                }
+            }
+            for (Future<Void> result : results) {
+                await(result);
+            }
+        } finally {
+            runs.shutdown();
+        }
+    }
+
+    /**
+     * Waits for the run of an input file to end.
+     *
+     * @param result the pending run
+     * @throws IOException if the run failed to read or write its files
+     */
+    private static void await(final Future<Void> result) throws IOException {
+        try {
+            result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a run");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
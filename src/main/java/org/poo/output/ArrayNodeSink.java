@@ -0,0 +1,72 @@
+package org.poo.output;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
+/**
+ * Sink that keeps every result in memory, in an {@link ArrayNode}.
+ * <p>
+ * Results may hold values that are only serialized when written
+ * (such as lists of users). Those results are converted to plain trees
+ * when they are added, so the array reflects the state of the bank
+ * at the time of each command.
+ * </p>
+ */
+public class ArrayNodeSink implements OutputSink {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final ArrayNode results;
+
+    public ArrayNodeSink(final ArrayNode results) {
+        this.results = results;
+    }
+
+    /**
+     * Adds the result of a command to the array.
+     *
+     * @param result the JSON result of the command
+     */
+    @Override
+    public void add(final JsonNode result) {
+        if (hasPojo(result)) {
+            results.add(MAPPER.<JsonNode>valueToTree(result));
+        } else {
+            results.add(result);
+        }
+    }
+
+    /**
+     * Checks whether a tree holds a value that is serialized only when written.
+     *
+     * @param node the root of the tree
+     * @return {@code true} if some node of the tree is a POJO node
+     */
+    static boolean hasPojo(final JsonNode node) {
+        if (node.isPojo()) {
+            return true;
+        }
+        for (JsonNode child : node) {
+            if (hasPojo(child)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Retrieves the array holding the results.
+     *
+     * @return the results added so far
+     */
+    public ArrayNode getResults() {
+        return results;
+    }
+
+    /**
+     * Nothing to release: the results stay available in the array.
+     */
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,97 @@
+package org.poo.output;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.POJONode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+/**
+ * A value placed in a result that is serialized only when the result is written,
+ * reading the state of the bank at that time.
+ * <p>
+ * A sink that writes the results later, on another thread, captures these values
+ * when the results are added, with {@link #captureAll(JsonNode, ObjectMapper)},
+ * so that they are written as they were when the command ran.
+ * </p>
+ */
+public interface DeferredValue {
+    /**
+     * Captures the value as it is now.
+     *
+     * @param objectMapper the mapper used to serialize the value
+     * @return a value that serializes to the same JSON as this one does now,
+     *         even after the bank changes, and that can be written from any thread
+     *         (this value itself if what it reads never changes)
+     * @throws IOException if the value cannot be serialized
+     */
+    Object capture(ObjectMapper objectMapper) throws IOException;
+
+    /**
+     * Captures the values of a result that are only serialized when written:
+     * the {@link DeferredValue}s are replaced by their captures in a copy of
+     * the result, and any other value by serializing the whole result into a
+     * token buffer.
+     *
+     * @param result the JSON result of a command
+     * @param objectMapper the mapper used to serialize the values
+     * @return the result itself if it holds no such value,
+     *         or a copy of it holding the captured values
+     * @throws UncheckedIOException if a value cannot be serialized
+     */
+    static JsonNode captureAll(final JsonNode result,
+                               final ObjectMapper objectMapper) {
+        if (!ArrayNodeSink.hasPojo(result)) {
+            return result;
+        }
+        try {
+            JsonNode copy = result.deepCopy();
+            if (captureValues(copy, objectMapper)) {
+                return copy;
+            }
+            TokenBuffer tokens = new TokenBuffer(objectMapper, false);
+            objectMapper.writeTree(tokens, result);
+            return new POJONode(tokens);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Replaces the {@link DeferredValue}s of a copied tree by their captures.
+     *
+     * @param node the root of the copied tree
+     * @param objectMapper the mapper used to serialize the values
+     * @return {@code false} if the tree holds a POJO that cannot be captured
+     *         this way, in which case the whole result has to be serialized now
+     * @throws IOException if a value cannot be captured
+     */
+    private static boolean captureValues(final JsonNode node,
+                                         final ObjectMapper objectMapper)
+            throws IOException {
+        if (node instanceof ObjectNode object) {
+            for (Map.Entry<String, JsonNode> field : object.properties()) {
+                JsonNode child = field.getValue();
+                if (child instanceof POJONode pojo) {
+                    if (!(pojo.getPojo() instanceof DeferredValue value)) {
+                        return false;
+                    }
+                    field.setValue(new POJONode(value.capture(objectMapper)));
+                } else if (!captureValues(child, objectMapper)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        for (JsonNode child : node) {
+            if (child.isPojo() || !captureValues(child, objectMapper)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
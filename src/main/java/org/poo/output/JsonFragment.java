@@ -0,0 +1,162 @@
+package org.poo.output;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.PrettyPrinter;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A JSON value that never changes, kept pre-encoded so that writing it again
+ * is a copy of its bytes into the output.
+ * <p>
+ * The encoded text depends on the layout of the output: compact, or pretty-printed
+ * with {@link DefaultPrettyPrinter} at some depth, since the default printer indents
+ * the value by the number of objects around it. A value written only once costs
+ * nothing extra: the first time, the value is written field by field, and it is
+ * encoded for a layout the second time that layout is needed. Outputs with any
+ * other pretty printer, and generators that don't write JSON text (such as the
+ * token buffers used to build trees), always get the value written field by field.
+ * </p>
+ */
+public final class JsonFragment {
+    private static final JsonFactory FACTORY = new JsonFactory();
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int MAX_LAYOUTS = Integer.SIZE;
+    private static final SerializedString[] NONE = new SerializedString[0];
+
+    private final Source source;
+    private volatile SerializedString[] encoded = NONE;
+    private final AtomicInteger written = new AtomicInteger();
+
+    /**
+     * The default pretty printer, starting at a given indentation level,
+     * so that the value is encoded as it appears at that depth of the output.
+     */
+    private static final class IndentedPrinter extends DefaultPrettyPrinter {
+        private static final long serialVersionUID = 1L;
+
+        IndentedPrinter(final int nesting) {
+            _nesting = nesting;
+        }
+    }
+
+    /**
+     * Writes the value of a fragment to a generator, field by field.
+     */
+    @FunctionalInterface
+    public interface Source {
+        /**
+         * Writes the value.
+         *
+         * @param generator the generator the value is written to
+         * @throws IOException if the value cannot be written
+         */
+        void writeTo(JsonGenerator generator) throws IOException;
+    }
+
+    /**
+     * Creates a fragment for the value written by the given source.
+     * The source must write the same value every time.
+     *
+     * @param source the writer of the value
+     */
+    public JsonFragment(final Source source) {
+        this.source = source;
+    }
+
+    /**
+     * Writes the value to the generator, splicing in its encoded text
+     * for the layout of the generator once the value is written again.
+     *
+     * @param generator the generator the value is written to
+     * @throws IOException if the value cannot be written
+     */
+    public void writeTo(final JsonGenerator generator) throws IOException {
+        PrettyPrinter prettyPrinter = generator.getPrettyPrinter();
+        int layout;
+        if (!(generator instanceof JsonGeneratorImpl)) {
+            layout = MAX_LAYOUTS;
+        } else if (prettyPrinter == null) {
+            layout = 0;
+        } else if (prettyPrinter.getClass() == DefaultPrettyPrinter.class) {
+            layout = 1 + enclosingObjects(generator.getOutputContext());
+        } else {
+            layout = MAX_LAYOUTS;
+        }
+        if (layout >= MAX_LAYOUTS || firstWrite(layout)) {
+            source.writeTo(generator);
+            return;
+        }
+        SerializedString[] current = encoded;
+        SerializedString text = null;
+        if (layout < current.length) {
+            text = current[layout];
+        }
+        if (text == null) {
+            text = encode(layout);
+            SerializedString[] updated = Arrays.copyOf(current,
+                    Math.max(current.length, layout + 1));
+            updated[layout] = text;
+            encoded = updated;
+        }
+        generator.writeRawValue(text);
+    }
+
+    /**
+     * Marks a layout as written, atomically, since the same fragment
+     * may be written by several threads at once.
+     *
+     * @param layout the layout the value is written in
+     * @return {@code true} if the value wasn't written in this layout before
+     */
+    private boolean firstWrite(final int layout) {
+        int bit = 1 << layout;
+        return (written.getAndAccumulate(bit, (a, b) -> a | b) & bit) == 0;
+    }
+
+    /**
+     * Counts the objects around the current position of a generator,
+     * which is the indentation level of {@link DefaultPrettyPrinter} there
+     * (arrays are laid out inline and don't indent).
+     *
+     * @param context the output context of the generator
+     * @return the number of enclosing objects
+     */
+    private static int enclosingObjects(final JsonStreamContext context) {
+        int objects = 0;
+        for (JsonStreamContext current = context; current != null;
+             current = current.getParent()) {
+            if (current.inObject()) {
+                objects++;
+            }
+        }
+        return objects;
+    }
+
+    /**
+     * Encodes the value for a layout.
+     *
+     * @param layout 0 for compact output, or 1 plus the indentation level
+     *               of the value for the default pretty printer
+     * @return the encoded value
+     * @throws IOException if the source fails to write the value
+     */
+    private SerializedString encode(final int layout) throws IOException {
+        StringWriter out = new StringWriter(INITIAL_CAPACITY);
+        try (JsonGenerator generator = FACTORY.createGenerator(out)) {
+            if (layout > 0) {
+                generator.setPrettyPrinter(new IndentedPrinter(layout - 1));
+            }
+            source.writeTo(generator);
+        }
+        return new SerializedString(out.toString());
+    }
+}
@@ -0,0 +1,96 @@
+package org.poo.output;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Sink that writes every result to a JSON array as soon as it is added,
+ * so the results of a run never have to be held in memory together.
+ * <p>
+ * The array is pretty-printed with Jackson's {@link DefaultPrettyPrinter},
+ * so the file is byte for byte the one written by
+ * {@code writerWithDefaultPrettyPrinter().writeValue(file, array)}.
+ * </p>
+ */
+public class JsonGeneratorSink implements OutputSink {
+    private final JsonGenerator generator;
+
+    /**
+     * Starts the output array on the given generator.
+     * The generator needs a codec (as the ones created by an {@link ObjectMapper} do)
+     * to write the results, and is closed with the sink.
+     *
+     * @param generator the generator the results are written to
+     * @throws IOException if the start of the array cannot be written
+     */
+    public JsonGeneratorSink(final JsonGenerator generator) throws IOException {
+        this.generator = generator;
+        generator.setPrettyPrinter(new DefaultPrettyPrinter());
+        generator.writeStartArray();
+    }
+
+    /**
+     * Creates a sink that writes the results to a stream, in UTF-8.
+     *
+     * @param objectMapper the mapper used to serialize the results
+     * @param out the output stream, closed with the sink
+     * @return the sink writing to the stream
+     * @throws IOException if the start of the array cannot be written
+     */
+    public static JsonGeneratorSink toStream(final ObjectMapper objectMapper,
+                                             final OutputStream out) throws IOException {
+        return new JsonGeneratorSink(objectMapper.getFactory()
+                .createGenerator(out, JsonEncoding.UTF8));
+    }
+
+    /**
+     * Creates a sink that writes the results to a file, in UTF-8.
+     *
+     * @param objectMapper the mapper used to serialize the results
+     * @param file the output file, created or truncated
+     * @return the sink writing to the file
+     * @throws IOException if the file cannot be opened
+     */
+    public static JsonGeneratorSink toFile(final ObjectMapper objectMapper,
+                                           final File file) throws IOException {
+        return new JsonGeneratorSink(objectMapper.getFactory()
+                .createGenerator(file, JsonEncoding.UTF8));
+    }
+
+    /**
+     * Writes the result of a command at the end of the array.
+     *
+     * @param result the JSON result of the command
+     * @throws UncheckedIOException if the result cannot be written
+     */
+    @Override
+    public void add(final JsonNode result) {
+        try {
+            generator.writeTree(result);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Ends the array and closes the generator, together with its file.
+     *
+     * @throws IOException if the end of the array cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            generator.writeEndArray();
+        } finally {
+            generator.close();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package org.poo.output;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Sink that writes every result as one compact JSON object per line (NDJSON).
+ * <p>
+ * The lines are buffered by the generator and flushed every
+ * {@value #FLUSH_INTERVAL} lines, so the file can be followed while the run is
+ * in progress without paying a write for every result. Another interval can be
+ * selected with the {@value #FLUSH_PROPERTY} system property: 1 flushes every
+ * line, and {@value #FLUSH_ON_CLOSE} only flushes when the sink is closed.
+ * </p>
+ */
+public class NdjsonSink implements OutputSink {
+    /**
+     * Name of the system property that selects the number of lines
+     * written between two flushes.
+     */
+    public static final String FLUSH_PROPERTY = "bank.flush";
+
+    /**
+     * Number of lines written between two flushes unless another is selected.
+     */
+    public static final int FLUSH_INTERVAL = 64;
+
+    /**
+     * Flush interval meaning that the lines are only flushed on close.
+     */
+    public static final int FLUSH_ON_CLOSE = 0;
+
+    private final JsonGenerator generator;
+    private final ObjectWriter writer;
+    private final int flushInterval;
+    private int unflushed;
+
+    /**
+     * Creates a sink writing to the given generator, which is closed with the sink.
+     * The generator needs an {@link ObjectMapper} as its codec (as the ones created
+     * by a mapper have) to write the results. The results are written without
+     * the flush the mapper makes after every value by default
+     * ({@link SerializationFeature#FLUSH_AFTER_WRITE_VALUE}), so that only the
+     * flush interval decides when the lines reach the output.
+     *
+     * @param generator the generator the results are written to
+     * @param flushInterval the number of lines written between two flushes,
+     *                      or {@link #FLUSH_ON_CLOSE}
+     */
+    public NdjsonSink(final JsonGenerator generator,
+                      final int flushInterval) {
+        this.generator = generator;
+        this.writer = ((ObjectMapper) generator.getCodec()).writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.flushInterval = flushInterval;
+        generator.setPrettyPrinter(null);
+        generator.setRootValueSeparator(null);
+    }
+
+    /**
+     * Retrieves the flush interval selected with the {@value #FLUSH_PROPERTY}
+     * system property.
+     *
+     * @return the selected interval, or {@link #FLUSH_INTERVAL} if none
+     * or an invalid one is selected
+     */
+    public static int flushIntervalFromProperty() {
+        int interval = Integer.getInteger(FLUSH_PROPERTY, FLUSH_INTERVAL);
+        return interval < FLUSH_ON_CLOSE ? FLUSH_INTERVAL : interval;
+    }
+
+    /**
+     * Creates a sink that writes the results to a stream, in UTF-8.
+     *
+     * @param objectMapper the mapper used to serialize the results
+     * @param out the output stream, closed with the sink
+     * @param flushInterval the number of lines written between two flushes,
+     *                      or {@link #FLUSH_ON_CLOSE}
+     * @return the sink writing to the stream
+     * @throws IOException if the generator cannot be created
+     */
+    public static NdjsonSink toStream(final ObjectMapper objectMapper,
+                                      final OutputStream out,
+                                      final int flushInterval) throws IOException {
+        return new NdjsonSink(objectMapper.getFactory()
+                .createGenerator(out, JsonEncoding.UTF8), flushInterval);
+    }
+
+    /**
+     * Creates a sink that writes the results to a file, in UTF-8.
+     *
+     * @param objectMapper the mapper used to serialize the results
+     * @param file the output file, created or truncated
+     * @param flushInterval the number of lines written between two flushes,
+     *                      or {@link #FLUSH_ON_CLOSE}
+     * @return the sink writing to the file
+     * @throws IOException if the file cannot be opened
+     */
+    public static NdjsonSink toFile(final ObjectMapper objectMapper,
+                                    final File file,
+                                    final int flushInterval) throws IOException {
+        return new NdjsonSink(objectMapper.getFactory()
+                .createGenerator(file, JsonEncoding.UTF8), flushInterval);
+    }
+
+    /**
+     * Writes the result of a command on its own line,
+     * flushing the lines once the flush interval is reached.
+     *
+     * @param result the JSON result of the command
+     * @throws UncheckedIOException if the result cannot be written
+     */
+    @Override
+    public void add(final JsonNode result) {
+        try {
+            writer.writeValue(generator, result);
+            generator.writeRaw('\n');
+            if (flushInterval != FLUSH_ON_CLOSE && ++unflushed == flushInterval) {
+                unflushed = 0;
+                generator.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Closes the generator, together with its output.
+     *
+     * @throws IOException if the output cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
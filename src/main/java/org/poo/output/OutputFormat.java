@@ -0,0 +1,93 @@
+package org.poo.output;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Layout of the output file of a run.
+ */
+public enum OutputFormat {
+    /**
+     * One pretty-printed JSON array holding every result, as expected by the checker.
+     */
+    JSON {
+        @Override
+        public OutputSink open(final ObjectMapper objectMapper,
+                               final OutputStream out) throws IOException {
+            return JsonGeneratorSink.toStream(objectMapper, out);
+        }
+
+        @Override
+        public OutputSink open(final ObjectMapper objectMapper,
+                               final File file) throws IOException {
+            return JsonGeneratorSink.toFile(objectMapper, file);
+        }
+    },
+    /**
+     * One compact JSON object per line and per result, flushed as selected
+     * with the {@value NdjsonSink#FLUSH_PROPERTY} system property.
+     */
+    NDJSON {
+        @Override
+        public OutputSink open(final ObjectMapper objectMapper,
+                               final OutputStream out) throws IOException {
+            return NdjsonSink.toStream(objectMapper, out,
+                    NdjsonSink.flushIntervalFromProperty());
+        }
+
+        @Override
+        public OutputSink open(final ObjectMapper objectMapper,
+                               final File file) throws IOException {
+            return NdjsonSink.toFile(objectMapper, file,
+                    NdjsonSink.flushIntervalFromProperty());
+        }
+    };
+
+    /**
+     * Name of the system property that selects the format of the output files.
+     */
+    public static final String PROPERTY = "bank.output";
+
+    /**
+     * Opens a sink writing the results to a stream in this format.
+     *
+     * @param objectMapper the mapper used to serialize the results
+     * @param out the output stream, closed with the sink
+     * @return the sink writing to the stream
+     * @throws IOException if the output cannot be started
+     */
+    public abstract OutputSink open(ObjectMapper objectMapper,
+                                    OutputStream out) throws IOException;
+
+    /**
+     * Opens a sink writing the results to a file in this format.
+     *
+     * @param objectMapper the mapper used to serialize the results
+     * @param file the output file, created or truncated
+     * @return the sink writing to the file
+     * @throws IOException if the file cannot be opened
+     */
+    public abstract OutputSink open(ObjectMapper objectMapper,
+                                    File file) throws IOException;
+
+    /**
+     * Retrieves the format selected with the {@value #PROPERTY} system property
+     * ("json" or "ndjson", in any case).
+     *
+     * @return the selected format, or {@link #JSON} if none or an unknown one is selected
+     */
+    public static OutputFormat fromProperty() {
+        String name = System.getProperty(PROPERTY);
+        if (name != null) {
+            for (OutputFormat format : values()) {
+                if (format.name().equalsIgnoreCase(name)) {
+                    return format;
+                }
+            }
+        }
+        return JSON;
+    }
+}
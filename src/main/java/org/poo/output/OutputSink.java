@@ -0,0 +1,19 @@
+package org.poo.output;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.Closeable;
+
+/**
+ * Destination of the results of the commands, in the order they are produced.
+ * A result must not be changed once it is added, since a sink
+ * may write it out right away.
+ */
+public interface OutputSink extends Closeable {
+    /**
+     * Adds the result of a command to the output.
+     *
+     * @param result the JSON result of the command
+     */
+    void add(JsonNode result);
+}
@@ -0,0 +1,155 @@
+package org.poo.output;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Sink that hands the results to another sink running on its own thread,
+ * so that encoding and writing the results overlaps with executing the commands.
+ * <p>
+ * The results wait in a bounded queue: when the writer falls behind,
+ * adding a result blocks until there is room again, so a slow output
+ * never makes the results pile up in memory.
+ * </p>
+ * <p>
+ * Results holding values that are only serialized when written (such as
+ * lists of users) would see the bank change under them while they wait.
+ * Those values are captured as {@link DeferredValue}s when the result is added
+ * (any other value by serializing the whole result into a token buffer),
+ * so the output still reflects the state of the bank at the time of each
+ * command; the other results are immutable and are queued as they are.
+ * </p>
+ */
+public class PipelinedSink implements OutputSink {
+    /**
+     * Number of results that may wait for the writer.
+     */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private static final JsonNode END = JsonNodeFactory.instance.objectNode();
+
+    private final OutputSink output;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<JsonNode> queue;
+    private final Thread writer;
+    private volatile Throwable failure;
+
+    /**
+     * Starts the writer thread of the given sink, with the default capacity.
+     *
+     * @param output the sink the results are written to, closed with this sink
+     * @param objectMapper the mapper used to capture the results
+     */
+    public PipelinedSink(final OutputSink output,
+                         final ObjectMapper objectMapper) {
+        this(output, objectMapper, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Starts the writer thread of the given sink.
+     *
+     * @param output the sink the results are written to, closed with this sink
+     * @param objectMapper the mapper used to capture the results
+     * @param capacity the number of results that may wait for the writer
+     */
+    public PipelinedSink(final OutputSink output,
+                         final ObjectMapper objectMapper,
+                         final int capacity) {
+        this.output = output;
+        this.objectMapper = objectMapper;
+        queue = new ArrayBlockingQueue<>(capacity);
+        writer = new Thread(this::write, "bank-output");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Writes the queued results until the end of the output.
+     * After a failure the results are still taken off the queue,
+     * so that adding a result never blocks forever.
+     */
+    private void write() {
+        try {
+            for (JsonNode result = queue.take(); result != END; result = queue.take()) {
+                if (failure == null) {
+                    try {
+                        output.add(result);
+                    } catch (RuntimeException | Error e) {
+                        failure = e;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Queues the result of a command, waiting for room if the writer is behind.
+     *
+     * @param result the JSON result of the command
+     * @throws UncheckedIOException if a previous result could not be written,
+     *                              or if the thread is interrupted while waiting
+     */
+    @Override
+    public void add(final JsonNode result) {
+        checkFailure();
+        try {
+            queue.put(DeferredValue.captureAll(result, objectMapper));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(new InterruptedIOException(
+                    "Interrupted while waiting for the output"));
+        }
+    }
+
+    /**
+     * Rethrows the failure of the writer thread, if any.
+     *
+     * @throws UncheckedIOException if the writer failed to write a result
+     */
+    private void checkFailure() {
+        Throwable current = failure;
+        if (current instanceof UncheckedIOException e) {
+            throw new UncheckedIOException(e.getMessage(), e.getCause());
+        }
+        if (current instanceof Error e) {
+            throw e;
+        }
+        if (current != null) {
+            throw new UncheckedIOException(new IOException(current));
+        }
+    }
+
+    /**
+     * Waits for the queued results to be written and closes the output.
+     *
+     * @throws IOException if a result could not be written, if the output
+     *                     cannot be closed, or if the thread is interrupted
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            queue.put(END);
+            writer.join();
+        } catch (InterruptedException e) {
+            writer.interrupt();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the output");
+        }
+        try {
+            checkFailure();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            output.close();
+        }
+    }
+}
@@ -3,33 +3,34 @@ package org.poo.start;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import org.poo.command.Client;
-import org.poo.fileio.CommandInput;
 import org.poo.fileio.ObjectInput;
-import org.poo.utils.Utils;
+import org.poo.fileio.commands.CommandRecord;
+import org.poo.output.ArrayNodeSink;
+import org.poo.output.OutputFormat;
+import org.poo.output.OutputSink;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
 
 
 public final class StartApp {
-    private static StartApp instance;
+    private static final StartApp INSTANCE = new StartApp();
 
     private StartApp() {
 
     }
     /**
      * Returns the singleton instance of the {@code StartApp} class.
-     * This method ensures that only one instance of the {@code StartApp} class is created
-     * (following the Singleton design pattern). If an instance does not already exist,
-     * it creates one; otherwise, it returns the existing instance.
+     * The instance holds no state: every run builds its own {@link Client}
+     * and {@link org.poo.bank.BankContext}, so it may be shared by runs
+     * executing on different threads.
      * @return the singleton instance of {@code StartApp}
      */
     public static StartApp getInstance() {
-        if (instance == null) {
-            instance = new StartApp();
-        }
-        return instance;
-    }
-
-    private void clear() {
-        instance = null;
+        return INSTANCE;
     }
 
     /**
@@ -37,28 +38,96 @@ public final class StartApp {
      * It creates a {@link Client} instance
      * and processes each command in the list.
      * For each command, the appropriate action is executed.
-     * If an {@link IllegalArgumentException} is thrown during the execution of a command,
-     * it is caught, and the next command
-     * is processed. Once all commands are processed, the random number generator is reset.
+     * Invalid or rejected commands are reported through their result
+     * and the next command is processed.
+     *
+     * @param objectInput  The {@link ObjectInput}
+     *                     containing the commands to be executed.
+     * @param output       The {@link OutputSink}
+     *                     where the results of the executed commands are written.
+     */
+    public void start(final ObjectInput objectInput,
+                        final OutputSink output) {
+        start(objectInput, Arrays.asList(objectInput.getCommands()).iterator(), output);
+    }
+
+    /**
+     * Starts the execution of commands read one at a time, such as the
+     * commands of a {@link org.poo.fileio.CommandReader}. Only the command
+     * being executed needs to be in memory, so the input may hold
+     * more commands than fit on the heap.
+     *
+     * @param header       The {@link ObjectInput} with the users, exchange rates
+     *                     and merchants of the bank; its commands are not used.
+     * @param commands     The commands to be executed, in order.
+     * @param output       The {@link OutputSink}
+     *                     where the results of the executed commands are written.
+     */
+    public void start(final ObjectInput header,
+                        final Iterator<CommandRecord> commands,
+                        final OutputSink output) {
+        ObjectMapper objectMapper = new ObjectMapper();
+        Client client = new Client(header, objectMapper, output);
+        while (commands.hasNext()) {
+            CommandRecord commandInput = commands.next();
+            client.executeAction(commandInput.command(), commandInput);
+        }
+    }
+
+    /**
+     * Starts the execution of commands read one at a time, running the commands
+     * that touch different users at the same time on the given workers.
+     * The results are the same, and in the same order, as those of a serial run.
+     *
+     * @param header       The {@link ObjectInput} with the users, exchange rates
+     *                     and merchants of the bank; its commands are not used.
+     * @param commands     The commands to be executed, in order.
+     * @param output       The {@link OutputSink}
+     *                     where the results of the executed commands are written.
+     * @param workers      The threads the commands may run on.
+     * @see Client#executeAll(Iterator, ExecutorService)
+     */
+    public void start(final ObjectInput header,
+                        final Iterator<CommandRecord> commands,
+                        final OutputSink output,
+                        final ExecutorService workers) {
+        ObjectMapper objectMapper = new ObjectMapper();
+        Client client = new Client(header, objectMapper, output);
+        client.executeAll(commands, workers);
+    }
+
+    /**
+     * Starts the execution of commands from the provided {@link ObjectInput},
+     * keeping the results in memory.
      *
      * @param objectInput  The {@link ObjectInput}
      *                     containing the commands to be executed.
      * @param output       The {@link ArrayNode}
      *                     where the results of the executed commands will be stored.
+     * @see #start(ObjectInput, OutputSink)
      */
     public void start(final ObjectInput objectInput,
                         final ArrayNode output) {
-        ObjectMapper objectMapper = new ObjectMapper();
-        Client client = new Client(objectInput, objectMapper, output);
-        for (CommandInput commandInput: objectInput.getCommands()) {
-            try {
-                client.executeAction(commandInput.getCommand(), commandInput);
-            } catch (IllegalArgumentException e) {
-                continue;
-            }
+        start(objectInput, new ArrayNodeSink(output));
+    }
+
+    /**
+     * Starts the execution of commands from the provided {@link ObjectInput},
+     * writing the results to a stream in the given format as they are produced.
+     * The stream is closed once all commands are processed.
+     *
+     * @param objectInput  The {@link ObjectInput}
+     *                     containing the commands to be executed.
+     * @param out          The stream the results are written to.
+     * @param format       The layout of the results.
+     * @throws IOException if the results cannot be written
+     */
+    public void start(final ObjectInput objectInput,
+                        final OutputStream out,
+                        final OutputFormat format) throws IOException {
+        try (OutputSink output = format.open(new ObjectMapper(), out)) {
+            start(objectInput, output);
         }
-        Utils.resetRandom();
-        clear();
     }
 
 
@@ -0,0 +1,123 @@
+package org.poo.utils;
+
+/**
+ * Generator of the IBANs and card numbers of one run of the bank.
+ * <p>
+ * Every generator starts from the same seeds, so each run issues the same
+ * sequence of identifiers however many runs came before it or run alongside it.
+ * A generator is not thread-safe: it belongs to the run that created it.
+ * </p>
+ * <p>
+ * The digits are drawn from the same sequence as {@code new Random(seed).nextInt(10)},
+ * computed inline on a plain {@code long} rather than through the atomic seed of
+ * {@link java.util.Random}, and written straight into a reusable buffer. Every
+ * identifier issued is also kept, as a number, in a set of its own kind: a number
+ * that was already issued is skipped and the next one drawn, so no card or account
+ * can shadow another in the registry.
+ * </p>
+ */
+public final class IdGenerator {
+    private static final int IBAN_SEED = 1;
+    private static final int CARD_SEED = 2;
+    private static final int DIGIT_GENERATION = 16;
+    private static final String IBAN_PREFIX = "RO";
+    private static final String IBAN_BANK = "POOB";
+    private static final int IBAN_LENGTH = IBAN_PREFIX.length() * 2
+            + IBAN_BANK.length() + DIGIT_GENERATION;
+
+    private final Digits ibanDigits = new Digits(IBAN_SEED);
+    private final Digits cardDigits = new Digits(CARD_SEED);
+    private final LongHashSet issuedIbans = new LongHashSet();
+    private final LongHashSet issuedCards = new LongHashSet();
+    private final char[] iban = new char[IBAN_LENGTH];
+    private final char[] card = new char[DIGIT_GENERATION];
+
+    public IdGenerator() {
+        IBAN_PREFIX.getChars(0, IBAN_PREFIX.length(), iban, 0);
+        IBAN_BANK.getChars(0, IBAN_BANK.length(), iban, IBAN_PREFIX.length() * 2);
+    }
+
+    /**
+     * Generates the next IBAN code: "RO", two check digits, "POOB"
+     * and sixteen digits, none of them issued before by this generator.
+     *
+     * @return the IBAN as String
+     */
+    public String generateIBAN() {
+        int check = IBAN_PREFIX.length();
+        int account = check + IBAN_PREFIX.length() + IBAN_BANK.length();
+        long number;
+        do {
+            number = ibanDigits.fill(iban, check, check + IBAN_PREFIX.length(), 0);
+            number = ibanDigits.fill(iban, account, IBAN_LENGTH, number);
+        } while (!issuedIbans.add(number));
+
+        return new String(iban);
+    }
+
+    /**
+     * Generates the next card number, sixteen digits
+     * not issued before by this generator.
+     *
+     * @return the card number as String
+     */
+    public String generateCardNumber() {
+        long number;
+        do {
+            number = cardDigits.fill(card, 0, DIGIT_GENERATION, 0);
+        } while (!issuedCards.add(number));
+
+        return new String(card);
+    }
+
+    /**
+     * The decimal digits of {@code new Random(seed).nextInt(10)}, in order:
+     * the linear congruential generator of {@link java.util.Random},
+     * with its rejection of the top values that would favour the low digits.
+     */
+    private static final class Digits {
+        private static final long MULTIPLIER = 0x5DEECE66DL;
+        private static final long ADDEND = 0xBL;
+        private static final int STATE_BITS = 48;
+        private static final int OUTPUT_BITS = 31;
+        private static final long MASK = (1L << STATE_BITS) - 1;
+        private static final int SHIFT = STATE_BITS - OUTPUT_BITS;
+        private static final int BOUND = 10;
+
+        private long seed;
+
+        Digits(final long seed) {
+            this.seed = (seed ^ MULTIPLIER) & MASK;
+        }
+
+        /**
+         * Writes the next digits into a buffer.
+         *
+         * @param buffer the buffer
+         * @param from the first position written
+         * @param to the position after the last one written
+         * @param prefix the number made of the digits written before
+         * @return that number followed by the digits written
+         */
+        long fill(final char[] buffer,
+                  final int from,
+                  final int to,
+                  final long prefix) {
+            long number = prefix;
+            long state = seed;
+            for (int i = from; i < to; i++) {
+                int bits;
+                int digit;
+                do {
+                    state = (state * MULTIPLIER + ADDEND) & MASK;
+                    bits = (int) (state >>> SHIFT);
+                    digit = bits % BOUND;
+                } while (bits - digit + (BOUND - 1) < 0);
+                buffer[i] = (char) ('0' + digit);
+                number = number * BOUND + digit;
+            }
+            seed = state;
+            return number;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.poo.utils;
+
+/**
+ * A set of {@code long} values, stored unboxed in an open-addressing table
+ * with linear probing.
+ * <p>
+ * Values can only be added, so the table needs no tombstones; it doubles
+ * once it is half full. Zero marks a free slot, and is tracked on its own.
+ * </p>
+ */
+final class LongHashSet {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final int MIX_SHIFT = 32;
+
+    private long[] table = new long[INITIAL_CAPACITY];
+    private int size;
+    private boolean hasZero;
+
+    /**
+     * Adds a value to the set.
+     *
+     * @param value the value
+     * @return {@code true} if the value was not in the set yet
+     */
+    boolean add(final long value) {
+        if (value == 0) {
+            boolean added = !hasZero;
+            hasZero = true;
+            return added;
+        }
+        int mask = table.length - 1;
+        int slot = slot(value, mask);
+        while (table[slot] != 0) {
+            if (table[slot] == value) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = value;
+        size++;
+        if (2 * size > table.length) {
+            grow();
+        }
+        return true;
+    }
+
+    /**
+     * Doubles the table and moves every value to its new slot.
+     */
+    private void grow() {
+        long[] old = table;
+        table = new long[old.length * 2];
+        int mask = table.length - 1;
+        for (long value : old) {
+            if (value != 0) {
+                int slot = slot(value, mask);
+                while (table[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = value;
+            }
+        }
+    }
+
+    /**
+     * Computes the first slot probed for a value, mixing its bits so that
+     * values sharing their low digits spread over the table.
+     *
+     * @param value the value
+     * @param mask the table length minus one
+     * @return the slot
+     */
+    static int slot(final long value,
+                     final int mask) {
+        long hash = value * GOLDEN_GAMMA;
+        return (int) (hash ^ (hash >>> MIX_SHIFT)) & mask;
+    }
+}
@@ -0,0 +1,106 @@
+package org.poo.bank;
+
+import org.junit.jupiter.api.Test;
+import org.poo.fileio.CommerciantInput;
+import org.poo.fileio.ExchangeInput;
+import org.poo.fileio.ObjectInput;
+import org.poo.fileio.UserInput;
+import org.poo.graph.Currency;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CurrencyExposureTest {
+    private static final double DELTA = 1e-9;
+
+    private final Currency ron = Currency.of("RON");
+    private final Currency eur = Currency.of("EUR");
+    private final Currency usd = Currency.of("USD");
+
+    @Test
+    void sumsTheBalancesAndCountsTheAccountsPerCurrency() {
+        double[] balances = {10, 20, 5, 7, 99};
+        int[] currencies = {eur.getId(), ron.getId(), eur.getId(), usd.getId(), ron.getId()};
+
+        CurrencyExposure exposure = CurrencyExposure.of(balances, currencies, 4);
+
+        assertEquals(List.of(eur, ron, usd), exposure.getCurrencies());
+        assertEquals(15, exposure.getTotal(eur), DELTA);
+        assertEquals(2, exposure.getAccountCount(eur));
+        assertEquals(20, exposure.getTotal(ron), DELTA);
+        assertEquals(1, exposure.getAccountCount(ron));
+        assertEquals(7, exposure.getTotal(usd), DELTA);
+        assertEquals(1, exposure.getAccountCount(usd));
+    }
+
+    @Test
+    void splitSumsMatchTheSequentialSums() {
+        int size = 3 * CurrencyExposure.THRESHOLD + 5;
+        Currency[] cycle = {ron, eur, usd};
+        double[] balances = new double[size];
+        int[] currencies = new int[size];
+        double[] expected = new double[cycle.length];
+        int[] counts = new int[cycle.length];
+        for (int i = 0; i < size; i++) {
+            balances[i] = i % 100;
+            currencies[i] = cycle[i % cycle.length].getId();
+            expected[i % cycle.length] += balances[i];
+            counts[i % cycle.length]++;
+        }
+
+        CurrencyExposure exposure = CurrencyExposure.of(balances, currencies, size);
+
+        for (int c = 0; c < cycle.length; c++) {
+            assertEquals(expected[c], exposure.getTotal(cycle[c]), DELTA);
+            assertEquals(counts[c], exposure.getAccountCount(cycle[c]));
+        }
+    }
+
+    @Test
+    void registryFollowsBalancesNewAndDeletedAccounts() {
+        BankContext bank = new BankContext(input());
+        User user = (User) bank.getUserDao().get("user@bank.test");
+        user.createClassicAccount(eur, 1);
+        user.createClassicAccount(eur, 2);
+        user.createClassicAccount(ron, 3);
+        Account[] accounts = user.getAccountDao().getAll().toArray(new Account[0]);
+        accounts[0].setBalance(10);
+        accounts[1].setBalance(10);
+        accounts[2].setBalance(100);
+        BankRegistry registry = bank.getRegistry();
+
+        CurrencyExposure exposure = registry.getCurrencyExposure();
+        assertEquals(20, exposure.getTotal(eur), DELTA);
+        assertEquals(2, exposure.getAccountCount(eur));
+        assertEquals(100, exposure.getTotal(ron), DELTA);
+
+        accounts[1].setBalance(35);
+        user.deleteAccount(accounts[0].getIban());
+        accounts[2].setBalance(40);
+        exposure = registry.getCurrencyExposure();
+        assertEquals(35, exposure.getTotal(eur), DELTA);
+        assertEquals(1, exposure.getAccountCount(eur));
+        assertEquals(40, exposure.getTotal(ron), DELTA);
+        assertEquals(1, exposure.getAccountCount(ron));
+
+        user.createClassicAccount(usd, 4);
+        exposure = registry.getCurrencyExposure();
+        assertEquals(List.of(eur, ron, usd), exposure.getCurrencies());
+        assertEquals(0, exposure.getTotal(usd), DELTA);
+    }
+
+    private static ObjectInput input() {
+        UserInput user = new UserInput();
+        user.setFirstName("Ana");
+        user.setLastName("Pop");
+        user.setEmail("user@bank.test");
+        user.setBirthDate("1990-01-01");
+        user.setOccupation("engineer");
+        ObjectInput input = new ObjectInput();
+        input.setUsers(new UserInput[] {user});
+        input.setExchangeRates(new ExchangeInput[0]);
+        input.setCommerciants(new CommerciantInput[0]);
+        return input;
+    }
+}
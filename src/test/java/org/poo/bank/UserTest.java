@@ -0,0 +1,121 @@
+package org.poo.bank;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.poo.fileio.CommerciantInput;
+import org.poo.fileio.ExchangeInput;
+import org.poo.fileio.ObjectInput;
+import org.poo.fileio.UserInput;
+import org.poo.graph.Currency;
+import org.poo.output.JsonFragment;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class UserTest {
+    private static final double DELTA = 1e-9;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BankContext bank = new BankContext(input());
+    private final User user = (User) bank.getUserDao().get("user@bank.test");
+
+    @Test
+    void listingFollowsBalancesCardsAndAccounts() throws IOException {
+        user.createClassicAccount(Currency.of("EUR"), 1);
+        Account account = (Account) user.getAccountDao().getAll().iterator().next();
+        account.createCard();
+        Card card = account.getCards().get(0);
+        String first = print();
+        assertEquals(first, print());
+
+        account.setBalance(25);
+        JsonNode listing = parse(print());
+        assertEquals(25, listing.get("accounts").get(0).get("balance").asDouble(), DELTA);
+
+        card.setStatus("frozen");
+        listing = parse(print());
+        assertEquals("frozen", listing.get("accounts").get(0).get("cards").get(0)
+                .get("status").asText());
+
+        account.createOneTimeCard();
+        listing = parse(print());
+        assertEquals(2, listing.get("accounts").get(0).get("cards").size());
+
+        account.deleteCard(card.getCardNumber());
+        listing = parse(print());
+        JsonNode cards = listing.get("accounts").get(0).get("cards");
+        assertEquals(1, cards.size());
+        assertNotEquals(card.getCardNumber(), cards.get(0).get("cardNumber").asText());
+
+        user.createSavingsAccount(Currency.of("RON"), 2, 0.5);
+        listing = parse(print());
+        assertEquals(2, listing.get("accounts").size());
+        assertEquals("RON", listing.get("accounts").get(1).get("currency").asText());
+
+        user.deleteAccount(account.getIban());
+        listing = parse(print());
+        assertEquals(1, listing.get("accounts").size());
+        assertEquals("RON", listing.get("accounts").get(0).get("currency").asText());
+        assertNotEquals(first, print());
+    }
+
+    @Test
+    void snapshotKeepsTheListingItWasTakenFrom() throws IOException {
+        user.createClassicAccount(Currency.of("EUR"), 1);
+        Account account = (Account) user.getAccountDao().getAll().iterator().next();
+        JsonFragment before = user.snapshot(objectMapper);
+        assertSame(before, user.snapshot(objectMapper));
+
+        account.setBalance(40);
+        JsonFragment after = user.snapshot(objectMapper);
+
+        assertEquals(0, parse(write(before)).get("accounts").get(0).get("balance").asDouble(),
+                DELTA);
+        assertEquals(40, parse(write(after)).get("accounts").get(0).get("balance").asDouble(),
+                DELTA);
+        assertEquals(write(after), print());
+    }
+
+    /**
+     * Lists the user as printUsers does.
+     */
+    private String print() throws IOException {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            user.write(generator);
+        }
+        return out.toString();
+    }
+
+    private String write(final JsonFragment fragment) throws IOException {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            fragment.writeTo(generator);
+        }
+        return out.toString();
+    }
+
+    private JsonNode parse(final String listing) throws IOException {
+        return objectMapper.readTree(listing);
+    }
+
+    private static ObjectInput input() {
+        UserInput user = new UserInput();
+        user.setFirstName("Ana");
+        user.setLastName("Pop");
+        user.setEmail("user@bank.test");
+        user.setBirthDate("1990-01-01");
+        user.setOccupation("engineer");
+        ObjectInput input = new ObjectInput();
+        input.setUsers(new UserInput[] {user});
+        input.setExchangeRates(new ExchangeInput[0]);
+        input.setCommerciants(new CommerciantInput[0]);
+        return input;
+    }
+}
@@ -0,0 +1,110 @@
+package org.poo.command;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.poo.fileio.CommerciantInput;
+import org.poo.fileio.ExchangeInput;
+import org.poo.fileio.ObjectInput;
+import org.poo.fileio.UserInput;
+import org.poo.fileio.commands.CommandRecord;
+import org.poo.fileio.commands.OtherCmd;
+import org.poo.output.ArrayNodeSink;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CommandTypeTest {
+    private static final int TIMESTAMP = 5;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Client client = new Client(emptyInput(), objectMapper,
+            new ArrayNodeSink(objectMapper.createArrayNode()));
+
+    @Test
+    void everySupportedTypeDecodesToItsOwnRecord() throws IOException {
+        Set<Class<?>> records = new HashSet<>();
+        int supported = 0;
+        for (CommandType type : CommandType.values()) {
+            if (isUnsupported(type)) {
+                continue;
+            }
+            String name = commandName(type);
+            CommandRecord record = decode(name);
+
+            assertNotEquals(OtherCmd.class, record.getClass(), name);
+            assertEquals(name, record.command());
+            assertEquals(TIMESTAMP, record.timestamp());
+            assertEquals(type, CommandType.fromString(record.command()));
+            records.add(record.getClass());
+            supported++;
+        }
+        assertEquals(supported, records.size());
+    }
+
+    @Test
+    void unsupportedTypesDecodeToOtherCmdAndAreIgnored() throws IOException {
+        int unsupported = 0;
+        for (CommandType type : CommandType.values()) {
+            if (!isUnsupported(type)) {
+                continue;
+            }
+            String name = commandName(type);
+            CommandRecord record = decode(name);
+
+            assertInstanceOf(OtherCmd.class, record, name);
+            assertEquals(name, record.command());
+            assertEquals(CommandResult.UNSUPPORTED, client.executeAction(name, record));
+            unsupported++;
+        }
+        assertTrue(unsupported > 0);
+    }
+
+    @Test
+    void unknownNamesDecodeToOtherCmdAndAreInvalid() throws IOException {
+        CommandRecord record = decode("noSuchCommand");
+
+        assertInstanceOf(OtherCmd.class, record);
+        assertEquals("noSuchCommand", record.command());
+        assertNull(CommandType.fromString("noSuchCommand"));
+        assertNull(CommandType.fromString(null));
+        assertEquals(CommandResult.INVALID, client.executeAction(record.command(), record));
+    }
+
+    private CommandRecord decode(final String name) throws IOException {
+        return objectMapper.readValue("{\"command\": \"" + name + "\", \"timestamp\": "
+                + TIMESTAMP + "}", CommandRecord.class);
+    }
+
+    private boolean isUnsupported(final CommandType type) {
+        return client.getCommands().get(type) instanceof UnsupportedCommand;
+    }
+
+    /**
+     * Finds the name of a command type in the input, as the only name
+     * that {@link CommandType#fromString} maps to it.
+     */
+    private static String commandName(final CommandType type) {
+        String[] words = type.name().toLowerCase().split("_");
+        StringBuilder name = new StringBuilder(words[0]);
+        for (int i = 1; i < words.length; i++) {
+            name.append(Character.toUpperCase(words[i].charAt(0))).append(words[i].substring(1));
+        }
+        assertEquals(type, CommandType.fromString(name.toString()));
+        return name.toString();
+    }
+
+    private static ObjectInput emptyInput() {
+        ObjectInput input = new ObjectInput();
+        input.setUsers(new UserInput[0]);
+        input.setExchangeRates(new ExchangeInput[0]);
+        input.setCommerciants(new CommerciantInput[0]);
+        return input;
+    }
+}
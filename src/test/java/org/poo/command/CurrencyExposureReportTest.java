@@ -0,0 +1,167 @@
+package org.poo.command;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import org.junit.jupiter.api.Test;
+import org.poo.bank.Account;
+import org.poo.bank.CurrencyExposure;
+import org.poo.bank.DaoObject;
+import org.poo.bank.User;
+import org.poo.checker.CheckerConstants;
+import org.poo.fileio.CommandSource;
+import org.poo.fileio.CommerciantInput;
+import org.poo.fileio.ExchangeInput;
+import org.poo.fileio.ObjectInput;
+import org.poo.fileio.UserInput;
+import org.poo.fileio.commands.AddAccountCmd;
+import org.poo.fileio.commands.AddFundsCmd;
+import org.poo.fileio.commands.CommandRecord;
+import org.poo.fileio.commands.CurrencyExposureCmd;
+import org.poo.graph.Currency;
+import org.poo.output.ArrayNodeSink;
+import org.poo.utils.IdGenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class CurrencyExposureReportTest {
+    private static final double DELTA = 1e-9;
+    private static final String EMAIL = "user@bank.test";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void reportsEveryCurrencyWithItsValueInRon() {
+        ArrayNode results = objectMapper.createArrayNode();
+        Client client = new Client(header(), objectMapper, new ArrayNodeSink(results));
+        IdGenerator ids = new IdGenerator();
+        String[] currencies = {"RON", "EUR", "EUR", "USD", "GBP"};
+        double[] amounts = {100, 10, 20, 50, 8};
+        int timestamp = 1;
+        for (int i = 0; i < currencies.length; i++) {
+            run(client, new AddAccountCmd(EMAIL, currencies[i], "classic", 0, timestamp++));
+            run(client, new AddFundsCmd(ids.generateIBAN(), amounts[i], timestamp++));
+        }
+        run(client, new CurrencyExposureCmd(timestamp));
+
+        JsonNode report = results.get(results.size() - 1);
+        assertEquals("currencyExposure", report.get("command").asText());
+        assertEquals(timestamp, report.get("timestamp").asInt());
+        JsonNode rows = report.get("output").get("currencies");
+        assertEquals(4, rows.size());
+        assertRow(rows.get(0), "EUR", 2, 30, 150.0);
+        assertRow(rows.get(1), "GBP", 1, 8, null);
+        assertRow(rows.get(2), "RON", 1, 100, 100.0);
+        assertRow(rows.get(3), "USD", 1, 50, 225.0);
+        assertEquals(475, report.get("output").get("totalInRON").asDouble(), DELTA);
+        assertFalse(report.get("output").has("arbitrageCycle"));
+    }
+
+    @Test
+    void reportsTheArbitrageCycleOfTheRates() {
+        ObjectInput header = header();
+        ExchangeInput ronUsd = new ExchangeInput();
+        ronUsd.setFrom("RON");
+        ronUsd.setTo("USD");
+        ronUsd.setRate(1);
+        header.setExchangeRates(new ExchangeInput[] {header.getExchangeRates()[0],
+                header.getExchangeRates()[1], ronUsd});
+        ArrayNode results = objectMapper.createArrayNode();
+        Client client = new Client(header, objectMapper, new ArrayNodeSink(results));
+        run(client, new CurrencyExposureCmd(1));
+
+        JsonNode cycle = results.get(0).get("output").get("arbitrageCycle");
+        assertEquals(4, cycle.size());
+        assertEquals(cycle.get(0), cycle.get(cycle.size() - 1));
+        Set<String> codes = new HashSet<>();
+        cycle.forEach(code -> codes.add(code.asText()));
+        assertEquals(Set.of("RON", "EUR", "USD"), codes);
+    }
+
+    @Test
+    void registryTotalsMatchTheAccountsAfterEveryInputFile() throws IOException {
+        File[] files = Objects.requireNonNull(new File(CheckerConstants.TESTS_PATH).listFiles());
+        for (File file : files) {
+            Client client;
+            try (CommandSource input = CommandSource.open(objectMapper, file)) {
+                client = new Client(input.getHeader(), objectMapper,
+                        new ArrayNodeSink(objectMapper.createArrayNode()));
+                while (input.hasNext()) {
+                    CommandRecord command = input.next();
+                    client.executeAction(command.command(), command);
+                }
+            }
+            Map<Currency, Double> totals = new HashMap<>();
+            Map<Currency, Integer> counts = new HashMap<>();
+            for (DaoObject user : client.getContext().getUserDao().getAll()) {
+                for (DaoObject object : ((User) user).getAccountDao().getAll()) {
+                    Account account = (Account) object;
+                    totals.merge(account.getCurrency(), account.getBalance(), Double::sum);
+                    counts.merge(account.getCurrency(), 1, Integer::sum);
+                }
+            }
+
+            CurrencyExposure exposure = client.getContext().getRegistry().getCurrencyExposure();
+            List<Currency> reported = exposure.getCurrencies();
+            assertEquals(counts.keySet(), Set.copyOf(reported), file.getName());
+            for (Currency currency : reported) {
+                assertEquals(counts.get(currency), exposure.getAccountCount(currency),
+                        file.getName() + " " + currency);
+                assertEquals(totals.get(currency), exposure.getTotal(currency), DELTA,
+                        file.getName() + " " + currency);
+            }
+        }
+    }
+
+    private static void run(final Client client,
+                            final CommandRecord command) {
+        client.executeAction(command.command(), command);
+    }
+
+    private static void assertRow(final JsonNode row,
+                                  final String currency,
+                                  final int accounts,
+                                  final double balance,
+                                  final Double valueInRon) {
+        assertEquals(currency, row.get("currency").asText());
+        assertEquals(accounts, row.get("accounts").asInt());
+        assertEquals(balance, row.get("balance").asDouble(), DELTA);
+        if (valueInRon == null) {
+            assertFalse(row.has("valueInRON"), currency);
+        } else {
+            assertEquals(valueInRon, row.get("valueInRON").asDouble(), DELTA);
+        }
+    }
+
+    private static ObjectInput header() {
+        UserInput user = new UserInput();
+        user.setFirstName("Ana");
+        user.setLastName("Pop");
+        user.setEmail(EMAIL);
+        user.setBirthDate("1990-01-01");
+        user.setOccupation("engineer");
+        ExchangeInput eurRon = new ExchangeInput();
+        eurRon.setFrom("EUR");
+        eurRon.setTo("RON");
+        eurRon.setRate(5);
+        ExchangeInput usdEur = new ExchangeInput();
+        usdEur.setFrom("USD");
+        usdEur.setTo("EUR");
+        usdEur.setRate(0.9);
+        ObjectInput header = new ObjectInput();
+        header.setUsers(new UserInput[] {user});
+        header.setExchangeRates(new ExchangeInput[] {eurRon, usdEur});
+        header.setCommerciants(new CommerciantInput[0]);
+        return header;
+    }
+}
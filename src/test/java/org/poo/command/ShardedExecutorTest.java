@@ -0,0 +1,214 @@
+package org.poo.command;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.poo.checker.CheckerConstants;
+import org.poo.fileio.CommandSource;
+import org.poo.fileio.CommerciantInput;
+import org.poo.fileio.ExchangeInput;
+import org.poo.fileio.ObjectInput;
+import org.poo.fileio.UserInput;
+import org.poo.fileio.commands.AddAccountCmd;
+import org.poo.fileio.commands.AddFundsCmd;
+import org.poo.fileio.commands.CheckCardStatusCmd;
+import org.poo.fileio.commands.CommandRecord;
+import org.poo.fileio.commands.CreateCardCmd;
+import org.poo.fileio.commands.CreateOneTimeCardCmd;
+import org.poo.fileio.commands.DeleteCardCmd;
+import org.poo.fileio.commands.PayOnlineCmd;
+import org.poo.fileio.commands.PrintTransactionsCmd;
+import org.poo.fileio.commands.PrintUsersCmd;
+import org.poo.fileio.commands.SendMoneyCmd;
+import org.poo.output.ArrayNodeSink;
+import org.poo.utils.IdGenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardedExecutorTest {
+    private static final int WORKERS = 3;
+    private static final int USERS = 16;
+    private static final int ROUNDS = 40;
+    private static final String[] CURRENCIES = {"RON", "EUR", "USD"};
+    private static final String[] MERCHANTS = {"Carrefour", "Emag"};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ThreadPoolExecutor workers =
+            (ThreadPoolExecutor) Executors.newFixedThreadPool(WORKERS);
+
+    @AfterEach
+    void shutDown() {
+        workers.shutdownNow();
+    }
+
+    @Test
+    void parallelismComesFromThePool() {
+        assertEquals(WORKERS + 1, ShardedExecutor.parallelismOf(workers));
+        ForkJoinPool pool = new ForkJoinPool(WORKERS);
+        try {
+            assertEquals(WORKERS + 1, ShardedExecutor.parallelismOf(pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void sharedAccountsCardsAndOneTimeCardsGiveTheSerialResults() {
+        ObjectInput header = header();
+        List<CommandRecord> commands = commands(header);
+
+        String serial = runSerially(header, commands);
+        String sharded = runSharded(header, commands);
+
+        assertEquals(serial, sharded);
+        assertTrue(workers.getCompletedTaskCount() > 0, "no command ran on the workers");
+        assertTrue(serial.contains("Card payment"), "the payments were not made");
+        assertTrue(serial.contains("The card has been destroyed"), "no one-time card was used");
+    }
+
+    @Test
+    void inputFilesGiveTheSerialResults() throws IOException {
+        File[] files = Objects.requireNonNull(new File(CheckerConstants.TESTS_PATH).listFiles());
+        for (File file : files) {
+            ObjectInput header;
+            List<CommandRecord> commands = new ArrayList<>();
+            try (CommandSource input = CommandSource.open(objectMapper, file)) {
+                header = input.getHeader();
+                input.forEachRemaining(commands::add);
+            }
+
+            assertEquals(runSerially(header, commands), runSharded(header, commands),
+                    file.getName());
+        }
+    }
+
+    private String runSerially(final ObjectInput header,
+                               final List<CommandRecord> commands) {
+        ArrayNode results = objectMapper.createArrayNode();
+        Client client = new Client(header, objectMapper, new ArrayNodeSink(results));
+        for (CommandRecord command : commands) {
+            client.executeAction(command.command(), command);
+        }
+        return results.toString();
+    }
+
+    private String runSharded(final ObjectInput header,
+                              final List<CommandRecord> commands) {
+        ArrayNode results = objectMapper.createArrayNode();
+        Client client = new Client(header, objectMapper, new ArrayNodeSink(results));
+        client.executeAll(commands.iterator(), workers);
+        return results.toString();
+    }
+
+    private static ObjectInput header() {
+        UserInput[] users = new UserInput[USERS];
+        for (int i = 0; i < USERS; i++) {
+            users[i] = new UserInput();
+            users[i].setFirstName("First" + i);
+            users[i].setLastName("Last" + i);
+            users[i].setEmail(email(i));
+            users[i].setBirthDate("1990-01-01");
+            users[i].setOccupation(i % 2 == 0 ? "engineer" : "student");
+        }
+        ExchangeInput eurRon = new ExchangeInput();
+        eurRon.setFrom("EUR");
+        eurRon.setTo("RON");
+        eurRon.setRate(5);
+        ExchangeInput usdEur = new ExchangeInput();
+        usdEur.setFrom("USD");
+        usdEur.setTo("EUR");
+        usdEur.setRate(0.9);
+        CommerciantInput[] commerciants = new CommerciantInput[MERCHANTS.length];
+        for (int i = 0; i < MERCHANTS.length; i++) {
+            commerciants[i] = new CommerciantInput();
+            commerciants[i].setCommerciant(MERCHANTS[i]);
+            commerciants[i].setId(i + 1);
+            commerciants[i].setAccount("RO00POOB000000000000000" + i);
+            commerciants[i].setType(i == 0 ? "Food" : "Tech");
+            commerciants[i].setCashbackStrategy(i == 0 ? "nrOfTransactions" : "spendingThreshold");
+        }
+        ObjectInput header = new ObjectInput();
+        header.setUsers(users);
+        header.setExchangeRates(new ExchangeInput[] {eurRon, usdEur});
+        header.setCommerciants(commerciants);
+        return header;
+    }
+
+    /**
+     * Builds commands where most touch one user, transfers join users in pairs,
+     * several commands share each account and card, and one-time cards are paid
+     * with, then paid with again once replaced. The IBANs and card numbers are
+     * the ones the bank issues, drawn in the same order from a generator of its own.
+     */
+    private static List<CommandRecord> commands(final ObjectInput header) {
+        IdGenerator ids = new IdGenerator();
+        List<CommandRecord> commands = new ArrayList<>();
+        String[] accounts = new String[USERS];
+        String[] cards = new String[USERS];
+        String[] oneTimeCards = new String[USERS];
+        int timestamp = 1;
+        for (int i = 0; i < USERS; i++) {
+            commands.add(new AddAccountCmd(email(i), CURRENCIES[i % CURRENCIES.length],
+                    "classic", 0, timestamp++));
+            accounts[i] = ids.generateIBAN();
+        }
+        for (int i = 0; i < USERS; i++) {
+            commands.add(new CreateCardCmd(accounts[i], email(i), timestamp++));
+            cards[i] = ids.generateCardNumber();
+            commands.add(new CreateOneTimeCardCmd(accounts[i], email(i), timestamp++));
+            oneTimeCards[i] = ids.generateCardNumber();
+            commands.add(new AddFundsCmd(accounts[i], 5000, timestamp++));
+        }
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int i = 0; i < USERS; i++) {
+                String currency = CURRENCIES[(i + round) % CURRENCIES.length];
+                String merchant = MERCHANTS[(i + round) % MERCHANTS.length];
+                commands.add(new PayOnlineCmd(cards[i], 10 + round, currency, merchant,
+                        email(i), timestamp++));
+                if (round % 3 == i % 3) {
+                    int receiver = (i + 1 + round) % USERS;
+                    commands.add(new SendMoneyCmd(accounts[i], 25, accounts[receiver],
+                            "share " + round, email(i), timestamp++));
+                }
+                if (round == 2 || round == 5) {
+                    commands.add(new PayOnlineCmd(oneTimeCards[i], 7, "RON", merchant,
+                            email(i), timestamp++));
+                }
+                if (round % 4 == 0) {
+                    commands.add(new AddFundsCmd(accounts[i], 100, timestamp++));
+                    commands.add(new CheckCardStatusCmd(cards[i], timestamp++));
+                }
+                if (round == ROUNDS / 2 && i % 5 == 0) {
+                    commands.add(new DeleteCardCmd(cards[i], email(i), timestamp++));
+                }
+                if (round % 7 == 6) {
+                    commands.add(new PrintTransactionsCmd(email(i), timestamp++));
+                }
+            }
+            if (round % 10 == 9) {
+                commands.add(new PrintUsersCmd(timestamp++));
+            }
+        }
+        for (int i = 0; i < USERS; i++) {
+            commands.add(new PrintTransactionsCmd(email(i), timestamp++));
+        }
+        commands.add(new PrintUsersCmd(timestamp));
+        return commands;
+    }
+
+    private static String email(final int user) {
+        return "user" + user + "@bank.test";
+    }
+}
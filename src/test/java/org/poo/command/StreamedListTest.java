@@ -0,0 +1,124 @@
+package org.poo.command;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import org.junit.jupiter.api.Test;
+import org.poo.fileio.CommerciantInput;
+import org.poo.fileio.ExchangeInput;
+import org.poo.fileio.ObjectInput;
+import org.poo.fileio.UserInput;
+import org.poo.fileio.commands.AddAccountCmd;
+import org.poo.fileio.commands.AddFundsCmd;
+import org.poo.fileio.commands.CommandRecord;
+import org.poo.fileio.commands.CreateCardCmd;
+import org.poo.fileio.commands.DeleteCardCmd;
+import org.poo.fileio.commands.PrintTransactionsCmd;
+import org.poo.fileio.commands.PrintUsersCmd;
+import org.poo.output.ArrayNodeSink;
+import org.poo.output.DeferredValue;
+import org.poo.output.OutputSink;
+import org.poo.utils.IdGenerator;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class StreamedListTest {
+    private static final String EMAIL = "ana@bank.test";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void capturedResultsShowTheBankWhenTheyWereEmitted() {
+        ArrayNode expected = objectMapper.createArrayNode();
+        run(new ArrayNodeSink(expected));
+
+        LaterSink captured = new LaterSink(true);
+        run(captured);
+
+        assertEquals(expected, captured.getWritten());
+        JsonNode account = captured.getWritten().get(0).get("output").get(0)
+                .get("accounts").get(0);
+        assertEquals(0, account.get("balance").asDouble());
+        assertEquals(1, account.get("cards").size());
+        assertEquals(2, captured.getWritten().get(1).get("output").size());
+    }
+
+    @Test
+    void uncapturedResultsShowTheBankWhenTheyAreWritten() {
+        ArrayNode expected = objectMapper.createArrayNode();
+        run(new ArrayNodeSink(expected));
+
+        LaterSink deferred = new LaterSink(false);
+        run(deferred);
+
+        assertNotEquals(expected, deferred.getWritten());
+        JsonNode account = deferred.getWritten().get(0).get("output").get(0)
+                .get("accounts").get(0);
+        assertEquals(50, account.get("balance").asDouble());
+        assertEquals(0, account.get("cards").size());
+        assertEquals(expected.get(1), deferred.getWritten().get(1));
+    }
+
+    /**
+     * Lists the user and their transactions, then changes the balance
+     * and the cards of the account, and adds transactions.
+     */
+    private void run(final OutputSink sink) {
+        IdGenerator ids = new IdGenerator();
+        String account = ids.generateIBAN();
+        String card = ids.generateCardNumber();
+        Client client = new Client(header(), objectMapper, sink);
+        for (CommandRecord command : List.of(
+                new AddAccountCmd(EMAIL, "RON", "classic", 0, 1),
+                new CreateCardCmd(account, EMAIL, 2),
+                new PrintUsersCmd(3),
+                new PrintTransactionsCmd(EMAIL, 4),
+                new AddFundsCmd(account, 50, 5),
+                new DeleteCardCmd(card, EMAIL, 6))) {
+            client.executeAction(command.command(), command);
+        }
+    }
+
+    private static ObjectInput header() {
+        UserInput user = new UserInput();
+        user.setFirstName("Ana");
+        user.setLastName("Pop");
+        user.setEmail(EMAIL);
+        user.setBirthDate("1990-01-01");
+        user.setOccupation("engineer");
+        ObjectInput header = new ObjectInput();
+        header.setUsers(new UserInput[] {user});
+        header.setExchangeRates(new ExchangeInput[0]);
+        header.setCommerciants(new CommerciantInput[0]);
+        return header;
+    }
+
+    /**
+     * Keeps the results as they are added, captured or not,
+     * and only serializes them when asked for the output.
+     */
+    private final class LaterSink implements OutputSink {
+        private final ArrayNode pending = objectMapper.createArrayNode();
+        private final boolean capturing;
+
+        LaterSink(final boolean capturing) {
+            this.capturing = capturing;
+        }
+
+        @Override
+        public void add(final JsonNode result) {
+            pending.add(capturing ? DeferredValue.captureAll(result, objectMapper) : result);
+        }
+
+        ArrayNode getWritten() {
+            return objectMapper.valueToTree(pending);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
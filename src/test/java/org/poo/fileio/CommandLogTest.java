@@ -0,0 +1,268 @@
+package org.poo.fileio;
+
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.poo.fileio.commands.CommandRecord;
+import org.poo.fileio.commands.OtherCmd;
+import org.poo.fileio.commands.SplitPaymentCmd;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.lang.reflect.RecordComponent;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CommandLogTest {
+    /**
+     * Bytes taken by the split payment of {@link #damagedListSizeIsReported}:
+     * the name, the type, two accounts, the amount, two amounts,
+     * the currency and the timestamp.
+     */
+    private static final int SPLIT_PAYMENT_BYTES = 56;
+    private static final int ACCOUNTS_OFFSET = 8;
+    private static final int AMOUNTS_OFFSET = 28;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void everyRecordTypeReadsBackEqual() throws IOException {
+        List<CommandRecord> commands = new ArrayList<>();
+        for (Class<?> type : CommandRecord.class.getPermittedSubclasses()) {
+            commands.add(sample(type, 1, false));
+            commands.add(sample(type, 2, true));
+        }
+        ObjectInput header = header();
+        Path file = write(header, commands);
+
+        try (CommandLogReader reader = CommandLogReader.open(file)) {
+            assertArrayEquals(header.getUsers(), reader.getHeader().getUsers());
+            assertArrayEquals(header.getExchangeRates(), reader.getHeader().getExchangeRates());
+            assertArrayEquals(header.getCommerciants(), reader.getHeader().getCommerciants());
+            for (CommandRecord expected : commands) {
+                assertTrue(reader.hasNext());
+                assertSameRecord(expected, reader.next());
+            }
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    @Test
+    void badMagicIsReported() throws IOException {
+        Path file = write(header(), List.of(new OtherCmd("unknown", 1)));
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.writeInt(0);
+        }
+
+        IOException e = assertThrows(IOException.class, () -> CommandLogReader.open(file));
+        assertEquals("The file is not a command log", e.getMessage());
+    }
+
+    @Test
+    void truncatedTrailerIsReported() throws IOException {
+        Path file = write(header(), List.of(new OtherCmd("unknown", 1)));
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.setLength(raw.length() - 2);
+        }
+
+        IOException e = assertThrows(IOException.class, () -> CommandLogReader.open(file));
+        assertEquals("The command log is incomplete", e.getMessage());
+    }
+
+    @Test
+    void logCutBeforeItsTrailerIsReported() throws IOException {
+        Path file = write(header(), List.of(new OtherCmd("unknown", 1)));
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.setLength(CommandLog.PROLOGUE_SIZE + Integer.BYTES);
+        }
+
+        IOException e = assertThrows(IOException.class, () -> CommandLogReader.open(file));
+        assertEquals("The command log is incomplete", e.getMessage());
+    }
+
+    @Test
+    void damagedDictionarySizeIsReported() throws IOException {
+        Path file = write(header(), List.of(new OtherCmd("unknown", 1)));
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.seek(Integer.BYTES);
+            long trailer = raw.readLong();
+            raw.seek(trailer + Integer.BYTES);
+            raw.writeInt(-2);
+        }
+
+        IOException e = assertThrows(IOException.class, () -> CommandLogReader.open(file));
+        assertEquals("The command log is incomplete", e.getMessage());
+    }
+
+    @Test
+    void damagedStringListSizeIsReported() throws IOException {
+        damagedListSizeIsReported(ACCOUNTS_OFFSET);
+    }
+
+    @Test
+    void damagedNumberListSizeIsReported() throws IOException {
+        damagedListSizeIsReported(AMOUNTS_OFFSET);
+    }
+
+    /**
+     * Writes a split payment, checks that it reads back, then overwrites the
+     * size of one of its lists and checks that reading it fails.
+     *
+     * @param offset the offset of the size within the record
+     */
+    private void damagedListSizeIsReported(final int offset) throws IOException {
+        SplitPaymentCmd payment = new SplitPaymentCmd("custom",
+                new String[] {"RO01POOB0000000000000001", "RO01POOB0000000000000002"},
+                30, new double[] {10, 20}, "RON", 4);
+        Path file = write(header(), List.of(payment));
+        try (CommandLogReader reader = CommandLogReader.open(file)) {
+            assertSameRecord(payment, reader.next());
+        }
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.seek(Integer.BYTES);
+            long trailer = raw.readLong();
+            raw.seek(trailer - SPLIT_PAYMENT_BYTES + offset);
+            assertEquals(2, raw.readInt());
+            raw.seek(trailer - SPLIT_PAYMENT_BYTES + offset);
+            raw.writeInt(Integer.MAX_VALUE / 2);
+        }
+
+        try (CommandLogReader reader = CommandLogReader.open(file)) {
+            UncheckedIOException e = assertThrows(UncheckedIOException.class, reader::next);
+            assertEquals("The command log is incomplete", e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Writes a header and commands to a log in the temporary directory.
+     */
+    private Path write(final ObjectInput header,
+                       final List<CommandRecord> commands) throws IOException {
+        Path file = directory.resolve("input" + CommandLog.EXTENSION);
+        CommandLog.write(new ListSource(header, commands), file);
+        return file;
+    }
+
+    private static ObjectInput header() {
+        UserInput user = new UserInput();
+        user.setFirstName("Ana");
+        user.setLastName("Pop");
+        user.setEmail("ana@example.com");
+        user.setBirthDate("2000-01-01");
+        user.setOccupation("student");
+        ExchangeInput rate = new ExchangeInput();
+        rate.setFrom("EUR");
+        rate.setTo("RON");
+        rate.setRate(4.97);
+        rate.setTimestamp(3);
+        CommerciantInput commerciant = new CommerciantInput();
+        commerciant.setCommerciant("Ștefan's Café");
+        commerciant.setId(7);
+        commerciant.setAccount("RO01POOB0000000000000001");
+        commerciant.setType("Food");
+        commerciant.setCashbackStrategy("nrOfTransactions");
+        ObjectInput header = new ObjectInput();
+        header.setUsers(new UserInput[] {user});
+        header.setExchangeRates(new ExchangeInput[] {rate});
+        header.setCommerciants(new CommerciantInput[] {commerciant});
+        return header;
+    }
+
+    /**
+     * Builds a record of the given type with a distinct value in every field,
+     * or with every string and list missing.
+     */
+    private static CommandRecord sample(final Class<?> type,
+                                        final int seed,
+                                        final boolean missing) {
+        RecordComponent[] components = type.getRecordComponents();
+        Class<?>[] types = new Class<?>[components.length];
+        Object[] values = new Object[components.length];
+        for (int i = 0; i < components.length; i++) {
+            types[i] = components[i].getType();
+            int value = seed * 100 + i;
+            if (types[i] == int.class) {
+                values[i] = value;
+            } else if (types[i] == double.class) {
+                values[i] = value + 0.25;
+            } else if (missing) {
+                values[i] = null;
+            } else if (types[i] == String.class) {
+                values[i] = "value" + value;
+            } else if (types[i] == String[].class) {
+                values[i] = new String[] {"first" + value, "value" + value};
+            } else {
+                values[i] = new double[] {value, value + 0.5};
+            }
+        }
+        if (type == OtherCmd.class) {
+            values[0] = "unknownCommand" + seed;
+        }
+        try {
+            return (CommandRecord) type.getDeclaredConstructor(types).newInstance(values);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Compares two records field by field, the arrays by content.
+     */
+    private static void assertSameRecord(final CommandRecord expected,
+                                         final CommandRecord actual) {
+        assertEquals(expected.getClass(), actual.getClass());
+        JsonTypeName name = expected.getClass().getAnnotation(JsonTypeName.class);
+        if (name != null) {
+            assertEquals(name.value(), actual.command());
+        }
+        RecordLayout layout = RecordLayout.of(expected);
+        for (int i = 0; i < layout.types().length; i++) {
+            assertTrue(Objects.deepEquals(layout.get(expected, i), layout.get(actual, i)),
+                    expected.getClass().getSimpleName() + " field " + i);
+        }
+    }
+
+    /**
+     * A source handing over a header and a list of commands.
+     */
+    private static final class ListSource implements CommandSource {
+        private final ObjectInput header;
+        private final Iterator<CommandRecord> commands;
+
+        ListSource(final ObjectInput header,
+                   final List<CommandRecord> commands) {
+            this.header = header;
+            this.commands = commands.iterator();
+        }
+
+        @Override
+        public ObjectInput getHeader() {
+            return header;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return commands.hasNext();
+        }
+
+        @Override
+        public CommandRecord next() {
+            return commands.next();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
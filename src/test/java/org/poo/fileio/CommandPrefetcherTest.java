@@ -0,0 +1,97 @@
+package org.poo.fileio;
+
+import org.junit.jupiter.api.Test;
+import org.poo.fileio.commands.CommandRecord;
+import org.poo.fileio.commands.OtherCmd;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class CommandPrefetcherTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Test
+    void handsOverTheCommandsInOrder() throws Exception {
+        List<CommandRecord> commands = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            commands.add(new OtherCmd("command" + i, i));
+        }
+        List<CommandRecord> read = new ArrayList<>();
+        try (CommandPrefetcher prefetcher = new CommandPrefetcher(
+                new FailingSource(commands, null), 4)) {
+            prefetcher.forEachRemaining(read::add);
+        }
+        assertEquals(commands, read);
+    }
+
+    @Test
+    void rethrowsARuntimeExceptionAfterTheCommandsBeforeIt() throws Exception {
+        IllegalArgumentException failure = new IllegalArgumentException("bad command");
+        try (CommandPrefetcher prefetcher = new CommandPrefetcher(
+                new FailingSource(List.of(new OtherCmd("first", 1)), failure))) {
+            assertEquals("first", prefetcher.next().command());
+            assertSame(failure, assertThrows(IllegalArgumentException.class,
+                    prefetcher::hasNext));
+        }
+    }
+
+    @Test
+    void rethrowsAnErrorInsteadOfWaitingForever() throws Exception {
+        StackOverflowError failure = new StackOverflowError();
+        try (CommandPrefetcher prefetcher = new CommandPrefetcher(
+                new FailingSource(List.of(), failure))) {
+            assertTimeoutPreemptively(TIMEOUT, () ->
+                    assertSame(failure, assertThrows(StackOverflowError.class,
+                            prefetcher::hasNext)));
+        }
+    }
+
+    /**
+     * Hands over the given commands, then fails with the given throwable, if any.
+     */
+    private static final class FailingSource implements CommandSource {
+        private final List<CommandRecord> commands;
+        private final Throwable failure;
+        private int position;
+
+        FailingSource(final List<CommandRecord> commands,
+                      final Throwable failure) {
+            this.commands = commands;
+            this.failure = failure;
+        }
+
+        @Override
+        public ObjectInput getHeader() {
+            return new ObjectInput();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (position < commands.size()) {
+                return true;
+            }
+            if (failure instanceof RuntimeException e) {
+                throw e;
+            }
+            if (failure instanceof Error e) {
+                throw e;
+            }
+            return false;
+        }
+
+        @Override
+        public CommandRecord next() {
+            return commands.get(position++);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
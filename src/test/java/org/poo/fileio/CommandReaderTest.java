@@ -0,0 +1,131 @@
+package org.poo.fileio;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.poo.fileio.commands.AddAccountCmd;
+import org.poo.fileio.commands.AddFundsCmd;
+import org.poo.fileio.commands.CommandRecord;
+import org.poo.fileio.commands.OtherCmd;
+import org.poo.fileio.commands.PrintUsersCmd;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CommandReaderTest {
+    private static final String USERS = "\"users\": [{\"firstName\": \"Ana\", "
+            + "\"lastName\": \"Pop\", \"email\": \"ana@example.com\", "
+            + "\"birthDate\": \"2000-01-01\", \"occupation\": \"student\"}]";
+    private static final String RATES = "\"exchangeRates\": [{\"from\": \"EUR\", "
+            + "\"to\": \"RON\", \"rate\": 4.97}]";
+    private static final String COMMERCIANTS = "\"commerciants\": [{\"commerciant\": "
+            + "\"Carrefour\", \"id\": 7, \"account\": \"RO01POOB0000000000000001\", "
+            + "\"type\": \"Food\", \"cashbackStrategy\": \"nrOfTransactions\"}]";
+    private static final String COMMANDS = "\"commands\": ["
+            + "{\"command\": \"printUsers\", \"timestamp\": 1}, "
+            + "{\"command\": \"addAccount\", \"email\": \"ana@example.com\", "
+            + "\"currency\": \"EUR\", \"accountType\": \"classic\", \"timestamp\": 2}, "
+            + "{\"command\": \"noSuchCommand\", \"timestamp\": 3}, "
+            + "{\"command\": \"addFunds\", \"account\": \"RO01POOB0000000000000002\", "
+            + "\"amount\": 12.5, \"timestamp\": 4}]";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void readsTheHeaderThenTheCommandsInOrder() throws IOException {
+        File file = write("{" + USERS + ", " + COMMERCIANTS + ", " + RATES + ", "
+                + COMMANDS + "}");
+
+        try (CommandReader reader = CommandReader.open(objectMapper, file)) {
+            assertHeader(reader.getHeader());
+            assertEquals(expectedCommands(), readAll(reader));
+            assertFalse(reader.hasNext());
+            assertThrows(NoSuchElementException.class, reader::next);
+        }
+    }
+
+    @Test
+    void buffersCommandsFoundBeforeTheOtherSections() throws IOException {
+        File file = write("{" + COMMANDS + ", " + USERS + ", " + RATES + ", "
+                + COMMERCIANTS + "}");
+
+        try (CommandReader reader = CommandReader.open(objectMapper, file)) {
+            assertHeader(reader.getHeader());
+            assertEquals(expectedCommands(), readAll(reader));
+        }
+    }
+
+    @Test
+    void inputWithNoCommandsHasOnlyAHeader() throws IOException {
+        for (String commands : new String[] {"", ", \"commands\": []"}) {
+            File file = write("{" + USERS + ", " + COMMERCIANTS + ", " + RATES
+                    + commands + "}");
+
+            try (CommandReader reader = CommandReader.open(objectMapper, file)) {
+                assertHeader(reader.getHeader());
+                assertFalse(reader.hasNext());
+                assertThrows(NoSuchElementException.class, reader::next);
+            }
+        }
+    }
+
+    @Test
+    void inputThatIsNotAnObjectIsReported() throws IOException {
+        File file = write("[" + COMMANDS.substring(COMMANDS.indexOf('{')));
+
+        IOException e = assertThrows(IOException.class,
+                () -> CommandReader.open(objectMapper, file));
+        assertEquals("The input is not a JSON object", e.getMessage());
+    }
+
+    @Test
+    void commandsThatAreNotAnArrayAreReported() throws IOException {
+        File file = write("{" + USERS + ", " + COMMERCIANTS + ", " + RATES
+                + ", \"commands\": {}}");
+
+        IOException e = assertThrows(IOException.class,
+                () -> CommandReader.open(objectMapper, file));
+        assertEquals("The commands of the input are not an array", e.getMessage());
+    }
+
+    private File write(final String json) throws IOException {
+        Path file = directory.resolve("input.json");
+        Files.writeString(file, json);
+        return file.toFile();
+    }
+
+    private static List<CommandRecord> readAll(final CommandReader reader) {
+        List<CommandRecord> commands = new ArrayList<>();
+        reader.forEachRemaining(commands::add);
+        return commands;
+    }
+
+    private static List<CommandRecord> expectedCommands() {
+        return List.of(new PrintUsersCmd(1),
+                new AddAccountCmd("ana@example.com", "EUR", "classic", 0, 2),
+                new OtherCmd("noSuchCommand", 3),
+                new AddFundsCmd("RO01POOB0000000000000002", 12.5, 4));
+    }
+
+    private static void assertHeader(final ObjectInput header) {
+        assertEquals(1, header.getUsers().length);
+        assertEquals("ana@example.com", header.getUsers()[0].getEmail());
+        assertEquals(1, header.getExchangeRates().length);
+        assertEquals("EUR", header.getExchangeRates()[0].getFrom());
+        assertEquals(4.97, header.getExchangeRates()[0].getRate());
+        assertEquals(1, header.getCommerciants().length);
+        assertEquals("Carrefour", header.getCommerciants()[0].getCommerciant());
+    }
+}
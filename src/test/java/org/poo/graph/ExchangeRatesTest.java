@@ -0,0 +1,108 @@
+package org.poo.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.SortedMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExchangeRatesTest {
+    private static final double DELTA = 1e-9;
+
+    private final Currency eur = Currency.of("EUR");
+    private final Currency usd = Currency.of("USD");
+
+    @Test
+    void ratesInTimestampOrderApplyFromTheirVersion() {
+        ExchangeRates rates = new ExchangeRates();
+        rates.addRate(eur, usd, 1.1, 10);
+        rates.addRate(eur, usd, 1.3, 30);
+
+        assertEquals(1.1, rates.at(0).exchange(eur, usd, 1), DELTA);
+        assertEquals(1.1, rates.at(29).exchange(eur, usd, 1), DELTA);
+        assertEquals(1.3, rates.at(30).exchange(eur, usd, 1), DELTA);
+        assertEquals(2, rates.getVersionCount());
+    }
+
+    @Test
+    void backDatedRateStopsAtTheNextVersionSettingThePair() {
+        ExchangeRates rates = new ExchangeRates();
+        rates.addRate(eur, usd, 1.1, 10);
+        rates.addRate(eur, usd, 1.3, 30);
+        rates.addRate(eur, usd, 1.2, 20);
+
+        assertEquals(1.1, rates.at(10).exchange(eur, usd, 1), DELTA);
+        assertEquals(1.2, rates.at(20).exchange(eur, usd, 1), DELTA);
+        assertEquals(1.2, rates.at(25).exchange(eur, usd, 1), DELTA);
+        assertEquals(1.3, rates.at(30).exchange(eur, usd, 1), DELTA);
+    }
+
+    @Test
+    void backDatedRateInTheOtherDirectionRedefinesTheSamePair() {
+        ExchangeRates rates = new ExchangeRates();
+        rates.addRate(eur, usd, 2, 10);
+        rates.addRate(eur, usd, 4, 30);
+        rates.addRate(usd, eur, 1.0 / 3, 20);
+        rates.addRate(eur, usd, 1, 0);
+
+        assertEquals(1, rates.at(0).exchange(eur, usd, 1), DELTA);
+        assertEquals(2, rates.at(10).exchange(eur, usd, 1), DELTA);
+        assertEquals(3, rates.at(20).exchange(eur, usd, 1), DELTA);
+        assertEquals(4, rates.at(30).exchange(eur, usd, 1), DELTA);
+    }
+
+    @Test
+    void backDatedRateStillReachesVersionsOfOtherPairs() {
+        Currency ron = Currency.RON;
+        ExchangeRates rates = new ExchangeRates();
+        rates.addRate(eur, usd, 1.1, 10);
+        rates.addRate(eur, ron, 5, 20);
+        rates.addRate(eur, usd, 1.2, 5);
+
+        assertEquals(1.2, rates.at(5).exchange(eur, usd, 1), DELTA);
+        assertEquals(1.1, rates.at(10).exchange(eur, usd, 1), DELTA);
+        assertEquals(1.1, rates.at(20).exchange(eur, usd, 1), DELTA);
+        assertEquals(5, rates.at(20).exchange(eur, ron, 1), DELTA);
+    }
+
+    @Test
+    void consistentRatesHaveNoArbitrage() {
+        Currency gbp = Currency.of("GBP");
+        ExchangeRates rates = new ExchangeRates();
+        rates.addRate(eur, usd, 1.2, 0);
+        rates.addRate(usd, gbp, 0.9, 0);
+        rates.addRate(gbp, eur, 1 / 1.08, 0);
+        rates.buildRateTables();
+
+        assertFalse(rates.at(0).getSnapshot().hasArbitrage());
+        assertTrue(rates.getArbitrageCycles().isEmpty());
+    }
+
+    @Test
+    void arbitrageCycleIsReportedForItsVersion() {
+        Currency gbp = Currency.of("GBP");
+        ExchangeRates rates = new ExchangeRates();
+        rates.addRate(eur, usd, 1.2, 0);
+        rates.addRate(usd, gbp, 0.9, 0);
+        rates.addRate(gbp, eur, 1, 10);
+        rates.buildRateTables();
+
+        SortedMap<Integer, List<Currency>> cycles = rates.getArbitrageCycles();
+        assertEquals(Set.of(10), cycles.keySet());
+        List<Currency> cycle = cycles.get(10);
+        assertEquals(4, cycle.size());
+        assertEquals(cycle.get(0), cycle.get(cycle.size() - 1));
+        assertEquals(Set.of(eur, usd, gbp), Set.copyOf(cycle));
+        double amount = 1;
+        CurrencyGraph graph = rates.at(10);
+        for (int i = 1; i < cycle.size(); i++) {
+            amount = graph.exchange(cycle.get(i - 1), cycle.get(i), amount);
+        }
+        assertEquals(1.08, amount, DELTA);
+        assertEquals(cycle, graph.getSnapshot().getArbitrageCycle());
+    }
+}
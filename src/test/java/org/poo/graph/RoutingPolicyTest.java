@@ -0,0 +1,66 @@
+package org.poo.graph;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RoutingPolicyTest {
+    private static final double DELTA = 1e-9;
+
+    @AfterEach
+    void clearProperty() {
+        System.clearProperty(RoutingPolicy.PROPERTY);
+    }
+
+    @Test
+    void defaultsToDepthFirst() {
+        assertEquals(RoutingPolicy.DEPTH_FIRST, RoutingPolicy.fromProperty());
+        System.setProperty(RoutingPolicy.PROPERTY, "cheapest");
+        assertEquals(RoutingPolicy.DEPTH_FIRST, RoutingPolicy.fromProperty());
+    }
+
+    @Test
+    void readsThePolicyFromTheProperty() {
+        System.setProperty(RoutingPolicy.PROPERTY, "best-rate");
+        assertEquals(RoutingPolicy.BEST_RATE, RoutingPolicy.fromProperty());
+        System.setProperty(RoutingPolicy.PROPERTY, "FEWEST_HOPS");
+        assertEquals(RoutingPolicy.FEWEST_HOPS, RoutingPolicy.fromProperty());
+    }
+
+    @Test
+    void policiesChooseDifferentPaths() {
+        Currency aaa = Currency.of("AAA");
+        Currency bbb = Currency.of("BBB");
+        Currency ccc = Currency.of("CCC");
+        Currency ddd = Currency.of("DDD");
+        Currency eee = Currency.of("EEE");
+
+        assertEquals(2, convert(RoutingPolicy.DEPTH_FIRST, aaa, bbb, ccc, ddd, eee), DELTA);
+        assertEquals(3, convert(RoutingPolicy.FEWEST_HOPS, aaa, bbb, ccc, ddd, eee), DELTA);
+        assertEquals(3, convert(RoutingPolicy.BEST_RATE, aaa, bbb, ccc, ddd, eee), DELTA);
+    }
+
+    /**
+     * Converts one AAA to DDD over two paths: AAA-BBB-CCC-DDD (rate 2), added first
+     * so the depth-first search follows it, and AAA-EEE-DDD (rate 3). The two rates
+     * disagree, which makes an arbitrage cycle, so the best rate falls back to
+     * the fewest hops.
+     */
+    private static double convert(final RoutingPolicy policy,
+                                  final Currency aaa,
+                                  final Currency bbb,
+                                  final Currency ccc,
+                                  final Currency ddd,
+                                  final Currency eee) {
+        ExchangeRates rates = new ExchangeRates();
+        rates.setRoutingPolicy(policy);
+        rates.addRate(aaa, bbb, 1, 0);
+        rates.addRate(bbb, ccc, 1, 0);
+        rates.addRate(ccc, ddd, 2, 0);
+        rates.addRate(aaa, eee, 3, 0);
+        rates.addRate(eee, ddd, 1, 0);
+        rates.buildRateTables();
+        return rates.at(0).exchange(aaa, ddd, 1);
+    }
+}
@@ -0,0 +1,98 @@
+package org.poo.main;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.poo.output.OutputFormat;
+import org.poo.utils.IdGenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelMainTest {
+    private static final String EMAIL = "ana@bank.test";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void filesWithDisjointCurrenciesGiveTheirSerialResults() throws IOException {
+        File francs = input("test01_francs.json", "CHF", "JPY", 5, 0.03);
+        File crowns = input("test02_crowns.json", "SEK", "NOK", 0.43, 1.01);
+        Path parallel = Files.createDirectory(directory.resolve("parallel"));
+        Path serial = Files.createDirectory(directory.resolve("serial"));
+
+        ParallelMain.runAll(List.of(francs, crowns), parallel + File.separator,
+                OutputFormat.JSON);
+        for (File file : List.of(crowns, francs)) {
+            Main.action(file, serial.resolve(file.getName()).toFile(), OutputFormat.JSON);
+        }
+
+        for (File file : List.of(francs, crowns)) {
+            assertEquals(Files.readString(serial.resolve(file.getName())),
+                    Files.readString(parallel.resolve(file.getName())), file.getName());
+        }
+        String francsOutput = Files.readString(parallel.resolve(francs.getName()));
+        assertTrue(francsOutput.contains("\"JPY\""));
+        assertFalse(francsOutput.contains("\"SEK\""));
+        assertTrue(francsOutput.contains("\"totalInRON\""));
+        String crownsOutput = Files.readString(parallel.resolve(crowns.getName()));
+        assertTrue(crownsOutput.contains("\"NOK\""));
+        assertFalse(crownsOutput.contains("\"CHF\""));
+    }
+
+    /**
+     * Writes an input where a user opens an account in each currency, sends money
+     * from one to the other, then lists the user, the transactions and the
+     * exposure of the bank. The first currency converts to RON, the second one
+     * to the first.
+     */
+    private File input(final String name,
+                       final String first,
+                       final String second,
+                       final double firstToRon,
+                       final double secondToFirst) throws IOException {
+        IdGenerator ids = new IdGenerator();
+        String firstAccount = ids.generateIBAN();
+        String secondAccount = ids.generateIBAN();
+        ObjectNode input = objectMapper.createObjectNode();
+        input.putArray("users").addObject()
+                .put("firstName", "Ana")
+                .put("lastName", "Pop")
+                .put("email", EMAIL)
+                .put("birthDate", "1990-01-01")
+                .put("occupation", "engineer");
+        input.putArray("commerciants");
+        ArrayNode rates = input.putArray("exchangeRates");
+        rates.addObject().put("from", first).put("to", "RON").put("rate", firstToRon);
+        rates.addObject().put("from", second).put("to", first).put("rate", secondToFirst);
+        ArrayNode commands = input.putArray("commands");
+        commands.addObject().put("command", "addAccount").put("email", EMAIL)
+                .put("currency", first).put("accountType", "classic").put("timestamp", 1);
+        commands.addObject().put("command", "addAccount").put("email", EMAIL)
+                .put("currency", second).put("accountType", "classic").put("timestamp", 2);
+        commands.addObject().put("command", "addFunds").put("account", firstAccount)
+                .put("amount", 1000).put("timestamp", 3);
+        commands.addObject().put("command", "sendMoney").put("account", firstAccount)
+                .put("amount", 100).put("receiver", secondAccount)
+                .put("description", "savings").put("email", EMAIL).put("timestamp", 4);
+        commands.addObject().put("command", "printUsers").put("timestamp", 5);
+        commands.addObject().put("command", "printTransactions").put("email", EMAIL)
+                .put("timestamp", 6);
+        commands.addObject().put("command", "currencyExposure").put("timestamp", 7);
+        File file = directory.resolve(name).toFile();
+        objectMapper.writeValue(file, input);
+        return file;
+    }
+}
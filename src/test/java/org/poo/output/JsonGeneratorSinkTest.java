@@ -0,0 +1,60 @@
+package org.poo.output;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import org.junit.jupiter.api.Test;
+import org.poo.checker.CheckerConstants;
+import org.poo.fileio.CommandSource;
+import org.poo.start.StartApp;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JsonGeneratorSinkTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void writesTheBytesOfThePrettyPrintedArray() throws IOException {
+        File[] files = Objects.requireNonNull(new File(CheckerConstants.TESTS_PATH).listFiles());
+        for (File file : files) {
+            ArrayNode results = objectMapper.createArrayNode();
+            run(file, new ArrayNodeSink(results));
+            ByteArrayOutputStream expected = new ByteArrayOutputStream();
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(expected, results);
+
+            ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+            run(file, JsonGeneratorSink.toStream(objectMapper, streamed));
+
+            assertEquals(expected.toString(StandardCharsets.UTF_8),
+                    streamed.toString(StandardCharsets.UTF_8), file.getName());
+        }
+    }
+
+    @Test
+    void noResultsWriteAnEmptyArray() throws IOException {
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        objectMapper.writerWithDefaultPrettyPrinter()
+                .writeValue(expected, objectMapper.createArrayNode());
+
+        ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+        JsonGeneratorSink.toStream(objectMapper, streamed).close();
+
+        assertEquals(expected.toString(StandardCharsets.UTF_8),
+                streamed.toString(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Runs the commands of an input file into a sink, then closes it.
+     */
+    private void run(final File file, final OutputSink output) throws IOException {
+        try (CommandSource input = CommandSource.open(objectMapper, file);
+             OutputSink sink = output) {
+            StartApp.getInstance().start(input.getHeader(), input, sink);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package org.poo.output;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.poo.checker.CheckerConstants;
+import org.poo.fileio.CommandSource;
+import org.poo.start.StartApp;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class NdjsonSinkTest {
+    private static final int INTERVAL = 3;
+    private static final int RECORDS = 10;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @AfterEach
+    void clearProperty() {
+        System.clearProperty(NdjsonSink.FLUSH_PROPERTY);
+    }
+
+    @Test
+    void linesMatchTheJsonArray() throws IOException {
+        File[] files = Objects.requireNonNull(new File(CheckerConstants.TESTS_PATH).listFiles());
+        for (File file : files) {
+            ByteArrayOutputStream json = new ByteArrayOutputStream();
+            run(file, OutputFormat.JSON.open(objectMapper, json));
+            ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+            run(file, OutputFormat.NDJSON.open(objectMapper, ndjson));
+
+            JsonNode results = objectMapper.readTree(json.toByteArray());
+            String[] lines = ndjson.toString(StandardCharsets.UTF_8).split("\n");
+            assertEquals(results.size(), lines.length, file.getName());
+            for (int i = 0; i < lines.length; i++) {
+                assertFalse(lines[i].contains("  "), file.getName() + " line " + i);
+                assertEquals(results.get(i), objectMapper.readTree(lines[i]),
+                        file.getName() + " line " + i);
+            }
+        }
+    }
+
+    @Test
+    void linesAreFlushedAtTheInterval() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (NdjsonSink sink = NdjsonSink.toStream(objectMapper, out, INTERVAL)) {
+            for (int i = 1; i <= RECORDS; i++) {
+                sink.add(record(i));
+                assertEquals(i - i % INTERVAL, lines(out));
+            }
+        }
+        assertEquals(RECORDS, lines(out));
+    }
+
+    @Test
+    void linesAreOnlyFlushedOnCloseWhenSelected() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (NdjsonSink sink = NdjsonSink.toStream(objectMapper, out,
+                NdjsonSink.FLUSH_ON_CLOSE)) {
+            for (int i = 1; i <= RECORDS; i++) {
+                sink.add(record(i));
+            }
+            assertEquals(0, out.size());
+        }
+        assertEquals(RECORDS, lines(out));
+    }
+
+    @Test
+    void intervalIsReadFromTheProperty() {
+        assertEquals(NdjsonSink.FLUSH_INTERVAL, NdjsonSink.flushIntervalFromProperty());
+        System.setProperty(NdjsonSink.FLUSH_PROPERTY, "0");
+        assertEquals(NdjsonSink.FLUSH_ON_CLOSE, NdjsonSink.flushIntervalFromProperty());
+        System.setProperty(NdjsonSink.FLUSH_PROPERTY, "1");
+        assertEquals(1, NdjsonSink.flushIntervalFromProperty());
+        System.setProperty(NdjsonSink.FLUSH_PROPERTY, "-4");
+        assertEquals(NdjsonSink.FLUSH_INTERVAL, NdjsonSink.flushIntervalFromProperty());
+        System.setProperty(NdjsonSink.FLUSH_PROPERTY, "often");
+        assertEquals(NdjsonSink.FLUSH_INTERVAL, NdjsonSink.flushIntervalFromProperty());
+    }
+
+    /**
+     * Runs the commands of an input file into a sink, then closes it.
+     */
+    private void run(final File file, final OutputSink output) throws IOException {
+        try (CommandSource input = CommandSource.open(objectMapper, file);
+             OutputSink sink = output) {
+            StartApp.getInstance().start(input.getHeader(), input, sink);
+        }
+    }
+
+    private JsonNode record(final int timestamp) {
+        return objectMapper.createObjectNode()
+                .put("command", "printUsers")
+                .put("timestamp", timestamp);
+    }
+
+    private static long lines(final ByteArrayOutputStream out) {
+        return out.toString(StandardCharsets.UTF_8).chars().filter(c -> c == '\n').count();
+    }
+}
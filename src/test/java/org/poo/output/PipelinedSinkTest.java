@@ -0,0 +1,121 @@
+package org.poo.output;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PipelinedSinkTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private static final int CAPACITY = 4;
+    private static final int RECORDS = 1000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void writesTheResultsInOrder() throws IOException {
+        RecordingSink output = new RecordingSink(-1);
+        List<JsonNode> expected = new ArrayList<>();
+        try (PipelinedSink sink = new PipelinedSink(output, objectMapper, CAPACITY)) {
+            for (int i = 0; i < RECORDS; i++) {
+                JsonNode result = record(i);
+                expected.add(result);
+                sink.add(result);
+            }
+        }
+        assertEquals(expected, output.written);
+        assertTrue(output.closed);
+    }
+
+    @Test
+    void rethrowsTheFailureOfTheWriterToTheProducer() {
+        RecordingSink output = new RecordingSink(3);
+        PipelinedSink sink = new PipelinedSink(output, objectMapper, CAPACITY);
+
+        UncheckedIOException e = assertTimeoutPreemptively(TIMEOUT, () ->
+                assertThrows(UncheckedIOException.class, () -> {
+                    for (int i = 0; i < RECORDS; i++) {
+                        sink.add(record(i));
+                    }
+                }));
+        assertSame(RecordingSink.FAILURE, e.getCause().getCause());
+
+        IOException closed = assertTimeoutPreemptively(TIMEOUT, () ->
+                assertThrows(IOException.class, sink::close));
+        assertSame(RecordingSink.FAILURE, closed.getCause());
+        assertEquals(3, output.written.size());
+        assertTrue(output.closed);
+    }
+
+    @Test
+    void closeDrainsAFullQueue() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSink output = new RecordingSink(-1) {
+            @Override
+            public void add(final JsonNode result) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.add(result);
+            }
+        };
+        PipelinedSink sink = new PipelinedSink(output, objectMapper, CAPACITY);
+        for (int i = 0; i <= CAPACITY; i++) {
+            sink.add(record(i));
+        }
+
+        release.countDown();
+        assertTimeoutPreemptively(TIMEOUT, sink::close);
+        assertEquals(CAPACITY + 1, output.written.size());
+        assertTrue(output.closed);
+    }
+
+    private JsonNode record(final int timestamp) {
+        return objectMapper.createObjectNode()
+                .put("command", "printUsers")
+                .put("timestamp", timestamp);
+    }
+
+    /**
+     * Keeps the results it is given, failing on the given one if any.
+     */
+    private static class RecordingSink implements OutputSink {
+        static final IllegalStateException FAILURE = new IllegalStateException("disk full");
+
+        private final List<JsonNode> written = Collections.synchronizedList(new ArrayList<>());
+        private final int failAt;
+        private volatile boolean closed;
+
+        RecordingSink(final int failAt) {
+            this.failAt = failAt;
+        }
+
+        @Override
+        public void add(final JsonNode result) {
+            if (written.size() == failAt) {
+                throw FAILURE;
+            }
+            written.add(result);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.poo.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdGeneratorTest {
+    private static final int SEQUENCE_LENGTH = 10_000;
+    private static final int UNIQUE_LENGTH = 200_000;
+    private static final int DIGIT_BOUND = 10;
+    private static final int DIGIT_GENERATION = 16;
+
+    @Test
+    void ibansFollowTheSequenceOfRandomWithSeedOne() {
+        IdGenerator generator = new IdGenerator();
+        Random random = new Random(1);
+        for (int i = 0; i < SEQUENCE_LENGTH; i++) {
+            StringBuilder expected = new StringBuilder("RO");
+            appendDigits(expected, random, 2);
+            expected.append("POOB");
+            appendDigits(expected, random, DIGIT_GENERATION);
+            assertEquals(expected.toString(), generator.generateIBAN(), "IBAN " + i);
+        }
+    }
+
+    @Test
+    void cardNumbersFollowTheSequenceOfRandomWithSeedTwo() {
+        IdGenerator generator = new IdGenerator();
+        Random random = new Random(2);
+        for (int i = 0; i < SEQUENCE_LENGTH; i++) {
+            StringBuilder expected = new StringBuilder();
+            appendDigits(expected, random, DIGIT_GENERATION);
+            assertEquals(expected.toString(), generator.generateCardNumber(), "card " + i);
+        }
+    }
+
+    @Test
+    void everyGeneratorStartsTheSequenceAgain() {
+        IdGenerator first = new IdGenerator();
+        first.generateIBAN();
+        first.generateCardNumber();
+        IdGenerator second = new IdGenerator();
+
+        assertEquals(new IdGenerator().generateIBAN(), second.generateIBAN());
+        assertEquals(new IdGenerator().generateCardNumber(), second.generateCardNumber());
+    }
+
+    @Test
+    void neverIssuesTheSameIdentifierTwice() {
+        IdGenerator generator = new IdGenerator();
+        Set<String> ibans = new HashSet<>();
+        Set<String> cards = new HashSet<>();
+        for (int i = 0; i < UNIQUE_LENGTH; i++) {
+            assertTrue(ibans.add(generator.generateIBAN()), "IBAN " + i);
+            assertTrue(cards.add(generator.generateCardNumber()), "card " + i);
+        }
+    }
+
+    private static void appendDigits(final StringBuilder builder,
+                                     final Random random,
+                                     final int count) {
+        for (int i = 0; i < count; i++) {
+            builder.append(random.nextInt(DIGIT_BOUND));
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package org.poo.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongHashSetTest {
+    private static final int MASK = 63;
+    private static final int COLLIDING = 8;
+    private static final int MANY = 100_000;
+
+    @Test
+    void addsEachValueOnce() {
+        LongHashSet set = new LongHashSet();
+
+        assertTrue(set.add(42));
+        assertFalse(set.add(42));
+        assertTrue(set.add(-42));
+        assertTrue(set.add(Long.MIN_VALUE));
+        assertTrue(set.add(Long.MAX_VALUE));
+        assertFalse(set.add(Long.MIN_VALUE));
+        assertFalse(set.add(Long.MAX_VALUE));
+    }
+
+    @Test
+    void zeroIsAValueLikeAnyOther() {
+        LongHashSet set = new LongHashSet();
+
+        assertTrue(set.add(1));
+        assertTrue(set.add(0));
+        assertFalse(set.add(0));
+        assertFalse(set.add(1));
+        assertTrue(set.add(2));
+    }
+
+    @Test
+    void keepsValuesThatStartAtTheSameSlot() {
+        long[] colliding = new long[COLLIDING];
+        int slot = LongHashSet.slot(1, MASK);
+        int found = 0;
+        for (long value = 1; found < colliding.length; value++) {
+            if (LongHashSet.slot(value, MASK) == slot) {
+                colliding[found++] = value;
+            }
+        }
+        LongHashSet set = new LongHashSet();
+
+        for (long value : colliding) {
+            assertTrue(set.add(value));
+        }
+        for (long value : colliding) {
+            assertFalse(set.add(value));
+        }
+    }
+
+    @Test
+    void keepsEveryValueAcrossResizes() {
+        LongHashSet set = new LongHashSet();
+        for (long i = 1; i <= MANY; i++) {
+            assertTrue(set.add(i * 1_000_000_007L));
+        }
+        for (long i = 1; i <= MANY; i++) {
+            assertFalse(set.add(i * 1_000_000_007L), "value " + i);
+        }
+        assertTrue(set.add(0));
+        assertTrue(set.add(-1));
+    }
+}